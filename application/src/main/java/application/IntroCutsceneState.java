@@ -11,6 +11,8 @@ import engine.services.world.systems.SequenceSystem;
 import engine.services.world.systems.MovementSystem;
 import engine.services.world.systems.AudioSystem;
 import engine.services.world.systems.MoveToTargetSystem;
+import engine.services.world.systems.TransformHierarchySystem;
+import engine.services.world.systems.TransformSnapshotSystem;
 import engine.services.world.systems.FadeOverlaySystem;
 import engine.services.world.systems.RenderSystem;
 import engine.services.world.systems.UISystem;
@@ -71,8 +73,10 @@ public class IntroCutsceneState implements ApplicationState {
       TriggerSystem.class,
       SequenceSystem.class,
       MovementSystem.class,
+      TransformSnapshotSystem.class,
       MoveToTargetSystem.class,
       AudioSystem.class,
+      TransformHierarchySystem.class,
       RenderSystem.class,
       UISystem.class,
       FadeOverlaySystem.class,
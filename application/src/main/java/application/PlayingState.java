@@ -49,6 +49,7 @@ public class PlayingState implements ApplicationState {
   public Collection<Class<? extends ISystem>> systems() {
     return List.of(
       PlayerInputSystem.class,
+      TransformSnapshotSystem.class,
       MovementSystem.class,
       EnemyAISystem.class,
       CollisionSystem.class,
@@ -56,6 +57,8 @@ public class PlayingState implements ApplicationState {
       SequenceSystem.class,
       MoveToTargetSystem.class,
       AudioSystem.class,
+      TransformHierarchySystem.class,
+      AnimationSystem.class,
       RenderSystem.class,
       UISystem.class,
       FadeOverlaySystem.class
@@ -1,5 +1,7 @@
 package engine;
 
+import engine.services.profiler.ProfileSection;
+import engine.services.profiler.ProfilerService;
 import engine.services.state.ApplicationStateService;
 import engine.services.time.SystemTimeService;
 import engine.services.window.WindowService;
@@ -10,6 +12,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Slf4j
 @Singleton
@@ -28,10 +31,17 @@ public final class Engine implements Runnable {
   @Getter
   private final WindowService windowService;
   private final SystemTimeService systemTimeService;
+  private final ProfilerService profilerService;
 
   private State state = State.NEW;
   private int frames = 0;
 
+  // Profile sections per service hook, parallel to the services sorted by execution order
+  private ProfileSection tickSection;
+  private ProfileSection[] updateSections;
+  private ProfileSection[] fixedUpdateSections;
+  private ProfileSection[] frameUpdateSections;
+
   public void init() {
     if (state != State.NEW) {
       log.warn("Engine has already been initialized.");
@@ -41,6 +51,7 @@ public final class Engine implements Runnable {
       log.info("Initializing September Engine with DI container");
 
       services.sort(Comparator.comparingInt(IService::executionOrder));
+      createProfileSections();
 
       services.forEach(iService -> {
         log.debug("Starting service {}", iService.getClass().getSimpleName());
@@ -72,14 +83,43 @@ public final class Engine implements Runnable {
     if (state != State.INITIALIZED) {
       throw new IllegalStateException("Cannot tick engine that is not initialized.");
     }
+    tickSection.begin();
     windowService.pollEvents();
-    services.forEach(IService::update);
+    runServices(updateSections, IService::update);
+    int fixedSteps = systemTimeService.getFixedSteps();
+    float fixedDt = systemTimeService.getFixedDeltaSeconds();
+    for (int step = 0; step < fixedSteps; step++) {
+      runServices(fixedUpdateSections, service -> service.fixedUpdate(fixedDt));
+    }
     float dt = systemTimeService.getDeltaTimeSeconds();
-    services.forEach(service -> service.update(dt));
+    runServices(frameUpdateSections, service -> service.update(dt));
     windowService.swapBuffers();
+    tickSection.end();
     frames++;
   }
 
+  private void runServices(ProfileSection[] sections, Consumer<IService> hook) {
+    for (int i = 0; i < services.size(); i++) {
+      ProfileSection section = sections[i];
+      section.begin();
+      hook.accept(services.get(i));
+      section.end();
+    }
+  }
+
+  private void createProfileSections() {
+    tickSection = profilerService.section("Engine.tick");
+    updateSections = new ProfileSection[services.size()];
+    fixedUpdateSections = new ProfileSection[services.size()];
+    frameUpdateSections = new ProfileSection[services.size()];
+    for (int i = 0; i < services.size(); i++) {
+      String name = ProfilerService.nameOf(services.get(i).getClass());
+      updateSections[i] = profilerService.section(name + ".update()");
+      fixedUpdateSections[i] = profilerService.section(name + ".fixedUpdate");
+      frameUpdateSections[i] = profilerService.section(name + ".update(dt)");
+    }
+  }
+
   public void shutdown() {
     if (state == State.SHUTDOWN) {
       log.warn("Engine has already been shut down.");
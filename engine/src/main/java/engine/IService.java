@@ -14,6 +14,9 @@ public interface IService {
   /** Per-frame update with delta time (runs after update()). */
   default void update(float dt) {}
 
+  /** Fixed-timestep simulation hook; runs zero or more times per frame, between update() and update(float). */
+  default void fixedUpdate(float fixedDt) {}
+
   /** Execution order; lower values run earlier. */
   default int executionOrder() { return 0; }
 
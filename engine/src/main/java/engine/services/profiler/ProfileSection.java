@@ -0,0 +1,56 @@
+package engine.services.profiler;
+
+/**
+ * One measured piece of the frame, such as a system's update or a service's update hook.
+ * <p>
+ * Callers obtain a section once from {@link ProfilerService#section(String)} and bracket the work
+ * with {@link #begin()} and {@link #end()}. Both are no-ops while the profiler is disabled. A section
+ * keeps its start marks in fields, so it must not be entered by two threads at once; a system only
+ * ever runs on one thread at a time, which is what sections are keyed by.
+ */
+public final class ProfileSection {
+  private final String name;
+  private final ProfilerService profiler;
+  private final RollingHistogram nanos;
+  private final RollingHistogram bytes;
+
+  private boolean active;
+  private long startNanos;
+  private long startBytes;
+
+  ProfileSection(String name, ProfilerService profiler, int window) {
+    this.name = name;
+    this.profiler = profiler;
+    this.nanos = new RollingHistogram(window);
+    this.bytes = new RollingHistogram(window);
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public void begin() {
+    active = profiler.isEnabled();
+    if (active) {
+      startBytes = profiler.currentThreadAllocatedBytes();
+      startNanos = System.nanoTime();
+    }
+  }
+
+  public void end() {
+    if (!active) {
+      return;
+    }
+    long elapsed = System.nanoTime() - startNanos;
+    long allocated = profiler.currentThreadAllocatedBytes() - startBytes;
+    nanos.record(elapsed);
+    bytes.record(allocated);
+    active = false;
+  }
+
+  public ProfileStats stats() {
+    return new ProfileStats(name, nanos.count(),
+      nanos.percentile(50), nanos.percentile(99), nanos.max(),
+      bytes.percentile(50), bytes.percentile(99), bytes.max());
+  }
+}
@@ -0,0 +1,17 @@
+package engine.services.profiler;
+
+/**
+ * Recent timing and allocation statistics of one profiled system or service. Percentiles are bucket
+ * upper bounds; see {@link RollingHistogram}.
+ */
+public record ProfileStats(
+  String name,
+  int samples,
+  long p50Nanos,
+  long p99Nanos,
+  long maxNanos,
+  long p50Bytes,
+  long p99Bytes,
+  long maxBytes
+) {
+}
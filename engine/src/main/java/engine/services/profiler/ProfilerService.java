@@ -0,0 +1,142 @@
+package engine.services.profiler;
+
+import engine.IService;
+import io.micronaut.context.ApplicationContext;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-system and per-service frame profiler.
+ * <p>
+ * {@link engine.Engine} and the world's system manager wrap every service hook and system update in
+ * a {@link ProfileSection}, which records wall time and, where the JVM supports it, the bytes the
+ * running thread allocated. Each section keeps rolling histograms over the last
+ * {@link #WINDOW_PROPERTY} samples, queryable through {@link #stats()}. With
+ * {@link #LOG_EVERY_FRAMES_PROPERTY} set, the slowest sections are logged periodically.
+ */
+@Slf4j
+@Singleton
+public class ProfilerService implements IService {
+  /** Property enabling measurement; disabled sections cost one volatile read per call. */
+  public static final String ENABLED_PROPERTY = "engine.profiler.enabled";
+  /** Property setting how many recent samples each histogram keeps. */
+  public static final String WINDOW_PROPERTY = "engine.profiler.window";
+  /** Property logging the statistics every N frames; 0 never logs. */
+  public static final String LOG_EVERY_FRAMES_PROPERTY = "engine.profiler.log-every-frames";
+
+  private static final int DEFAULT_WINDOW = 600;
+  private static final int LOGGED_SECTIONS = 10;
+
+  private final Map<String, ProfileSection> sections = new ConcurrentHashMap<>();
+  private final int window;
+  private final int logEveryFrames;
+  private final com.sun.management.ThreadMXBean allocationBean;
+
+  private volatile boolean enabled;
+  private long frames;
+
+  @Inject
+  public ProfilerService(ApplicationContext applicationContext) {
+    this(applicationContext.getProperty(ENABLED_PROPERTY, Boolean.class).orElse(false),
+      applicationContext.getProperty(WINDOW_PROPERTY, Integer.class).orElse(DEFAULT_WINDOW),
+      applicationContext.getProperty(LOG_EVERY_FRAMES_PROPERTY, Integer.class).orElse(0));
+  }
+
+  public ProfilerService(boolean enabled, int window, int logEveryFrames) {
+    if (window < 1) {
+      throw new IllegalArgumentException("Profiler window must be at least 1: " + window);
+    }
+    this.enabled = enabled;
+    this.window = window;
+    this.logEveryFrames = logEveryFrames;
+    this.allocationBean = allocationBean();
+  }
+
+  @Override
+  public int executionOrder() {
+    // Log the previous frame before anything else runs
+    return 0;
+  }
+
+  @Override
+  public void update() {
+    if (!enabled || logEveryFrames <= 0) {
+      return;
+    }
+    if (++frames % logEveryFrames == 0) {
+      logSlowest();
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /** The section with the given name, created on first use. Callers should keep the result. */
+  public ProfileSection section(String name) {
+    return sections.computeIfAbsent(name, key -> new ProfileSection(key, this, window));
+  }
+
+  /** Section name for a class: its simple name, or the full name for anonymous classes. */
+  public static String nameOf(Class<?> type) {
+    String simpleName = type.getSimpleName();
+    return simpleName.isEmpty() ? type.getName() : simpleName;
+  }
+
+  /** Statistics of one section, if it has been measured. */
+  public Optional<ProfileStats> stats(String name) {
+    ProfileSection section = sections.get(name);
+    return section == null ? Optional.empty() : Optional.of(section.stats());
+  }
+
+  /** Statistics of every section, slowest 99th percentile first. */
+  public List<ProfileStats> stats() {
+    List<ProfileStats> result = new ArrayList<>(sections.size());
+    for (ProfileSection section : sections.values()) {
+      ProfileStats stats = section.stats();
+      if (stats.samples() > 0) {
+        result.add(stats);
+      }
+    }
+    result.sort(Comparator.comparingLong(ProfileStats::p99Nanos).reversed());
+    return result;
+  }
+
+  /** Bytes allocated so far by the calling thread, or 0 if the JVM cannot tell. */
+  long currentThreadAllocatedBytes() {
+    return allocationBean != null ? allocationBean.getCurrentThreadAllocatedBytes() : 0;
+  }
+
+  private void logSlowest() {
+    List<ProfileStats> stats = stats();
+    log.info("Frame profile over the last {} samples:", window);
+    for (int i = 0; i < Math.min(LOGGED_SECTIONS, stats.size()); i++) {
+      ProfileStats s = stats.get(i);
+      log.info("  {}: p50 {} us, p99 {} us, max {} us, p99 alloc {} B",
+        s.name(), s.p50Nanos() / 1_000, s.p99Nanos() / 1_000, s.maxNanos() / 1_000, s.p99Bytes());
+    }
+  }
+
+  private static com.sun.management.ThreadMXBean allocationBean() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean sunBean && sunBean.isThreadAllocatedMemorySupported()) {
+      sunBean.setThreadAllocatedMemoryEnabled(true);
+      return sunBean;
+    }
+    return null;
+  }
+}
@@ -0,0 +1,93 @@
+package engine.services.profiler;
+
+/**
+ * Histogram of the most recent samples over fixed, logarithmic buckets.
+ * <p>
+ * Every power of two is split into {@value #SUB_BUCKETS} buckets, so a percentile is reported as the
+ * upper bound of its bucket and overstates the true value by at most 25%. The last {@code window}
+ * samples are kept in a ring; the oldest leaves its bucket when a new one arrives, so statistics
+ * follow recent frames instead of the whole session. Recording never allocates.
+ */
+public final class RollingHistogram {
+  private static final int SUB_BUCKET_BITS = 2;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+  private final long[] samples;
+  private final int[] counts = new int[BUCKETS];
+  private int next;
+  private int size;
+
+  public RollingHistogram(int window) {
+    if (window < 1) {
+      throw new IllegalArgumentException("Window must hold at least one sample: " + window);
+    }
+    this.samples = new long[window];
+  }
+
+  /** Adds a sample, evicting the oldest once the window is full. Negative values count as 0. */
+  public synchronized void record(long value) {
+    long sample = Math.max(0, value);
+    if (size == samples.length) {
+      counts[bucketOf(samples[next])]--;
+    } else {
+      size++;
+    }
+    samples[next] = sample;
+    counts[bucketOf(sample)]++;
+    next = (next + 1) % samples.length;
+  }
+
+  /** Number of samples in the window. */
+  public synchronized int count() {
+    return size;
+  }
+
+  /**
+   * Upper bound of the bucket holding the given percentile of the window, or 0 if it is empty.
+   *
+   * @param percentile in (0, 100]
+   */
+  public synchronized long percentile(double percentile) {
+    if (size == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(size * percentile / 100.0));
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      seen += counts[bucket];
+      if (seen >= rank) {
+        return upperBoundOf(bucket);
+      }
+    }
+    return upperBoundOf(BUCKETS - 1);
+  }
+
+  /** Exact largest sample in the window, or 0 if it is empty. */
+  public synchronized long max() {
+    long max = 0;
+    for (int i = 0; i < size; i++) {
+      max = Math.max(max, samples[i]);
+    }
+    return max;
+  }
+
+  static int bucketOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  static long upperBoundOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    long subBucket = bucket % SUB_BUCKETS;
+    long lowerBound = (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+  }
+}
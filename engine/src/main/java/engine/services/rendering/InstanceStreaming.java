@@ -0,0 +1,12 @@
+package engine.services.rendering;
+
+/**
+ * Ways an {@link InstancedMesh} streams per-instance data to the GPU.
+ * Selected for the sprite renderer through the {@code engine.rendering.instance-streaming} property.
+ */
+public enum InstanceStreaming {
+  /** Map the buffer for every draw, letting the driver orphan storage still in use; works on any GL 3.3 context. */
+  ORPHAN,
+  /** Write into a persistently mapped ring of three frame regions guarded by fences; needs GL 4.4. */
+  PERSISTENT
+}
@@ -1,12 +1,11 @@
 package engine.services.rendering;
 
+import engine.services.profiler.ProfileSection;
 import lombok.Getter;
-import org.joml.Matrix4f;
 import org.lwjgl.system.MemoryUtil;
 
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
-import java.util.List;
 
 import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
 import static org.lwjgl.opengl.GL15.GL_DYNAMIC_DRAW;
@@ -14,50 +13,120 @@ import static org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER;
 import static org.lwjgl.opengl.GL15.GL_FLOAT;
 import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
 import static org.lwjgl.opengl.GL15.GL_TRIANGLES;
+import static org.lwjgl.opengl.GL15.GL_UNSIGNED_BYTE;
 import static org.lwjgl.opengl.GL15.GL_UNSIGNED_INT;
-import static org.lwjgl.opengl.GL15.GL_WRITE_ONLY;
+import static org.lwjgl.opengl.GL15.GL_UNSIGNED_SHORT;
 import static org.lwjgl.opengl.GL15.glBindBuffer;
 import static org.lwjgl.opengl.GL15.glBufferData;
 import static org.lwjgl.opengl.GL15.glDeleteBuffers;
 import static org.lwjgl.opengl.GL15.glGenBuffers;
-import static org.lwjgl.opengl.GL15.glMapBuffer;
 import static org.lwjgl.opengl.GL15.glUnmapBuffer;
 import static org.lwjgl.opengl.GL20.glEnableVertexAttribArray;
 import static org.lwjgl.opengl.GL20.glVertexAttribPointer;
+import static org.lwjgl.opengl.GL30.GL_HALF_FLOAT;
+import static org.lwjgl.opengl.GL30.glVertexAttribIPointer;
+import static org.lwjgl.opengl.GL30.GL_MAP_INVALIDATE_BUFFER_BIT;
+import static org.lwjgl.opengl.GL30.GL_MAP_WRITE_BIT;
 import static org.lwjgl.opengl.GL30.glBindVertexArray;
 import static org.lwjgl.opengl.GL30.glDeleteVertexArrays;
 import static org.lwjgl.opengl.GL30.glGenVertexArrays;
+import static org.lwjgl.opengl.GL30.glMapBufferRange;
 import static org.lwjgl.opengl.GL31.glDrawElementsInstanced;
+import static org.lwjgl.opengl.GL32.GL_SYNC_FLUSH_COMMANDS_BIT;
+import static org.lwjgl.opengl.GL32.GL_SYNC_GPU_COMMANDS_COMPLETE;
+import static org.lwjgl.opengl.GL32.GL_ALREADY_SIGNALED;
+import static org.lwjgl.opengl.GL32.GL_TIMEOUT_EXPIRED;
+import static org.lwjgl.opengl.GL32.glClientWaitSync;
+import static org.lwjgl.opengl.GL32.glDeleteSync;
+import static org.lwjgl.opengl.GL32.glFenceSync;
 import static org.lwjgl.opengl.GL33.glVertexAttribDivisor;
+import static org.lwjgl.opengl.GL42.glDrawElementsInstancedBaseInstance;
+import static org.lwjgl.opengl.GL44.GL_MAP_COHERENT_BIT;
+import static org.lwjgl.opengl.GL44.GL_MAP_PERSISTENT_BIT;
+import static org.lwjgl.opengl.GL44.glBufferStorage;
 
 /**
  * An extension of the basic Mesh class that supports instanced rendering.
  * <p>
  * This mesh can render multiple instances of the same geometry with different
- * transformation matrices in a single draw call using glDrawElementsInstanced.
- * Instance data (transformation matrices) are stored in a separate VBO and
- * updated each frame with the current instance transforms.
+ * transforms in a single draw call using glDrawElementsInstanced. Instance data
+ * is stored in a separate VBO in the packed {@link SpriteInstances} layout and
+ * updated each frame with the current instances.
+ * <p>
+ * The instance VBO starts at a configurable capacity and grows when a draw needs more room. How
+ * instance data reaches it depends on the {@link InstanceStreaming} mode:
+ * <ul>
+ *   <li>{@code ORPHAN} maps the buffer for every draw with {@code GL_MAP_INVALIDATE_BUFFER_BIT},
+ *   orphaning the storage the GPU may still be reading.</li>
+ *   <li>{@code PERSISTENT} maps immutable storage once, persistently and coherently, and splits it
+ *   into a ring of {@value #FRAME_REGIONS} frame regions. The draws of a frame append to one region
+ *   and read it through their base instance; a fence placed at {@link #endFrame()} is waited on before
+ *   the region is written again, so the CPU fills one frame while the GPU draws the previous ones.
+ *   Time spent waiting on fences is recorded in the optional stall section and counted in
+ *   {@link #getStalledFrames()}.</li>
+ * </ul>
+ * Callers bracket each frame's draws with {@link #beginFrame()} and {@link #endFrame()}.
  */
 public class InstancedMesh implements AutoCloseable {
   @Getter
   private final int vaoId;
   private final int vboId;
   private final int eboId;
-  private final int instanceVboId;
+  private int instanceVboId;
   @Getter
   private final int vertexCount;
 
-  private static final int MAX_INSTANCES = 1000; // Maximum instances per batch
-  private static final int MATRIX_SIZE_FLOATS = 16; // 4x4 matrix = 16 floats
+  /** Instance capacity of a mesh created without one. */
+  public static final int DEFAULT_INSTANCE_CAPACITY = 1024;
+  /** Frame regions of the persistent ring: one being written, up to two still read by the GPU. */
+  public static final int FRAME_REGIONS = 3;
+
+  private static final long FENCE_TIMEOUT_NANOS = 1_000_000_000L;
+
+  @Getter
+  private final InstanceStreaming streaming;
+  // Number of instances one draw (ORPHAN) or one frame region (PERSISTENT) can hold
+  @Getter
+  private int instanceCapacity;
+
+  // PERSISTENT mode: the mapped ring, the fence guarding each region and the write position
+  private IntBuffer mappedInstances;
+  private final long[] regionFences = new long[FRAME_REGIONS];
+  private int region;
+  private int regionUsed;
+  private final ProfileSection stallSection;
+  @Getter
+  private long stalledFrames;
 
   /**
-   * Creates a new instanced mesh with interleaved vertex data.
+   * Creates a new instanced mesh with interleaved vertex data and the default instance capacity.
    *
    * @param vertices The interleaved vertex data. Expected layout: [posX, posY, posZ, texU, texV, ...]
    * @param indices  The indices for the EBO.
    */
   public InstancedMesh(float[] vertices, int[] indices) {
+    this(vertices, indices, DEFAULT_INSTANCE_CAPACITY, InstanceStreaming.ORPHAN, null);
+  }
+
+  /**
+   * Creates a new instanced mesh with interleaved vertex data.
+   *
+   * @param vertices         The interleaved vertex data. Expected layout: [posX, posY, posZ, texU, texV, ...]
+   * @param indices          The indices for the EBO.
+   * @param instanceCapacity The number of instances a draw (ORPHAN) or a frame (PERSISTENT) is first sized for;
+   *                         it grows on demand.
+   * @param streaming        How instance data is streamed to the GPU.
+   * @param stallSection     Section recording the time spent waiting on fences, or null.
+   */
+  public InstancedMesh(float[] vertices, int[] indices, int instanceCapacity, InstanceStreaming streaming,
+                       ProfileSection stallSection) {
+    if (instanceCapacity < 1) {
+      throw new IllegalArgumentException("Instance capacity must be at least 1: " + instanceCapacity);
+    }
     this.vertexCount = indices.length;
+    this.instanceCapacity = instanceCapacity;
+    this.streaming = streaming;
+    this.stallSection = stallSection;
     FloatBuffer vertexBuffer = null;
     IntBuffer indicesBuffer = null;
 
@@ -94,23 +163,8 @@ public class InstancedMesh implements AutoCloseable {
       glVertexAttribPointer(1, 2, GL_FLOAT, false, VERTEX_SIZE_BYTES, texCoordOffset);
       glEnableVertexAttribArray(1);
 
-      // --- Create instance data VBO ---
-      instanceVboId = glGenBuffers();
-      glBindBuffer(GL_ARRAY_BUFFER, instanceVboId);
-      // Allocate space for MAX_INSTANCES matrices (will be updated dynamically)
-      glBufferData(GL_ARRAY_BUFFER, MAX_INSTANCES * MATRIX_SIZE_FLOATS * Float.BYTES, GL_DYNAMIC_DRAW);
-
-      // --- Instance matrix attributes (locations 2-5 for mat4) ---
-      // A mat4 takes up 4 attribute locations, so we need to set up 4 vec4 attributes
-      int matrixSizeBytes = MATRIX_SIZE_FLOATS * Float.BYTES;
-      int vec4SizeBytes = 4 * Float.BYTES;
-
-      for (int i = 0; i < 4; i++) {
-        int location = 2 + i; // Attributes 2, 3, 4, 5
-        glVertexAttribPointer(location, 4, GL_FLOAT, false, matrixSizeBytes, i * vec4SizeBytes);
-        glEnableVertexAttribArray(location);
-        glVertexAttribDivisor(location, 1); // Instance data (update per instance, not per vertex)
-      }
+      // --- Create instance data VBO and its attributes ---
+      createInstanceBuffer();
 
       // --- Unbind VAO ---
       glBindVertexArray(0);
@@ -127,46 +181,177 @@ public class InstancedMesh implements AutoCloseable {
   }
 
   /**
-   * Updates the instance data with transformation matrices and renders all instances.
-   *
-   * @param transforms The transformation matrices for each instance.
+   * Starts a frame. In PERSISTENT mode this claims the next region of the ring, first waiting until
+   * the GPU has finished the frame that last used it.
    */
-  public void renderInstanced(List<Matrix4f> transforms) {
-    if (transforms.isEmpty()) {
+  public void beginFrame() {
+    if (streaming != InstanceStreaming.PERSISTENT) {
       return;
     }
+    region = (region + 1) % FRAME_REGIONS;
+    regionUsed = 0;
+    awaitFence(region);
+  }
 
-    int instanceCount = Math.min(transforms.size(), MAX_INSTANCES);
+  /** Ends a frame. In PERSISTENT mode this fences the region the frame's draws read from. */
+  public void endFrame() {
+    if (streaming != InstanceStreaming.PERSISTENT || regionUsed == 0) {
+      return;
+    }
+    regionFences[region] = glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+  }
 
-    // Update instance buffer with transformation matrices
-    glBindBuffer(GL_ARRAY_BUFFER, instanceVboId);
+  /**
+   * Updates the instance data and renders all instances.
+   *
+   * @param instances The packed instances.
+   */
+  public void renderInstanced(SpriteInstances instances) {
+    renderInstanced(instances, 0, instances.size());
+  }
 
-    // Map buffer for efficient updates
-    FloatBuffer instanceBuffer = glMapBuffer(GL_ARRAY_BUFFER, GL_WRITE_ONLY).asFloatBuffer();
+  /**
+   * Updates the instance data with a range of instances and renders them in one draw, growing the
+   * instance buffer first if the range does not fit.
+   *
+   * @param instances The packed instances.
+   * @param from      The index of the first instance to draw.
+   * @param count     The number of instances to draw.
+   */
+  public void renderInstanced(SpriteInstances instances, int from, int count) {
+    if (count <= 0) {
+      return;
+    }
+    if (streaming == InstanceStreaming.PERSISTENT) {
+      renderPersistent(instances, from, count);
+    } else {
+      renderOrphaned(instances, from, count);
+    }
+  }
 
-    for (int i = 0; i < instanceCount; i++) {
-      transforms.get(i).get(instanceBuffer);
+  private void renderOrphaned(SpriteInstances instances, int from, int count) {
+    glBindBuffer(GL_ARRAY_BUFFER, instanceVboId);
+    if (count > instanceCapacity) {
+      // Double at least, so a steadily growing scene reallocates only a few times
+      instanceCapacity = Math.max(count, instanceCapacity * 2);
+      glBufferData(GL_ARRAY_BUFFER, (long) instanceCapacity * SpriteInstances.BYTES, GL_DYNAMIC_DRAW);
     }
 
+    // Invalidating orphans the storage a previous draw may still be reading instead of waiting for it
+    IntBuffer instanceBuffer = glMapBufferRange(GL_ARRAY_BUFFER, 0, (long) count * SpriteInstances.BYTES,
+      GL_MAP_WRITE_BIT | GL_MAP_INVALIDATE_BUFFER_BIT).asIntBuffer();
+    instanceBuffer.put(0, instances.data(), from * SpriteInstances.WORDS, count * SpriteInstances.WORDS);
     glUnmapBuffer(GL_ARRAY_BUFFER);
 
     // Bind VAO and render all instances
     glBindVertexArray(vaoId);
-    glDrawElementsInstanced(GL_TRIANGLES, vertexCount, GL_UNSIGNED_INT, 0, instanceCount);
+    glDrawElementsInstanced(GL_TRIANGLES, vertexCount, GL_UNSIGNED_INT, 0, count);
+    glBindVertexArray(0);
+  }
+
+  private void renderPersistent(SpriteInstances instances, int from, int count) {
+    if (regionUsed + count > instanceCapacity) {
+      growPersistent(regionUsed + count);
+    }
+
+    // Coherent mapping: plain writes become visible to the GPU without unmapping or flushing
+    int baseInstance = region * instanceCapacity + regionUsed;
+    mappedInstances.put(baseInstance * SpriteInstances.WORDS, instances.data(), from * SpriteInstances.WORDS,
+      count * SpriteInstances.WORDS);
+    regionUsed += count;
+
+    glBindVertexArray(vaoId);
+    glDrawElementsInstancedBaseInstance(GL_TRIANGLES, vertexCount, GL_UNSIGNED_INT, 0, count, baseInstance);
     glBindVertexArray(0);
   }
 
   /**
-   * Gets the maximum number of instances that can be rendered in a single batch.
-   *
-   * @return The maximum instance count.
+   * Replaces the ring with one whose regions hold at least {@code needed} instances. Immutable
+   * storage cannot be resized; the old buffer is deleted once the draws already issued from it finish.
    */
-  public int getMaxInstances() {
-    return MAX_INSTANCES;
+  private void growPersistent(int needed) {
+    instanceCapacity = Math.max(needed, instanceCapacity * 2);
+    glBindBuffer(GL_ARRAY_BUFFER, instanceVboId);
+    glUnmapBuffer(GL_ARRAY_BUFFER);
+    glDeleteBuffers(instanceVboId);
+    deleteFences();
+
+    glBindVertexArray(vaoId);
+    createInstanceBuffer();
+    glBindVertexArray(0);
+
+    // The frame continues in the first region of the new buffer; the draws already issued keep reading the old one
+    region = 0;
+    regionUsed = 0;
+  }
+
+  /** Creates the instance VBO and points the instance attributes at it; the VAO must be bound. */
+  private void createInstanceBuffer() {
+    instanceVboId = glGenBuffers();
+    glBindBuffer(GL_ARRAY_BUFFER, instanceVboId);
+    if (streaming == InstanceStreaming.PERSISTENT) {
+      long size = (long) FRAME_REGIONS * instanceCapacity * SpriteInstances.BYTES;
+      int flags = GL_MAP_WRITE_BIT | GL_MAP_PERSISTENT_BIT | GL_MAP_COHERENT_BIT;
+      glBufferStorage(GL_ARRAY_BUFFER, size, flags);
+      mappedInstances = glMapBufferRange(GL_ARRAY_BUFFER, 0, size, flags).asIntBuffer();
+    } else {
+      // Allocate the initial capacity (contents are uploaded per draw)
+      glBufferData(GL_ARRAY_BUFFER, (long) instanceCapacity * SpriteInstances.BYTES, GL_DYNAMIC_DRAW);
+    }
+
+    // --- Instance attributes (locations 2-6, see SpriteInstances for the layout) ---
+    // Attribute 2: x, y, z
+    glVertexAttribPointer(2, 3, GL_FLOAT, false, SpriteInstances.BYTES, 0);
+    // Attribute 3: rotation steps and texture layer as unsigned integers
+    glVertexAttribIPointer(3, 2, GL_UNSIGNED_SHORT, SpriteInstances.BYTES, 3 * Integer.BYTES);
+    // Attribute 4: scale as half floats
+    glVertexAttribPointer(4, 2, GL_HALF_FLOAT, false, SpriteInstances.BYTES, 4 * Integer.BYTES);
+    // Attribute 5: UV rect as normalized shorts
+    glVertexAttribPointer(5, 4, GL_UNSIGNED_SHORT, true, SpriteInstances.BYTES, 5 * Integer.BYTES);
+    // Attribute 6: tint as normalized bytes
+    glVertexAttribPointer(6, 4, GL_UNSIGNED_BYTE, true, SpriteInstances.BYTES, 7 * Integer.BYTES);
+    for (int location = 2; location <= 6; location++) {
+      glEnableVertexAttribArray(location);
+      glVertexAttribDivisor(location, 1); // Instance data (update per instance, not per vertex)
+    }
+  }
+
+  /** Blocks until the GPU has passed the region's fence, recording the wait if it had not yet. */
+  private void awaitFence(int index) {
+    long fence = regionFences[index];
+    if (fence == 0) {
+      return;
+    }
+    int status = glClientWaitSync(fence, 0, 0);
+    if (status != GL_ALREADY_SIGNALED) {
+      // The GPU is still reading this region: the CPU is more than two frames ahead
+      stalledFrames++;
+      if (stallSection != null) {
+        stallSection.begin();
+      }
+      while (status == GL_TIMEOUT_EXPIRED) {
+        status = glClientWaitSync(fence, GL_SYNC_FLUSH_COMMANDS_BIT, FENCE_TIMEOUT_NANOS);
+      }
+      if (stallSection != null) {
+        stallSection.end();
+      }
+    }
+    glDeleteSync(fence);
+    regionFences[index] = 0;
+  }
+
+  private void deleteFences() {
+    for (int i = 0; i < FRAME_REGIONS; i++) {
+      if (regionFences[i] != 0) {
+        glDeleteSync(regionFences[i]);
+        regionFences[i] = 0;
+      }
+    }
   }
 
   @Override
   public void close() {
+    deleteFences();
     glDeleteBuffers(vboId);
     glDeleteBuffers(eboId);
     glDeleteBuffers(instanceVboId);
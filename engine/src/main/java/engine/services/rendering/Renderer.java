@@ -1,23 +1,40 @@
 package engine.services.rendering;
 
+import engine.services.profiler.ProfileSection;
 import engine.services.rendering.gl.Shader;
 import engine.services.resources.AssetCacheService;
+import engine.services.world.components.TransformComponent;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.joml.Matrix4f;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.joml.Vector4fc;
+import org.lwjgl.opengl.GL;
 
 import static org.lwjgl.opengl.GL11.GL_COLOR_BUFFER_BIT;
 import static org.lwjgl.opengl.GL11.GL_DEPTH_BUFFER_BIT;
 import static org.lwjgl.opengl.GL11.glClear;
 import static org.lwjgl.opengl.GL11.glClearColor;
 
+@Slf4j
 @RequiredArgsConstructor
 public class Renderer {
 
+  // Texture units of the shader's plain and array samplers; they must differ as the sampler types do
+  private static final int TEXTURE_UNIT = 0;
+  private static final int TEXTURE_ARRAY_UNIT = 1;
+
   private final AssetCacheService assetCacheService;
+  private final int initialInstanceCapacity;
+  private final int maxInstancesPerDraw;
+  private final InstanceStreaming streaming;
+  private final ProfileSection stallSection;
 
   private Shader instancedShader;
   private SpriteBatch spriteBatch;
   private InstancedMesh quadMesh;
+  private boolean layered;
 
   public void start() {
     this.instancedShader = assetCacheService.loadShader(
@@ -25,7 +42,7 @@ public class Renderer {
       "/shaders/default.vert",
       "/shaders/default.frag"
     );
-    this.spriteBatch = new SpriteBatch();
+    this.spriteBatch = new SpriteBatch(maxInstancesPerDraw);
 
     float[] vertices = {
       -0.5f, 0.5f, 0.0f,   0.0f, 1.0f,
@@ -34,7 +51,7 @@ public class Renderer {
       -0.5f, -0.5f, 0.0f,  0.0f, 0.0f
     };
     int[] indices = { 0, 3, 2, 2, 1, 0 };
-    this.quadMesh = new InstancedMesh(vertices, indices);
+    this.quadMesh = new InstancedMesh(vertices, indices, initialInstanceCapacity, supportedStreaming(), stallSection);
   }
 
   public void beginScene(CameraService cameraService) {
@@ -42,25 +59,110 @@ public class Renderer {
     glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
 
     spriteBatch.clear();
+    quadMesh.beginFrame();
 
     instancedShader.bind();
     instancedShader.setUniform("uProjection", cameraService.getProjectionMatrix());
     instancedShader.setUniform("uView", cameraService.getViewMatrix());
+    instancedShader.setUniform("uTextureSampler", TEXTURE_UNIT);
+    instancedShader.setUniform("uTextureArraySampler", TEXTURE_ARRAY_UNIT);
+    instancedShader.setUniform("uLayered", 0);
+    layered = false;
   }
 
   public void submit(Mesh mesh, Texture texture, Matrix4f transform) {
-    spriteBatch.addSprite(texture, new Matrix4f(transform));
+    spriteBatch.addSprite(texture, transform);
+  }
+
+  /**
+   * Submits a sprite straight from its transform's fields, without building a matrix. The rotation is
+   * taken about the z axis and the position is interpolated between the previous and current one.
+   *
+   * @param alpha 0 for the previous position, 1 for the current one
+   */
+  public void submit(Texture texture, TransformComponent transform, float alpha, Vector4fc tint) {
+    submit(texture, null, null, transform, alpha, tint);
+  }
+
+  /**
+   * Submits a sprite showing one region of a sprite sheet, such as an animation frame, straight from its
+   * transform's fields; see {@link #submit(Texture, TransformComponent, float, Vector4fc)}.
+   */
+  public void submit(SpriteSheet sheet, int regionIndex, TransformComponent transform, float alpha, Vector4fc tint) {
+    submit(sheet.getTexture(), sheet.getRegionUvRect(regionIndex), null, transform, alpha, tint);
+  }
+
+  /**
+   * Submits a sprite showing one image of a texture array straight from its transform's fields;
+   * see {@link #submit(Texture, TransformComponent, float, Vector4fc)}.
+   */
+  public void submit(TextureLayer layer, TransformComponent transform, float alpha, Vector4fc tint) {
+    submit(null, null, layer, transform, alpha, tint);
+  }
+
+  /** Submits a sprite whose 2D model matrix is already known, such as the world matrix of a child entity. */
+  public void submit(Texture texture, Matrix4f transform, Vector4fc tint) {
+    spriteBatch.addSprite(texture, transform, tint);
+  }
+
+  /** Submits a sprite showing one region of a sprite sheet with a known 2D model matrix. */
+  public void submit(SpriteSheet sheet, int regionIndex, Matrix4f transform, Vector4fc tint) {
+    spriteBatch.addSprite(sheet.getTexture(), sheet.getRegionUvRect(regionIndex), transform, tint);
+  }
+
+  /** Submits a sprite showing one image of a texture array with a known 2D model matrix. */
+  public void submit(TextureLayer layer, Matrix4f transform, Vector4fc tint) {
+    spriteBatch.addSprite(layer, transform, tint);
+  }
+
+  // Exactly one of texture and layer is given; a texture may come with the UV rect of one of its regions
+  private void submit(Texture texture, float[] uvRect, TextureLayer layer, TransformComponent transform,
+                      float alpha, Vector4fc tint) {
+    Vector3f position = transform.position;
+    Vector3f previous = transform.previousPosition;
+    Quaternionf rotation = transform.rotation;
+    float x = position.x;
+    float y = position.y;
+    float z = position.z;
+    if (alpha < 1f) {
+      x = previous.x + (x - previous.x) * alpha;
+      y = previous.y + (y - previous.y) * alpha;
+      z = previous.z + (z - previous.z) * alpha;
+    }
+    float angle = 2f * (float) Math.atan2(rotation.z, rotation.w);
+    if (layer != null) {
+      spriteBatch.addSprite(layer, x, y, z, angle, transform.scale.x, transform.scale.y, tint);
+    } else if (uvRect != null) {
+      spriteBatch.addSprite(texture, uvRect, x, y, z, angle, transform.scale.x, transform.scale.y, tint);
+    } else {
+      spriteBatch.addSprite(texture, x, y, z, angle, transform.scale.x, transform.scale.y, tint);
+    }
   }
 
   public void endScene() {
-    for (Texture texture : spriteBatch.getTextures()) {
-      var transforms = spriteBatch.getSpritesForTexture(texture);
-      if (!transforms.isEmpty()) {
-        texture.bind(0);
-        instancedShader.setUniform("uTextureSampler", 0);
-        quadMesh.renderInstanced(transforms);
+    for (int batch = 0; batch < spriteBatch.getBatchCount(); batch++) {
+      int textureId = spriteBatch.getBatchTextureId(batch);
+      SpriteInstances instances = spriteBatch.getSprites(textureId);
+      SpriteTexture texture = spriteBatch.getTexture(textureId);
+      if (texture.isLayered() != layered) {
+        layered = texture.isLayered();
+        instancedShader.setUniform("uLayered", layered ? 1 : 0);
+      }
+      texture.bind(layered ? TEXTURE_ARRAY_UNIT : TEXTURE_UNIT);
+      // Oversized batches are split so no draw exceeds the configured instance count
+      for (int from = 0; from < instances.size(); from += maxInstancesPerDraw) {
+        quadMesh.renderInstanced(instances, from, Math.min(maxInstancesPerDraw, instances.size() - from));
       }
     }
+    quadMesh.endFrame();
     instancedShader.unbind();
   }
+
+  private InstanceStreaming supportedStreaming() {
+    if (streaming == InstanceStreaming.PERSISTENT && !GL.getCapabilities().OpenGL44) {
+      log.warn("Persistent instance streaming needs OpenGL 4.4; falling back to {}", InstanceStreaming.ORPHAN);
+      return InstanceStreaming.ORPHAN;
+    }
+    return streaming;
+  }
 }
@@ -1,19 +1,68 @@
 package engine.services.rendering;
 
 import engine.IService;
+import engine.services.profiler.ProfilerService;
 import engine.services.resources.AssetCacheService;
+import engine.services.world.components.TransformComponent;
+import io.micronaut.context.ApplicationContext;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
-import lombok.RequiredArgsConstructor;
 import org.joml.Matrix4f;
+import org.joml.Vector4fc;
 
 @Singleton
-@RequiredArgsConstructor
 public class RenderingService implements IService {
+  /** Property setting the number of sprite instances the instance buffer is first sized for. */
+  public static final String INITIAL_INSTANCE_CAPACITY_PROPERTY = "engine.rendering.initial-instance-capacity";
+  /** Property capping the sprite instances drawn by one draw call; larger batches are split. */
+  public static final String MAX_INSTANCES_PER_DRAW_PROPERTY = "engine.rendering.max-instances-per-draw";
+  /** Property selecting how sprite instances are streamed to the GPU; see {@link InstanceStreaming}. */
+  public static final String INSTANCE_STREAMING_PROPERTY = "engine.rendering.instance-streaming";
+  /** Profiler section timing waits for the GPU to release instance buffer space. */
+  public static final String INSTANCE_STALL_SECTION = "InstanceBufferStall";
+
+  private static final int DEFAULT_MAX_INSTANCES_PER_DRAW = 65_536;
 
   private final AssetCacheService assetCacheService;
+  private final ProfilerService profilerService;
+  private final int initialInstanceCapacity;
+  private final int maxInstancesPerDraw;
+  private final InstanceStreaming instanceStreaming;
 
   private Renderer renderer;
 
+  @Inject
+  public RenderingService(AssetCacheService assetCacheService, ProfilerService profilerService,
+                          ApplicationContext applicationContext) {
+    this(assetCacheService, profilerService,
+      applicationContext.getProperty(INITIAL_INSTANCE_CAPACITY_PROPERTY, Integer.class)
+        .orElse(InstancedMesh.DEFAULT_INSTANCE_CAPACITY),
+      applicationContext.getProperty(MAX_INSTANCES_PER_DRAW_PROPERTY, Integer.class)
+        .orElse(DEFAULT_MAX_INSTANCES_PER_DRAW),
+      applicationContext.getProperty(INSTANCE_STREAMING_PROPERTY, InstanceStreaming.class)
+        .orElse(InstanceStreaming.PERSISTENT));
+  }
+
+  /**
+   * @param initialInstanceCapacity sprite instances the instance buffer is first sized for; it grows on demand
+   * @param maxInstancesPerDraw     most sprite instances drawn by one draw call
+   * @param instanceStreaming       how sprite instances are streamed to the GPU
+   */
+  public RenderingService(AssetCacheService assetCacheService, ProfilerService profilerService,
+                          int initialInstanceCapacity, int maxInstancesPerDraw, InstanceStreaming instanceStreaming) {
+    if (initialInstanceCapacity < 1) {
+      throw new IllegalArgumentException("Initial instance capacity must be at least 1: " + initialInstanceCapacity);
+    }
+    if (maxInstancesPerDraw < 1) {
+      throw new IllegalArgumentException("Max instances per draw must be at least 1: " + maxInstancesPerDraw);
+    }
+    this.assetCacheService = assetCacheService;
+    this.profilerService = profilerService;
+    this.instanceStreaming = instanceStreaming;
+    this.initialInstanceCapacity = initialInstanceCapacity;
+    this.maxInstancesPerDraw = maxInstancesPerDraw;
+  }
+
   @Override
   public int executionOrder() {
     return 30;
@@ -21,7 +70,8 @@ public class RenderingService implements IService {
 
   @Override
   public void start() {
-    this.renderer = new Renderer(assetCacheService);
+    this.renderer = new Renderer(assetCacheService, initialInstanceCapacity, maxInstancesPerDraw, instanceStreaming,
+      profilerService.section(INSTANCE_STALL_SECTION));
     this.renderer.start();
   }
 
@@ -33,6 +83,36 @@ public class RenderingService implements IService {
     renderer.submit(mesh, texture, transform);
   }
 
+  /** Submits a sprite straight from its transform's fields, interpolating its position by alpha. */
+  public void submit(Texture texture, TransformComponent transform, float alpha, Vector4fc tint) {
+    renderer.submit(texture, transform, alpha, tint);
+  }
+
+  /** Submits a sprite with a known 2D model matrix. */
+  public void submit(Texture texture, Matrix4f transform, Vector4fc tint) {
+    renderer.submit(texture, transform, tint);
+  }
+
+  /** Submits a sprite showing one region of a sprite sheet, straight from its transform's fields. */
+  public void submit(SpriteSheet sheet, int regionIndex, TransformComponent transform, float alpha, Vector4fc tint) {
+    renderer.submit(sheet, regionIndex, transform, alpha, tint);
+  }
+
+  /** Submits a sprite showing one region of a sprite sheet with a known 2D model matrix. */
+  public void submit(SpriteSheet sheet, int regionIndex, Matrix4f transform, Vector4fc tint) {
+    renderer.submit(sheet, regionIndex, transform, tint);
+  }
+
+  /** Submits a sprite showing one image of a texture array, straight from its transform's fields. */
+  public void submit(TextureLayer layer, TransformComponent transform, float alpha, Vector4fc tint) {
+    renderer.submit(layer, transform, alpha, tint);
+  }
+
+  /** Submits a sprite showing one image of a texture array with a known 2D model matrix. */
+  public void submit(TextureLayer layer, Matrix4f transform, Vector4fc tint) {
+    renderer.submit(layer, transform, tint);
+  }
+
   public void endScene() {
     renderer.endScene();
   }
@@ -114,6 +114,25 @@ public class SpriteAnimation {
     return frameNames.get(frameIndex);
   }
 
+  /**
+   * Resolves every frame to its region index in the given sprite sheet, so playback can look up
+   * regions without string lookups.
+   *
+   * @param spriteSheet The sprite sheet holding this animation's regions
+   * @return The region index of each frame, in frame order
+   * @throws IllegalArgumentException if a frame names a region the sheet does not have
+   */
+  public int[] resolveRegionIndices(SpriteSheet spriteSheet) {
+    int[] regionIndices = new int[frameNames.size()];
+    for (int i = 0; i < regionIndices.length; i++) {
+      regionIndices[i] = spriteSheet.getRegionIndex(frameNames.get(i));
+      if (regionIndices[i] < 0) {
+        throw new IllegalArgumentException("Animation " + name + " references unknown region " + frameNames.get(i));
+      }
+    }
+    return regionIndices;
+  }
+
   /**
    * Calculates which frame should be displayed at the given time.
    *
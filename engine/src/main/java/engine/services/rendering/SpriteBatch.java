@@ -1,8 +1,12 @@
 package engine.services.rendering;
 
-import org.joml.Matrix4f;
+import engine.util.IntList;
+import org.joml.Matrix4fc;
+import org.joml.Vector4f;
+import org.joml.Vector4fc;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,7 +16,14 @@ import java.util.Map;
  * <p>
  * This class batches sprites that share the same texture so they can be rendered
  * together using instanced rendering, reducing the number of draw calls from
- * one-per-sprite to one-per-texture.
+ * one-per-sprite to one-per-texture. All sprites showing images of one {@link TextureArray}
+ * share a batch, whatever their layer. A texture with more sprites than the maximum
+ * instances per batch is drawn in several draws of at most that many sprites.
+ * Sprites are stored in the packed {@link SpriteInstances} layout, ready to upload.
+ * <p>
+ * Each texture gets a small id on first use, which indexes its instance list. The lists are kept
+ * across frames and only emptied by {@link #clear()}, so once they have grown to the scene's size
+ * adding sprites allocates nothing. Batches are rendered in the order their first sprite was added.
  * <p>
  * Usage pattern:
  * 1. Clear the batch at the start of the frame
@@ -21,17 +32,26 @@ import java.util.Map;
  */
 public class SpriteBatch {
 
-  private final Map<Texture, List<Matrix4f>> batches;
+  private static final Vector4fc WHITE = new Vector4f(1f, 1f, 1f, 1f);
+  private static final SpriteInstances NO_SPRITES = new SpriteInstances(0);
+
   private final int maxInstancesPerBatch;
+  private final Map<SpriteTexture, Integer> textureIds = new HashMap<>();
+  private SpriteTexture[] textures = new SpriteTexture[16];
+  private SpriteInstances[] instances = new SpriteInstances[16];
+  // Ids of the textures with sprites this frame, in the order of their first sprite
+  private final IntList batchTextureIds = new IntList();
 
   /**
    * Creates a new sprite batch with the specified maximum instances per batch.
    *
-   * @param maxInstancesPerBatch Maximum number of sprites per texture batch.
+   * @param maxInstancesPerBatch Maximum number of sprites per draw call.
    */
   public SpriteBatch(int maxInstancesPerBatch) {
+    if (maxInstancesPerBatch < 1) {
+      throw new IllegalArgumentException("Max instances per batch must be at least 1: " + maxInstancesPerBatch);
+    }
     this.maxInstancesPerBatch = maxInstancesPerBatch;
-    this.batches = new HashMap<>();
   }
 
   /**
@@ -41,42 +61,193 @@ public class SpriteBatch {
     this(1000); // Default to 1000 instances per batch
   }
 
+  /**
+   * Gets the small id of a texture, assigning the next free one on first use. Ids stay valid for the
+   * lifetime of the batch.
+   *
+   * @param texture The texture.
+   * @return The texture's id.
+   */
+  public int textureId(SpriteTexture texture) {
+    Integer id = textureIds.get(texture);
+    if (id != null) {
+      return id;
+    }
+    int next = textureIds.size();
+    if (next == textures.length) {
+      textures = Arrays.copyOf(textures, next * 2);
+      instances = Arrays.copyOf(instances, next * 2);
+    }
+    textures[next] = texture;
+    instances[next] = new SpriteInstances();
+    textureIds.put(texture, next);
+    return next;
+  }
+
+  /**
+   * Gets the texture with the given id.
+   *
+   * @param textureId An id returned by {@link #textureId(SpriteTexture)}.
+   * @return The texture.
+   */
+  public SpriteTexture getTexture(int textureId) {
+    return textures[textureId];
+  }
+
+  /**
+   * Adds an untinted sprite to the batch for the given texture.
+   *
+   * @param texture   The texture used by this sprite.
+   * @param transform The 2D transformation matrix for this sprite.
+   */
+  public void addSprite(SpriteTexture texture, Matrix4fc transform) {
+    addSprite(textureId(texture), transform, WHITE);
+  }
+
   /**
    * Adds a sprite to the batch for the given texture.
    *
    * @param texture   The texture used by this sprite.
-   * @param transform The transformation matrix for this sprite.
+   * @param transform The 2D transformation matrix for this sprite.
+   * @param tint      The color multiplied with the texture.
+   */
+  public void addSprite(SpriteTexture texture, Matrix4fc transform, Vector4fc tint) {
+    addSprite(textureId(texture), transform, tint);
+  }
+
+  /**
+   * Adds a sprite to the batch for the given texture from its transform values.
+   *
+   * @param texture  The texture used by this sprite.
+   * @param rotation The rotation about the z axis in radians.
+   * @param tint     The color multiplied with the texture.
+   */
+  public void addSprite(SpriteTexture texture, float x, float y, float z, float rotation, float scaleX, float scaleY,
+                        Vector4fc tint) {
+    addSprite(textureId(texture), x, y, z, rotation, scaleX, scaleY, tint);
+  }
+
+  /**
+   * Adds a sprite to the batch for the texture with the given id.
+   *
+   * @param textureId An id returned by {@link #textureId(SpriteTexture)}.
+   * @param transform The 2D transformation matrix for this sprite.
+   * @param tint      The color multiplied with the texture.
+   */
+  public void addSprite(int textureId, Matrix4fc transform, Vector4fc tint) {
+    instancesForAdd(textureId).add(transform, tint);
+  }
+
+  /**
+   * Adds a sprite to the batch for the texture with the given id from its transform values.
+   *
+   * @param textureId An id returned by {@link #textureId(SpriteTexture)}.
+   * @param rotation  The rotation about the z axis in radians.
+   * @param tint      The color multiplied with the texture.
+   */
+  public void addSprite(int textureId, float x, float y, float z, float rotation, float scaleX, float scaleY,
+                        Vector4fc tint) {
+    instancesForAdd(textureId).add(x, y, z, rotation, scaleX, scaleY, tint);
+  }
+
+  /**
+   * Adds a sprite showing part of a texture, such as one frame of a sprite sheet.
+   *
+   * @param texture   The texture used by this sprite.
+   * @param uvRect    The UV rect as u0, v0, u1, v1, as returned by {@link SpriteSheet#getRegionUvRect(int)}.
+   * @param transform The 2D transformation matrix for this sprite.
+   * @param tint      The color multiplied with the texture.
    */
-  public void addSprite(Texture texture, Matrix4f transform) {
-    batches.computeIfAbsent(texture, k -> new ArrayList<>()).add(transform);
+  public void addSprite(SpriteTexture texture, float[] uvRect, Matrix4fc transform, Vector4fc tint) {
+    instancesForAdd(textureId(texture)).add(transform, uvRect[0], uvRect[1], uvRect[2], uvRect[3], tint);
   }
 
   /**
-   * Gets all textures that have sprites in this batch.
+   * Adds a sprite showing part of a texture from its transform values.
    *
-   * @return An iterable of textures.
+   * @param texture  The texture used by this sprite.
+   * @param uvRect   The UV rect as u0, v0, u1, v1.
+   * @param rotation The rotation about the z axis in radians.
+   * @param tint     The color multiplied with the texture.
    */
-  public Iterable<Texture> getTextures() {
-    return batches.keySet();
+  public void addSprite(SpriteTexture texture, float[] uvRect, float x, float y, float z, float rotation,
+                        float scaleX, float scaleY, Vector4fc tint) {
+    instancesForAdd(textureId(texture))
+      .add(x, y, z, rotation, scaleX, scaleY, uvRect[0], uvRect[1], uvRect[2], uvRect[3], tint);
   }
 
   /**
-   * Gets the underlying map of batches.
+   * Adds a sprite showing one image of a texture array.
    *
-   * @return A map where keys are textures and values are lists of transforms.
+   * @param layer     The image's layer; its array is the batch the sprite joins.
+   * @param transform The 2D transformation matrix for this sprite.
+   * @param tint      The color multiplied with the texture.
    */
-  public Map<Texture, List<Matrix4f>> getBatches() {
-    return batches;
+  public void addSprite(TextureLayer layer, Matrix4fc transform, Vector4fc tint) {
+    instancesForAdd(textureId(layer.array())).add(transform, layer, tint);
   }
 
   /**
-   * Gets the transformation matrices for all sprites using the given texture.
+   * Adds a sprite showing one image of a texture array from its transform values.
+   *
+   * @param layer    The image's layer; its array is the batch the sprite joins.
+   * @param rotation The rotation about the z axis in radians.
+   * @param tint     The color multiplied with the texture.
+   */
+  public void addSprite(TextureLayer layer, float x, float y, float z, float rotation, float scaleX, float scaleY,
+                        Vector4fc tint) {
+    instancesForAdd(textureId(layer.array())).add(x, y, z, rotation, scaleX, scaleY, layer, tint);
+  }
+
+  private SpriteInstances instancesForAdd(int textureId) {
+    SpriteInstances sprites = instances[textureId];
+    if (sprites.isEmpty()) {
+      batchTextureIds.add(textureId);
+    }
+    return sprites;
+  }
+
+  /**
+   * Gets all textures that have sprites in this batch. Renderers should prefer
+   * {@link #getBatchTextureId(int)}, which does not allocate.
+   *
+   * @return The textures, in the order of their first sprite.
+   */
+  public List<SpriteTexture> getTextures() {
+    List<SpriteTexture> batchTextures = new ArrayList<>(batchTextureIds.size());
+    batchTextureIds.forEach(id -> batchTextures.add(textures[id]));
+    return batchTextures;
+  }
+
+  /**
+   * Gets the id of the texture of a batch.
+   *
+   * @param batch The batch index, below {@link #getBatchCount()}.
+   * @return The texture id.
+   */
+  public int getBatchTextureId(int batch) {
+    return batchTextureIds.get(batch);
+  }
+
+  /**
+   * Gets the packed instances of all sprites using the given texture.
    *
    * @param texture The texture to query.
-   * @return A list of transformation matrices, or an empty list if no sprites use this texture.
+   * @return The sprite instances; empty if no sprites use this texture. Must not be modified.
+   */
+  public SpriteInstances getSpritesForTexture(SpriteTexture texture) {
+    Integer id = textureIds.get(texture);
+    return id == null ? NO_SPRITES : instances[id];
+  }
+
+  /**
+   * Gets the packed instances of all sprites using the texture with the given id.
+   *
+   * @param textureId An id returned by {@link #textureId(SpriteTexture)}.
+   * @return The sprite instances. Must not be modified.
    */
-  public List<Matrix4f> getSpritesForTexture(Texture texture) {
-    return batches.getOrDefault(texture, new ArrayList<>());
+  public SpriteInstances getSprites(int textureId) {
+    return instances[textureId];
   }
 
   /**
@@ -85,8 +256,8 @@ public class SpriteBatch {
    * @param texture The texture to query.
    * @return The number of sprites for this texture.
    */
-  public int getSpriteCount(Texture texture) {
-    return batches.getOrDefault(texture, new ArrayList<>()).size();
+  public int getSpriteCount(SpriteTexture texture) {
+    return getSpritesForTexture(texture).size();
   }
 
   /**
@@ -95,7 +266,11 @@ public class SpriteBatch {
    * @return The total sprite count.
    */
   public int getTotalSpriteCount() {
-    return batches.values().stream().mapToInt(List::size).sum();
+    int total = 0;
+    for (int i = 0; i < batchTextureIds.size(); i++) {
+      total += instances[batchTextureIds.get(i)].size();
+    }
+    return total;
   }
 
   /**
@@ -104,24 +279,47 @@ public class SpriteBatch {
    * @return The number of batches.
    */
   public int getBatchCount() {
-    return batches.size();
+    return batchTextureIds.size();
+  }
+
+  /**
+   * Gets the number of draw calls needed to render this batch, counting the extra draws
+   * of textures with more sprites than the maximum instances per batch.
+   *
+   * @return The number of draw calls.
+   */
+  public int getDrawCallCount() {
+    int drawCalls = 0;
+    for (int i = 0; i < batchTextureIds.size(); i++) {
+      int sprites = instances[batchTextureIds.get(i)].size();
+      drawCalls += (sprites + maxInstancesPerBatch - 1) / maxInstancesPerBatch;
+    }
+    return drawCalls;
   }
 
   /**
    * Checks if any sprites exceed the maximum instances per batch.
-   * This can help detect when batching might not be optimal.
+   * Such textures are split into several draw calls.
    *
    * @return True if any texture has more sprites than the maximum.
    */
   public boolean hasOversizedBatches() {
-    return batches.values().stream().anyMatch(sprites -> sprites.size() > maxInstancesPerBatch);
+    for (int i = 0; i < batchTextureIds.size(); i++) {
+      if (instances[batchTextureIds.get(i)].size() > maxInstancesPerBatch) {
+        return true;
+      }
+    }
+    return false;
   }
 
   /**
-   * Clears all batches, preparing for a new frame.
+   * Clears all batches, preparing for a new frame. The instance lists keep their capacity.
    */
   public void clear() {
-    batches.clear();
+    for (int i = 0; i < batchTextureIds.size(); i++) {
+      instances[batchTextureIds.get(i)].clear();
+    }
+    batchTextureIds.clear();
   }
 
   /**
@@ -130,7 +328,7 @@ public class SpriteBatch {
    * @return True if no sprites have been added.
    */
   public boolean isEmpty() {
-    return batches.isEmpty();
+    return batchTextureIds.isEmpty();
   }
 
   /**
@@ -0,0 +1,211 @@
+package engine.services.rendering;
+
+import org.joml.Matrix4fc;
+import org.joml.Vector4fc;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of sprite instances in the packed layout the sprite shader reads.
+ * <p>
+ * Each instance takes {@value #BYTES} bytes, a quarter of a 4x4 matrix, stored as {@value #WORDS} ints:
+ * <pre>
+ *   0-2  x, y, z (draw layer)                                  3 x float
+ *   3    rotation about z in 1/65536 turns, texture layer      2 x unsigned short
+ *   4    scale x, y                                            2 x half float
+ *   5-6  UV rect u0, v0, u1, v1                                4 x unsigned normalized short
+ *   7    tint r, g, b, a                                       4 x unsigned normalized byte
+ * </pre>
+ * The shader rebuilds the translate-rotate-scale transform from these values. The texture layer
+ * selects the image of a {@link TextureArray} and is 0 for plain textures. Two-component words
+ * keep their first component in the low half, which is the lower address on the little-endian
+ * platforms the engine targets.
+ */
+public class SpriteInstances {
+  /** Ints per instance. */
+  public static final int WORDS = 8;
+  /** Bytes per instance. */
+  public static final int BYTES = WORDS * Integer.BYTES;
+
+  // The UV rect covering the whole texture
+  private static final int FULL_UV_MIN = 0;
+  private static final int FULL_UV_MAX = 0xFFFF_FFFF;
+  private static final double TURNS_PER_RADIAN = 1.0 / (2.0 * Math.PI);
+  private static final float RADIANS_PER_ROTATION_STEP = (float) (2.0 * Math.PI / 65536.0);
+
+  private int[] data;
+  private int size;
+
+  public SpriteInstances() {
+    this(16);
+  }
+
+  public SpriteInstances(int initialCapacity) {
+    this.data = new int[Math.max(1, initialCapacity) * WORDS];
+  }
+
+  /**
+   * Adds an instance covering the whole texture.
+   *
+   * @param rotation rotation about the z axis in radians
+   * @param tint     color multiplied with the texture; components are clamped to [0, 1]
+   */
+  public void add(float x, float y, float z, float rotation, float scaleX, float scaleY, Vector4fc tint) {
+    add(x, y, z, rotation, scaleX, scaleY, 0, FULL_UV_MIN, FULL_UV_MAX, packTint(tint));
+  }
+
+  /**
+   * Adds an instance showing part of a texture, such as one frame of a sprite sheet. UV coordinates
+   * are clamped to [0, 1].
+   *
+   * @param rotation rotation about the z axis in radians
+   * @param u0       left edge of the UV rect
+   * @param v0       bottom edge of the UV rect
+   * @param u1       right edge of the UV rect
+   * @param v1       top edge of the UV rect
+   * @param tint     color multiplied with the texture; components are clamped to [0, 1]
+   */
+  public void add(float x, float y, float z, float rotation, float scaleX, float scaleY,
+                  float u0, float v0, float u1, float v1, Vector4fc tint) {
+    add(x, y, z, rotation, scaleX, scaleY, 0, packUv(u0, v0), packUv(u1, v1), packTint(tint));
+  }
+
+  /**
+   * Adds an instance showing one image of a texture array.
+   *
+   * @param rotation rotation about the z axis in radians
+   * @param layer    the image's layer, which also gives its UV rect
+   * @param tint     color multiplied with the texture; components are clamped to [0, 1]
+   */
+  public void add(float x, float y, float z, float rotation, float scaleX, float scaleY, TextureLayer layer,
+                  Vector4fc tint) {
+    add(x, y, z, rotation, scaleX, scaleY, layer.index(), packUv(layer.minU(), layer.minV()),
+      packUv(layer.maxU(), layer.maxV()), packTint(tint));
+  }
+
+  /**
+   * Adds an instance for a 2D model matrix, decomposed into translation, rotation about z and scale.
+   * Shear is not representable and is dropped.
+   */
+  public void add(Matrix4fc transform, Vector4fc tint) {
+    add(transform, 0, FULL_UV_MIN, FULL_UV_MAX, packTint(tint));
+  }
+
+  /** Adds an instance showing part of a texture for a 2D model matrix; see the rect parameters above. */
+  public void add(Matrix4fc transform, float u0, float v0, float u1, float v1, Vector4fc tint) {
+    add(transform, 0, packUv(u0, v0), packUv(u1, v1), packTint(tint));
+  }
+
+  /** Adds an instance showing one image of a texture array for a 2D model matrix. */
+  public void add(Matrix4fc transform, TextureLayer layer, Vector4fc tint) {
+    add(transform, layer.index(), packUv(layer.minU(), layer.minV()), packUv(layer.maxU(), layer.maxV()),
+      packTint(tint));
+  }
+
+  private void add(Matrix4fc transform, int layer, int uvMin, int uvMax, int tint) {
+    float m00 = transform.m00();
+    float m01 = transform.m01();
+    float m10 = transform.m10();
+    float m11 = transform.m11();
+    float scaleX = (float) Math.sqrt(m00 * m00 + m01 * m01);
+    float scaleY = (float) Math.sqrt(m10 * m10 + m11 * m11);
+    if (m00 * m11 - m01 * m10 < 0) {
+      // Mirrored: keep the rotation of the x axis and flip y
+      scaleY = -scaleY;
+    }
+    add(transform.m30(), transform.m31(), transform.m32(), (float) Math.atan2(m01, m00),
+      scaleX, scaleY, layer, uvMin, uvMax, tint);
+  }
+
+  private void add(float x, float y, float z, float rotation, float scaleX, float scaleY,
+                   int layer, int uvMin, int uvMax, int tint) {
+    int offset = size * WORDS;
+    if (offset == data.length) {
+      data = Arrays.copyOf(data, data.length * 2);
+    }
+    data[offset] = Float.floatToRawIntBits(x);
+    data[offset + 1] = Float.floatToRawIntBits(y);
+    data[offset + 2] = Float.floatToRawIntBits(z);
+    data[offset + 3] = rotationSteps(rotation) | layer << 16;
+    data[offset + 4] = (Float.floatToFloat16(scaleX) & 0xFFFF) | (Float.floatToFloat16(scaleY) << 16);
+    data[offset + 5] = uvMin;
+    data[offset + 6] = uvMax;
+    data[offset + 7] = tint;
+    size++;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void clear() {
+    size = 0;
+  }
+
+  /** The packed instances; the first {@code size() * WORDS} ints are valid. */
+  public int[] data() {
+    return data;
+  }
+
+  public float x(int index) {
+    return Float.intBitsToFloat(data[index * WORDS]);
+  }
+
+  public float y(int index) {
+    return Float.intBitsToFloat(data[index * WORDS + 1]);
+  }
+
+  public float z(int index) {
+    return Float.intBitsToFloat(data[index * WORDS + 2]);
+  }
+
+  /** Rotation as stored, in radians within [0, 2 pi) and rounded to 1/65536 of a turn. */
+  public float rotation(int index) {
+    return (data[index * WORDS + 3] & 0xFFFF) * RADIANS_PER_ROTATION_STEP;
+  }
+
+  public int layer(int index) {
+    return data[index * WORDS + 3] >>> 16;
+  }
+
+  /** Scale x as stored, rounded to half precision. */
+  public float scaleX(int index) {
+    return Float.float16ToFloat((short) data[index * WORDS + 4]);
+  }
+
+  /** Scale y as stored, rounded to half precision. */
+  public float scaleY(int index) {
+    return Float.float16ToFloat((short) (data[index * WORDS + 4] >>> 16));
+  }
+
+  /** The tint packed as RGBA8, red in the low byte. */
+  public int tint(int index) {
+    return data[index * WORDS + 7];
+  }
+
+  // The angle as a fraction of a full turn, wrapped into [0, 1) and scaled to 16 bits
+  private static int rotationSteps(float radians) {
+    double turns = radians * TURNS_PER_RADIAN;
+    return (int) Math.round((turns - Math.floor(turns)) * 65536.0) & 0xFFFF;
+  }
+
+  private static int packUv(float u, float v) {
+    return unorm16(u) | unorm16(v) << 16;
+  }
+
+  private static int unorm16(float value) {
+    return Math.round(Math.clamp(value, 0f, 1f) * 65535f);
+  }
+
+  private static int packTint(Vector4fc tint) {
+    return unorm8(tint.x()) | unorm8(tint.y()) << 8 | unorm8(tint.z()) << 16 | unorm8(tint.w()) << 24;
+  }
+
+  private static int unorm8(float value) {
+    return Math.round(Math.clamp(value, 0f, 1f) * 255f);
+  }
+}
@@ -1,7 +1,9 @@
 package engine.services.rendering;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -10,6 +12,9 @@ import java.util.Objects;
  * <p>
  * A sprite sheet is a single texture that contains multiple sprite images arranged in a grid.
  * This class manages the texture and provides access to individual sprite regions by name.
+ * Each region also gets a stable index in the order it was added, so per-frame code can resolve
+ * regions through {@link #getRegion(int)} instead of a string lookup, and draw them with the UV rect
+ * from {@link #getRegionUvRect(int)}.
  * <p>
  * Example usage:
  * <pre>
@@ -22,6 +27,10 @@ public class SpriteSheet {
 
   private final Texture texture;
   private final Map<String, SpriteSheetRegion> regions;
+  private final Map<String, Integer> regionIndices;
+  private final List<SpriteSheetRegion> indexedRegions;
+  // u0, v0, u1, v1 of each indexed region
+  private final List<float[]> indexedUvRects;
 
   /**
    * Creates a new sprite sheet with the given texture.
@@ -31,10 +40,13 @@ public class SpriteSheet {
   public SpriteSheet(Texture texture) {
     this.texture = Objects.requireNonNull(texture, "texture must not be null");
     this.regions = new HashMap<>();
+    this.regionIndices = new HashMap<>();
+    this.indexedRegions = new ArrayList<>();
+    this.indexedUvRects = new ArrayList<>();
   }
 
   /**
-   * Adds a named region to this sprite sheet.
+   * Adds a named region to this sprite sheet. Replacing a region keeps its index.
    *
    * @param name The unique name for this region
    * @param region The region coordinates within the sprite sheet
@@ -44,6 +56,15 @@ public class SpriteSheet {
     Objects.requireNonNull(name, "region name must not be null");
     Objects.requireNonNull(region, "region must not be null");
     regions.put(name, region);
+    Integer index = regionIndices.get(name);
+    if (index != null) {
+      indexedRegions.set(index, region);
+      indexedUvRects.set(index, uvRect(region));
+    } else {
+      regionIndices.put(name, indexedRegions.size());
+      indexedRegions.add(region);
+      indexedUvRects.add(uvRect(region));
+    }
     return this;
   }
 
@@ -57,6 +78,48 @@ public class SpriteSheet {
     return regions.get(name);
   }
 
+  /**
+   * Gets the index of a region by name.
+   *
+   * @param name The name of the region
+   * @return The region index, or -1 if not found
+   */
+  public int getRegionIndex(String name) {
+    Integer index = regionIndices.get(name);
+    return index != null ? index : -1;
+  }
+
+  /**
+   * Gets a region by index.
+   *
+   * @param index The region index, as returned by {@link #getRegionIndex(String)}
+   * @return The sprite sheet region
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public SpriteSheetRegion getRegion(int index) {
+    return indexedRegions.get(index);
+  }
+
+  /**
+   * Gets the UV rect of a region in the texture's bottom-up orientation, as sprites are drawn with it.
+   *
+   * @param index The region index, as returned by {@link #getRegionIndex(String)}
+   * @return u0, v0, u1, v1; shared, must not be modified
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public float[] getRegionUvRect(int index) {
+    return indexedUvRects.get(index);
+  }
+
+  /**
+   * Gets the number of regions in this sprite sheet.
+   *
+   * @return The region count
+   */
+  public int getRegionCount() {
+    return indexedRegions.size();
+  }
+
   /**
    * Gets the underlying texture.
    *
@@ -84,4 +147,17 @@ public class SpriteSheet {
   public boolean hasRegion(String name) {
     return regions.containsKey(name);
   }
+
+  // Regions are measured from the top-left corner, while textures are flipped on load to OpenGL's
+  // bottom-up orientation, so v runs the other way
+  private float[] uvRect(SpriteSheetRegion region) {
+    float width = texture.getWidth();
+    float height = texture.getHeight();
+    return new float[]{
+      region.x() / width,
+      1f - (region.y() + region.height()) / height,
+      (region.x() + region.width()) / width,
+      1f - region.y() / height
+    };
+  }
 }
@@ -0,0 +1,18 @@
+package engine.services.rendering;
+
+/**
+ * A GPU texture that sprites can be batched by: a plain {@link Texture}, or a {@link TextureArray}
+ * whose sprites each pick a layer.
+ */
+public interface SpriteTexture {
+
+  /**
+   * Binds the texture to the specified texture unit.
+   *
+   * @param textureUnit The texture unit to activate (e.g., 0 for GL_TEXTURE0).
+   */
+  void bind(int textureUnit);
+
+  /** True for a {@code GL_TEXTURE_2D_ARRAY}, which the sprite shader samples with a layer index. */
+  boolean isLayered();
+}
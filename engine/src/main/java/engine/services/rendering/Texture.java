@@ -34,7 +34,7 @@ import static org.lwjgl.stb.STBImage.stbi_set_flip_vertically_on_load;
  * from a file using STB. It is an AutoCloseable resource that must be managed
  * by a ResourceManager.
  */
-public class Texture implements AutoCloseable {
+public class Texture implements SpriteTexture, AutoCloseable {
   private final int textureId;
   private final int width;
   private final int height;
@@ -110,16 +110,30 @@ public class Texture implements AutoCloseable {
     glBindTexture(GL_TEXTURE_2D, 0);
   }
 
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
   /**
    * Binds the texture to the specified texture unit.
    *
    * @param textureUnit The texture unit to activate (e.g., 0 for GL_TEXTURE0).
    */
+  @Override
   public void bind(int textureUnit) {
     glActiveTexture(GL_TEXTURE0 + textureUnit);
     glBindTexture(GL_TEXTURE_2D, textureId);
   }
 
+  @Override
+  public boolean isLayered() {
+    return false;
+  }
+
   /**
    * Unbinds the texture from the currently active texture unit.
    */
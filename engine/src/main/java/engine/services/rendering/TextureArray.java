@@ -0,0 +1,203 @@
+package engine.services.rendering;
+
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.lwjgl.opengl.GL11.GL_NEAREST;
+import static org.lwjgl.opengl.GL11.GL_RGBA;
+import static org.lwjgl.opengl.GL11.GL_RGBA8;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_MAG_FILTER;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_MIN_FILTER;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_WRAP_S;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_WRAP_T;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE;
+import static org.lwjgl.opengl.GL11.glBindTexture;
+import static org.lwjgl.opengl.GL11.glDeleteTextures;
+import static org.lwjgl.opengl.GL11.glGenTextures;
+import static org.lwjgl.opengl.GL11.glGetInteger;
+import static org.lwjgl.opengl.GL11.glTexParameteri;
+import static org.lwjgl.opengl.GL12.GL_CLAMP_TO_EDGE;
+import static org.lwjgl.opengl.GL12.glTexImage3D;
+import static org.lwjgl.opengl.GL12.glTexSubImage3D;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
+import static org.lwjgl.opengl.GL13.glActiveTexture;
+import static org.lwjgl.opengl.GL30.GL_MAX_ARRAY_TEXTURE_LAYERS;
+import static org.lwjgl.opengl.GL30.GL_TEXTURE_2D_ARRAY;
+import static org.lwjgl.stb.STBImage.stbi_failure_reason;
+import static org.lwjgl.stb.STBImage.stbi_image_free;
+import static org.lwjgl.stb.STBImage.stbi_load_from_memory;
+import static org.lwjgl.stb.STBImage.stbi_set_flip_vertically_on_load;
+
+/**
+ * A {@code GL_TEXTURE_2D_ARRAY} holding several images, one per layer.
+ * <p>
+ * All layers share the size of the largest image; smaller images are placed in the lower left corner
+ * of their layer and padded with transparent pixels. Sprites using any of the layers are batched
+ * together and drawn in a single instanced draw, each instance carrying its layer index and the UV
+ * rect of its image (see {@link TextureLayer}). Layers are not mipmapped so the padding cannot bleed
+ * into the images.
+ */
+public class TextureArray implements SpriteTexture, AutoCloseable {
+  // Layer indices are packed into 16 bits of each sprite instance
+  private static final int MAX_LAYERS = 1 << 16;
+
+  private final int textureId;
+  private final int width;
+  private final int height;
+  private final int[] layerWidths;
+  private final int[] layerHeights;
+
+  /**
+   * Creates a texture array from raw pixel data of equally sized layers.
+   *
+   * @param width  The width of every layer.
+   * @param height The height of every layer.
+   * @param layers ByteBuffers containing the raw RGBA pixel data of each layer.
+   */
+  public TextureArray(int width, int height, List<ByteBuffer> layers) {
+    this.width = width;
+    this.height = height;
+    this.layerWidths = new int[layers.size()];
+    this.layerHeights = new int[layers.size()];
+    Arrays.fill(layerWidths, width);
+    Arrays.fill(layerHeights, height);
+    this.textureId = upload(layers);
+  }
+
+  /**
+   * Loads a texture array from in-memory image buffers, one layer per image.
+   *
+   * @param imageBuffers ByteBuffers containing the raw image file data (e.g., PNG or JPG).
+   */
+  public TextureArray(List<ByteBuffer> imageBuffers) {
+    int count = imageBuffers.size();
+    this.layerWidths = new int[count];
+    this.layerHeights = new int[count];
+    List<ByteBuffer> decodedImages = new ArrayList<>(count);
+    try {
+      try (MemoryStack stack = MemoryStack.stackPush()) {
+        IntBuffer w = stack.mallocInt(1);
+        IntBuffer h = stack.mallocInt(1);
+        IntBuffer channels = stack.mallocInt(1);
+
+        // Flip like Texture does, so the images share OpenGL's bottom-up orientation
+        stbi_set_flip_vertically_on_load(true);
+        for (int layer = 0; layer < count; layer++) {
+          ByteBuffer decodedImage = stbi_load_from_memory(imageBuffers.get(layer), w, h, channels, 4);
+          if (decodedImage == null) {
+            throw new RuntimeException("Failed to load texture array layer " + layer + " from memory! Reason: "
+              + stbi_failure_reason());
+          }
+          decodedImages.add(decodedImage);
+          layerWidths[layer] = w.get(0);
+          layerHeights[layer] = h.get(0);
+        }
+      }
+      this.width = Arrays.stream(layerWidths).max().orElse(0);
+      this.height = Arrays.stream(layerHeights).max().orElse(0);
+      this.textureId = upload(decodedImages);
+    } finally {
+      decodedImages.forEach(image -> stbi_image_free(image));
+    }
+  }
+
+  private int upload(List<ByteBuffer> layers) {
+    int count = layers.size();
+    if (count == 0) {
+      throw new IllegalArgumentException("A texture array needs at least one layer");
+    }
+    int maxLayers = Math.min(MAX_LAYERS, glGetInteger(GL_MAX_ARRAY_TEXTURE_LAYERS));
+    if (count > maxLayers) {
+      throw new IllegalArgumentException("Texture array has " + count + " layers; at most " + maxLayers
+        + " are supported");
+    }
+
+    int id = glGenTextures();
+    glBindTexture(GL_TEXTURE_2D_ARRAY, id);
+    glTexParameteri(GL_TEXTURE_2D_ARRAY, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+    glTexParameteri(GL_TEXTURE_2D_ARRAY, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+    // Use nearest neighbor filtering for sharp, pixelated sprites
+    glTexParameteri(GL_TEXTURE_2D_ARRAY, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+    glTexParameteri(GL_TEXTURE_2D_ARRAY, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+    glTexImage3D(GL_TEXTURE_2D_ARRAY, 0, GL_RGBA8, width, height, count, 0, GL_RGBA, GL_UNSIGNED_BYTE,
+      (ByteBuffer) null);
+
+    ByteBuffer transparent = null;
+    try {
+      for (int layer = 0; layer < count; layer++) {
+        if (layerWidths[layer] < width || layerHeights[layer] < height) {
+          // Storage starts out undefined, so clear the padding of smaller images
+          if (transparent == null) {
+            transparent = MemoryUtil.memCalloc(width * height * 4);
+          }
+          glTexSubImage3D(GL_TEXTURE_2D_ARRAY, 0, 0, 0, layer, width, height, 1, GL_RGBA, GL_UNSIGNED_BYTE,
+            transparent);
+        }
+        glTexSubImage3D(GL_TEXTURE_2D_ARRAY, 0, 0, 0, layer, layerWidths[layer], layerHeights[layer], 1,
+          GL_RGBA, GL_UNSIGNED_BYTE, layers.get(layer));
+      }
+    } finally {
+      MemoryUtil.memFree(transparent);
+    }
+
+    glBindTexture(GL_TEXTURE_2D_ARRAY, 0);
+    return id;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  public int getLayerCount() {
+    return layerWidths.length;
+  }
+
+  /**
+   * Describes one layer's image.
+   *
+   * @param index The layer index.
+   * @return The layer, with the UV rect its image covers.
+   */
+  public TextureLayer layer(int index) {
+    return new TextureLayer(this, index, 0f, 0f,
+      (float) layerWidths[index] / width, (float) layerHeights[index] / height);
+  }
+
+  /**
+   * Binds the texture array to the specified texture unit.
+   *
+   * @param textureUnit The texture unit to activate (e.g., 0 for GL_TEXTURE0).
+   */
+  @Override
+  public void bind(int textureUnit) {
+    glActiveTexture(GL_TEXTURE0 + textureUnit);
+    glBindTexture(GL_TEXTURE_2D_ARRAY, textureId);
+  }
+
+  @Override
+  public boolean isLayered() {
+    return true;
+  }
+
+  /**
+   * Unbinds the texture array from the currently active texture unit.
+   */
+  public void unbind() {
+    glBindTexture(GL_TEXTURE_2D_ARRAY, 0);
+  }
+
+  @Override
+  public void close() {
+    glDeleteTextures(textureId);
+  }
+}
@@ -0,0 +1,15 @@
+package engine.services.rendering;
+
+/**
+ * One image of a {@link TextureArray} and the UV rect it covers within its layer. Images loaded into
+ * an array sit in the lower left corner of their layer, from (0, 0) to ({@code maxU}, {@code maxV}).
+ *
+ * @param array The array holding the image.
+ * @param index The layer index.
+ * @param minU  The left edge of the image as a fraction of the array width.
+ * @param minV  The bottom edge of the image as a fraction of the array height.
+ * @param maxU  The right edge of the image as a fraction of the array width.
+ * @param maxV  The top edge of the image as a fraction of the array height.
+ */
+public record TextureLayer(TextureArray array, int index, float minU, float minV, float maxU, float maxV) {
+}
@@ -91,7 +91,13 @@ public class Shader implements AutoCloseable {
 
   private int getUniformLocation(String name) {
     // Memoization: Look up the location once and cache it for future frames.
-    return uniforms.computeIfAbsent(name, n -> glGetUniformLocation(programId, n));
+    // A plain get keeps the per-frame path free of the capturing lambda computeIfAbsent would need
+    Integer location = uniforms.get(name);
+    if (location == null) {
+      location = glGetUniformLocation(programId, name);
+      uniforms.put(name, location);
+    }
+    return location;
   }
 
   private int createShader(String shaderSource, int shaderType) {
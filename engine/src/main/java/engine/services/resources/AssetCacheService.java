@@ -3,13 +3,19 @@ package engine.services.resources;
 import engine.IService;
 import engine.services.audio.AudioBuffer;
 import engine.services.rendering.Mesh;
+import engine.services.rendering.SpriteAnimation;
+import engine.services.rendering.SpriteSheet;
 import engine.services.rendering.Texture;
+import engine.services.rendering.TextureArray;
+import engine.services.rendering.TextureLayer;
 import engine.services.rendering.gl.Shader;
 import jakarta.annotation.PreDestroy;
 import jakarta.inject.Singleton;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -18,8 +24,13 @@ public class AssetCacheService implements IService {
 
   private final Map<String, Mesh> meshCache = new HashMap<>();
   private final Map<String, Texture> textureCache = new HashMap<>();
+  private final Map<String, TextureArray> textureArrayCache = new HashMap<>();
+  private final Map<String, List<String>> textureArrayLayerHandles = new HashMap<>();
+  private final Map<String, TextureLayer> textureLayerCache = new HashMap<>();
   private final Map<String, Shader> shaderCache = new HashMap<>();
   private final Map<String, AudioBuffer> audioBufferCache = new HashMap<>();
+  private final Map<String, SpriteSheet> spriteSheetCache = new HashMap<>();
+  private final Map<String, Map<String, SpriteAnimation>> spriteAnimationCache = new HashMap<>();
 
 
   @Override
@@ -81,6 +92,65 @@ public class AssetCacheService implements IService {
     return textureCache.computeIfAbsent(handle, h -> AssetLoaderUtility.loadTexture(filePath));
   }
 
+  /**
+   * Loads images into one texture array, stores it, and returns it. Each image becomes a layer that
+   * sprites can refer to by its own handle, see {@link #findTextureLayer(String)}.
+   * If the texture array is already cached, returns the existing instance.
+   *
+   * @param handle               The unique handle for this texture array.
+   * @param texturePathsByHandle The classpath paths to the image files by layer handle, in layer order.
+   * @return The cached or newly loaded TextureArray.
+   */
+  public TextureArray loadTextureArray(String handle, Map<String, String> texturePathsByHandle) {
+    TextureArray textureArray = textureArrayCache.get(handle);
+    if (textureArray == null) {
+      textureArray = AssetLoaderUtility.loadTextureArray(new ArrayList<>(texturePathsByHandle.values()));
+      addTextureArray(handle, textureArray, new ArrayList<>(texturePathsByHandle.keySet()));
+    }
+    return textureArray;
+  }
+
+  /**
+   * Adds a pre-existing TextureArray to the cache, replacing and closing any array with the same handle.
+   *
+   * @param handle       The unique handle for this texture array.
+   * @param textureArray The TextureArray object to cache.
+   * @param layerHandles The handles of its layers, in layer order.
+   */
+  public void addTextureArray(String handle, TextureArray textureArray, List<String> layerHandles) {
+    if (layerHandles.size() > textureArray.getLayerCount()) {
+      throw new IllegalArgumentException("Texture array " + handle + " has " + textureArray.getLayerCount()
+        + " layers but " + layerHandles.size() + " layer handles");
+    }
+    TextureArray replaced = textureArrayCache.put(handle, textureArray);
+    if (replaced != null) {
+      textureArrayLayerHandles.remove(handle).forEach(textureLayerCache::remove);
+      if (replaced != textureArray) {
+        replaced.close();
+      }
+    }
+    textureArrayLayerHandles.put(handle, List.copyOf(layerHandles));
+    for (int i = 0; i < layerHandles.size(); i++) {
+      textureLayerCache.put(layerHandles.get(i), textureArray.layer(i));
+    }
+  }
+
+  public TextureArray resolveTextureArrayHandle(String handle) {
+    TextureArray textureArray = textureArrayCache.get(handle);
+    Objects.requireNonNull(textureArray, "TextureArray not found: " + handle);
+    return textureArray;
+  }
+
+  /**
+   * Looks up the texture array layer holding an image.
+   *
+   * @param handle The image's handle.
+   * @return The layer, or null if the image was not loaded into a texture array.
+   */
+  public TextureLayer findTextureLayer(String handle) {
+    return textureLayerCache.get(handle);
+  }
+
   /**
    * Loads a shader program from two files, stores it, and returns it.
    * If the shader is already cached, returns the existing instance.
@@ -145,6 +215,53 @@ public class AssetCacheService implements IService {
     return audioBuffer;
   }
 
+  /**
+   * Loads a sprite sheet and its animations from a YAML file, stores them, and returns the sheet.
+   * If the sprite sheet is already cached, returns the existing instance.
+   *
+   * @param handle   The unique handle for this sprite sheet; its texture is cached under the same handle.
+   * @param yamlPath The classpath path to the sprite sheet YAML file.
+   * @return The cached or newly loaded SpriteSheet.
+   */
+  public SpriteSheet loadSpriteSheet(String handle, String yamlPath) {
+    SpriteSheet spriteSheet = spriteSheetCache.get(handle);
+    if (spriteSheet == null) {
+      spriteSheet = SpriteSheetLoader.loadSpriteSheet(yamlPath);
+      addSpriteSheet(handle, spriteSheet, SpriteSheetLoader.loadAnimations(yamlPath));
+    }
+    return spriteSheet;
+  }
+
+  /**
+   * Adds a pre-existing SpriteSheet and its animations to the cache, replacing any sheet with the same
+   * handle. The sheet's texture is cached under the same handle, which makes the cache own it.
+   *
+   * @param handle      The unique handle for this sprite sheet.
+   * @param spriteSheet The SpriteSheet object to cache.
+   * @param animations  The animations playing this sheet's regions, by name.
+   */
+  public void addSpriteSheet(String handle, SpriteSheet spriteSheet, Map<String, SpriteAnimation> animations) {
+    if (textureCache.get(handle) != spriteSheet.getTexture()) {
+      addTexture(handle, spriteSheet.getTexture());
+    }
+    spriteSheetCache.put(handle, spriteSheet);
+    spriteAnimationCache.put(handle, new HashMap<>(animations));
+  }
+
+  public SpriteSheet resolveSpriteSheetHandle(String handle) {
+    SpriteSheet spriteSheet = spriteSheetCache.get(handle);
+    Objects.requireNonNull(spriteSheet, "SpriteSheet not found: " + handle);
+    return spriteSheet;
+  }
+
+  public SpriteAnimation resolveSpriteAnimation(String spriteSheetHandle, String animationName) {
+    Map<String, SpriteAnimation> animations = spriteAnimationCache.get(spriteSheetHandle);
+    Objects.requireNonNull(animations, "SpriteSheet not found: " + spriteSheetHandle);
+    SpriteAnimation animation = animations.get(animationName);
+    Objects.requireNonNull(animation, "SpriteAnimation not found: " + spriteSheetHandle + "/" + animationName);
+    return animation;
+  }
+
   /**
    * Frees all managed resources. This iterates through all cached assets
    * and calls their respective close() methods to release native resources.
@@ -157,10 +274,19 @@ public class AssetCacheService implements IService {
     textureCache.values().forEach(Texture::close);
     textureCache.clear();
 
+    textureArrayCache.values().forEach(TextureArray::close);
+    textureArrayCache.clear();
+    textureArrayLayerHandles.clear();
+    textureLayerCache.clear();
+
     shaderCache.values().forEach(Shader::close);
     shaderCache.clear();
 
     audioBufferCache.values().forEach(AudioBuffer::close);
     audioBufferCache.clear();
+
+    // Sprite sheet textures are owned by the texture cache
+    spriteSheetCache.clear();
+    spriteAnimationCache.clear();
   }
 }
@@ -1,6 +1,7 @@
 package engine.services.resources;
 
 import engine.services.rendering.Texture;
+import engine.services.rendering.TextureArray;
 import engine.services.rendering.gl.Shader;
 import org.lwjgl.BufferUtils;
 
@@ -10,6 +11,8 @@ import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 public class AssetLoaderUtility {
 
@@ -42,6 +45,24 @@ public class AssetLoaderUtility {
     }
   }
 
+  /**
+   * Loads image files from the classpath into one texture array, one layer per image.
+   *
+   * @param filePaths The classpath resource paths to the image files, in layer order.
+   * @return A new TextureArray object.
+   */
+  public static TextureArray loadTextureArray(List<String> filePaths) {
+    List<ByteBuffer> imageBuffers = new ArrayList<>(filePaths.size());
+    for (String filePath : filePaths) {
+      try {
+        imageBuffers.add(readResourceToByteBuffer(filePath));
+      } catch (IOException e) {
+        throw new RuntimeException("Failed to load texture resource: " + filePath, e);
+      }
+    }
+    return new TextureArray(imageBuffers);
+  }
+
   /**
    * Recursively loads a shader source file, processing #include directives.
    *
@@ -6,6 +6,7 @@ import java.util.List;
 
 public record AssetManifest(
   @JsonProperty("textures") List<TextureDefinition> textures,
+  @JsonProperty("textureArrays") List<TextureArrayDefinition> textureArrays,
   @JsonProperty("meshes") List<MeshDefinition> meshes,
   @JsonProperty("audioBuffers") List<AudioBufferDefinition> audioBuffers
 ) {
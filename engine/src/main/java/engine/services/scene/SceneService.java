@@ -3,8 +3,10 @@ package engine.services.scene;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import engine.IService;
 import engine.services.resources.AssetCacheService;
+import engine.services.world.ComponentCopiers;
 import engine.services.world.ComponentRegistry;
 import engine.services.world.IComponent;
+import engine.services.world.Prefab;
 import engine.services.world.WorldService;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -12,7 +14,10 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
 
 @Slf4j
 @Singleton
@@ -22,6 +27,7 @@ public class SceneService implements IService {
   private final WorldService worldService;
   private final AssetCacheService resourceManager;
   private final ComponentRegistry componentRegistry;
+  private final Map<String, Prefab> prefabs = new ConcurrentHashMap<>();
 
   @Inject
   public SceneService(
@@ -41,7 +47,7 @@ public class SceneService implements IService {
 
   public void load(String path) {
     log.debug("Loading scene: {}", path);
-    worldService.getEntitiesWith().forEach(worldService::destroyEntity);
+    worldService.clear();
 
     try (InputStream sceneStream = SceneService.class.getResourceAsStream(path)) {
       if (sceneStream == null) {
@@ -52,27 +58,57 @@ public class SceneService implements IService {
 
       loadAssets(scene.manifest());
 
+      prefabs.clear();
       for (EntityTemplate template : scene.entities()) {
-        int entity = worldService.createEntity();
-        log.debug("creating entity {} with id {}", template.name(), entity);
-
-        for (Map.Entry<String, Object> componentEntity : template.components().entrySet()) {
-          String componentName = componentEntity.getKey();
-          Class<?> componentClass = componentRegistry.getComponentClass(componentName);
-
-          if (componentClass != null) {
-            Object component = MAPPER.convertValue(componentEntity.getValue(), componentClass);
-            worldService.addComponent(entity, component);
-          } else {
-            log.warn("Unknown component type \'{}\' for entity \'{}\'", componentName, template.name());
-          }
+        Prefab prefab = createPrefab(template);
+        if (template.name() != null) {
+          prefabs.put(template.name(), prefab);
         }
+        int entity = worldService.instantiate(prefab, 1)[0];
+        log.debug("creating entity {} with id {}", template.name(), entity);
       }
     } catch (Exception e) {
       log.error("Failed to load scene {}", path, e);
     }
   }
 
+  /**
+   * The prefab built from the entity template with the given name in the last loaded scene, or null.
+   * Instantiate it through {@link WorldService#instantiate} to spawn more such entities.
+   */
+  public Prefab getPrefab(String name) {
+    return prefabs.get(name);
+  }
+
+  /**
+   * Converts the template's components once into prototype instances. Instantiating the prefab copies
+   * the prototypes instead of converting the scene data again for every entity.
+   */
+  public Prefab createPrefab(EntityTemplate template) {
+    Prefab prefab = new Prefab(template.name());
+    for (Map.Entry<String, Object> componentEntity : template.components().entrySet()) {
+      String componentName = componentEntity.getKey();
+      Class<?> componentClass = componentRegistry.getComponentClass(componentName);
+
+      if (componentClass != null) {
+        addPrototype(prefab, componentClass, componentEntity.getValue());
+      } else {
+        log.warn("Unknown component type \'{}\' for entity \'{}\'", componentName, template.name());
+      }
+    }
+    return prefab;
+  }
+
+  private static <T> void addPrototype(Prefab prefab, Class<T> componentClass, Object data) {
+    T prototype = MAPPER.convertValue(data, componentClass);
+    UnaryOperator<T> copier = ComponentCopiers.forType(componentClass);
+    if (copier == null) {
+      // No direct copy is known for the type; rebuild every instance from the scene data as before
+      copier = ignored -> MAPPER.convertValue(data, componentClass);
+    }
+    prefab.with(prototype, copier);
+  }
+
   private void loadAssets(AssetManifest manifest) {
     if (manifest == null) {
       return;
@@ -85,6 +121,16 @@ public class SceneService implements IService {
       }
     }
 
+    if (manifest.textureArrays() != null) {
+      for (TextureArrayDefinition arrayDef : manifest.textureArrays()) {
+        Map<String, String> texturePaths = new LinkedHashMap<>();
+        for (TextureDefinition textureDef : arrayDef.textures()) {
+          texturePaths.put(textureDef.handle(), textureDef.path());
+        }
+        resourceManager.loadTextureArray(arrayDef.handle(), texturePaths);
+      }
+    }
+
     if (manifest.meshes() != null) {
       for (MeshDefinition meshDef : manifest.meshes()) {
         resourceManager.loadProceduralMesh(meshDef.handle(), meshDef.vertices(), meshDef.indices());
@@ -0,0 +1,12 @@
+package engine.services.scene;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record TextureArrayDefinition(
+  @JsonProperty("handle") String handle,
+  @JsonProperty("textures") List<TextureDefinition> textures
+) {
+
+}
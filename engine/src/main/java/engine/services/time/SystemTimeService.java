@@ -2,16 +2,36 @@ package engine.services.time;
 
 
 import engine.IService;
+import io.micronaut.context.ApplicationContext;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.Getter;
 
+/**
+ * Measures frame time and, when a fixed simulation rate is configured, accumulates it into whole
+ * fixed steps.
+ * <p>
+ * Each frame {@link #getFixedSteps()} tells how many fixed steps of {@link #getFixedDeltaSeconds()}
+ * the simulation should advance, and {@link #getInterpolationAlpha()} how far the frame lies between
+ * the last two simulated states. At most {@link #MAX_FIXED_STEPS_PROPERTY} steps run per frame; time
+ * beyond that is dropped so a slow frame cannot make the next one slower still.
+ */
 @Singleton
 public class SystemTimeService implements IService {
+  /** Property setting the simulation rate in Hz; 0 disables the fixed timestep. */
+  public static final String FIXED_RATE_PROPERTY = "engine.loop.fixed-rate";
+  /** Property capping the fixed steps run in a single frame. */
+  public static final String MAX_FIXED_STEPS_PROPERTY = "engine.loop.max-fixed-steps";
 
   private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+  private static final int DEFAULT_MAX_FIXED_STEPS = 5;
+
+  private final double fixedDelta;
+  private final int maxFixedSteps;
 
   private long startTimeNanos;
   private long lastFrameNanos;
+  private double accumulator;
 
   @Getter
   private float deltaTimeSeconds;
@@ -19,6 +39,43 @@ public class SystemTimeService implements IService {
   @Getter
   private double totalTimeSeconds;
 
+  /**
+   * Time simulated so far: advanced by one fixed delta per {@link #fixedUpdate(float) fixed step}, so
+   * every step of a frame sees its own time. Follows {@link #getTotalTimeSeconds()} when the fixed
+   * timestep is disabled.
+   */
+  @Getter
+  private double simulationTimeSeconds;
+
+  /** Fixed steps to simulate this frame; always 0 when the fixed timestep is disabled. */
+  @Getter
+  private int fixedSteps;
+
+  /** Fraction of a fixed step left in the accumulator; 1 when the fixed timestep is disabled. */
+  @Getter
+  private float interpolationAlpha = 1f;
+
+  @Inject
+  public SystemTimeService(ApplicationContext applicationContext) {
+    this(applicationContext.getProperty(FIXED_RATE_PROPERTY, Double.class).orElse(0.0),
+      applicationContext.getProperty(MAX_FIXED_STEPS_PROPERTY, Integer.class).orElse(DEFAULT_MAX_FIXED_STEPS));
+  }
+
+  /**
+   * @param fixedRateHz   simulation rate in Hz, or 0 for a variable timestep
+   * @param maxFixedSteps most fixed steps run in a single frame
+   */
+  public SystemTimeService(double fixedRateHz, int maxFixedSteps) {
+    if (fixedRateHz < 0) {
+      throw new IllegalArgumentException("Fixed rate must not be negative: " + fixedRateHz);
+    }
+    if (maxFixedSteps < 1) {
+      throw new IllegalArgumentException("Max fixed steps must be at least 1: " + maxFixedSteps);
+    }
+    this.fixedDelta = fixedRateHz > 0 ? 1.0 / fixedRateHz : 0;
+    this.maxFixedSteps = maxFixedSteps;
+  }
+
   @Override
   public int executionOrder() {
     return 10;
@@ -36,11 +93,53 @@ public class SystemTimeService implements IService {
 
     // Update last frame time for the next iteration
     lastFrameNanos = currentFrameNanos;
+
+    if (!isFixedTimestep()) {
+      simulationTimeSeconds = totalTimeSeconds;
+    }
+
+    accumulate(deltaTimeSeconds);
   }
 
   @Override
   public void start() {
     startTimeNanos = System.nanoTime();
     lastFrameNanos = startTimeNanos;
+    accumulator = 0;
+    simulationTimeSeconds = 0;
+  }
+
+  @Override
+  public void fixedUpdate(float fixedDt) {
+    // Runs before the world's fixed update, so systems see the time of the step they simulate
+    simulationTimeSeconds += fixedDelta;
+  }
+
+  /** true if the simulation advances in fixed steps. */
+  public boolean isFixedTimestep() {
+    return fixedDelta > 0;
+  }
+
+  /** Length of one fixed step in seconds; 0 when the fixed timestep is disabled. */
+  public float getFixedDeltaSeconds() {
+    return (float) fixedDelta;
+  }
+
+  /** Adds a frame's elapsed time and derives this frame's fixed steps and interpolation alpha. */
+  void accumulate(double elapsedSeconds) {
+    if (!isFixedTimestep()) {
+      return;
+    }
+    accumulator += elapsedSeconds;
+    int steps = (int) (accumulator / fixedDelta);
+    if (steps > maxFixedSteps) {
+      // Spiral-of-death clamp: drop the backlog instead of catching up over later frames
+      steps = maxFixedSteps;
+      accumulator = accumulator % fixedDelta;
+    } else {
+      accumulator -= steps * fixedDelta;
+    }
+    fixedSteps = steps;
+    interpolationAlpha = (float) Math.min(1.0, accumulator / fixedDelta);
   }
 }
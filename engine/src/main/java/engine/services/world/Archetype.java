@@ -0,0 +1,128 @@
+package engine.services.world;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All entities sharing one exact set of component types, stored row by row in fixed-size chunks.
+ * Rows are kept packed: removing a row moves the archetype's last row into the hole.
+ */
+final class Archetype {
+  static final int CHUNK_SHIFT = 8;
+  static final int CHUNK_CAPACITY = 1 << CHUNK_SHIFT;
+  private static final int CHUNK_MASK = CHUNK_CAPACITY - 1;
+
+  private final Class<?>[] types;
+  private final long[] signature;
+  private final int[] columnByTypeId;
+  private final List<ArchetypeChunk> chunks = new ArrayList<>();
+  private int size;
+
+  // Cached transitions to the archetype with one more / one fewer component type
+  final Map<Class<?>, Archetype> addEdges = new IdentityHashMap<>();
+  final Map<Class<?>, Archetype> removeEdges = new IdentityHashMap<>();
+
+  Archetype(Class<?>[] types) {
+    this.types = types;
+    this.signature = ComponentType.mask(types);
+
+    int maxTypeId = -1;
+    for (Class<?> type : types) {
+      maxTypeId = Math.max(maxTypeId, ComponentType.id(type));
+    }
+    this.columnByTypeId = new int[maxTypeId + 1];
+    Arrays.fill(columnByTypeId, -1);
+    for (int i = 0; i < types.length; i++) {
+      columnByTypeId[ComponentType.id(types[i])] = i;
+    }
+  }
+
+  Class<?>[] types() {
+    return types;
+  }
+
+  int size() {
+    return size;
+  }
+
+  List<ArchetypeChunk> chunks() {
+    return chunks;
+  }
+
+  long[] signature() {
+    return signature;
+  }
+
+  /** Column index of the type, or -1 if entities of this archetype do not have it. */
+  int column(Class<?> type) {
+    int typeId = ComponentType.id(type);
+    return typeId < columnByTypeId.length ? columnByTypeId[typeId] : -1;
+  }
+
+  /** Appends an empty row for the entity and returns its row index. */
+  int append(int entityId) {
+    int row = size++;
+    int chunkIndex = row >>> CHUNK_SHIFT;
+    if (chunkIndex == chunks.size()) {
+      chunks.add(new ArchetypeChunk(types, CHUNK_CAPACITY));
+    }
+    ArchetypeChunk chunk = chunks.get(chunkIndex);
+    chunk.entities[row & CHUNK_MASK] = entityId;
+    chunk.size++;
+    return row;
+  }
+
+  int entityAt(int row) {
+    return chunks.get(row >>> CHUNK_SHIFT).entities[row & CHUNK_MASK];
+  }
+
+  Object get(int row, int column) {
+    return chunks.get(row >>> CHUNK_SHIFT).columns[column][row & CHUNK_MASK];
+  }
+
+  void set(int row, int column, Object component) {
+    chunks.get(row >>> CHUNK_SHIFT).columns[column][row & CHUNK_MASK] = component;
+  }
+
+  /** Empties the archetype, keeping its chunks for reuse. */
+  void clear() {
+    for (ArchetypeChunk chunk : chunks) {
+      for (Object[] column : chunk.columns) {
+        Arrays.fill(column, 0, chunk.size, null);
+      }
+      chunk.size = 0;
+    }
+    size = 0;
+  }
+
+  /**
+   * Removes a row by moving the last row into it.
+   *
+   * @return the entity now occupying {@code row}, or -1 if the removed row was the last one
+   */
+  int removeRow(int row) {
+    int last = --size;
+    ArchetypeChunk lastChunk = chunks.get(last >>> CHUNK_SHIFT);
+    int lastSlot = last & CHUNK_MASK;
+    int movedEntity = -1;
+
+    if (row != last) {
+      ArchetypeChunk chunk = chunks.get(row >>> CHUNK_SHIFT);
+      int slot = row & CHUNK_MASK;
+      movedEntity = lastChunk.entities[lastSlot];
+      chunk.entities[slot] = movedEntity;
+      for (int c = 0; c < types.length; c++) {
+        chunk.columns[c][slot] = lastChunk.columns[c][lastSlot];
+      }
+    }
+
+    for (int c = 0; c < types.length; c++) {
+      lastChunk.columns[c][lastSlot] = null;
+    }
+    lastChunk.size--;
+    return movedEntity;
+  }
+}
@@ -0,0 +1,62 @@
+package engine.services.world;
+
+import java.lang.reflect.Array;
+
+/**
+ * A fixed-size block of entities from one archetype, with one array column per component type.
+ * Chunks are handed out by {@link World#forEachChunk} so systems can walk matching entities and
+ * their components contiguously.
+ */
+public final class ArchetypeChunk {
+  private final Class<?>[] types;
+  final int[] entities;
+  final Object[][] columns;
+  int size;
+
+  ArchetypeChunk(Class<?>[] types, int capacity) {
+    this.types = types;
+    this.entities = new int[capacity];
+    this.columns = new Object[types.length][];
+    for (int i = 0; i < types.length; i++) {
+      // Typed arrays so columns can be handed out as T[] without copying
+      columns[i] = (Object[]) Array.newInstance(types[i], capacity);
+    }
+  }
+
+  /** Number of occupied rows; rows 0 until size() are valid. */
+  public int size() {
+    return size;
+  }
+
+  /** The entity stored in the given row. */
+  public int entityAt(int row) {
+    return entities[row];
+  }
+
+  /** true if entities in this chunk own the given component type. */
+  public boolean has(Class<?> componentClass) {
+    return columnOf(componentClass) >= 0;
+  }
+
+  /**
+   * The column holding every component of the given type, indexed by row.
+   * Only the first {@link #size()} entries are valid.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T[] column(Class<T> componentClass) {
+    int column = columnOf(componentClass);
+    if (column < 0) {
+      throw new IllegalArgumentException("Chunk has no column for " + componentClass.getSimpleName());
+    }
+    return (T[]) columns[column];
+  }
+
+  private int columnOf(Class<?> componentClass) {
+    for (int i = 0; i < types.length; i++) {
+      if (types[i] == componentClass) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,243 @@
+package engine.services.world;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Archetype-based component storage.
+ * <p>
+ * Entities with the same component set live together in an {@link Archetype}, one array column per
+ * component type, split into fixed-size chunks. Adding or removing a component moves the entity to the
+ * neighbouring archetype through a cached edge, so repeated layout changes cost one map lookup.
+ * Multi-component iteration walks only the chunks of archetypes that contain every requested type.
+ */
+class ArchetypeComponentManager implements IComponentManager {
+  private static final Comparator<Class<?>> TYPE_ORDER = Comparator.comparing(Class::getName);
+
+  private final Archetype emptyArchetype = new Archetype(new Class<?>[0]);
+  private final Map<List<Class<?>>, Archetype> archetypesByTypes = new HashMap<>();
+  private final List<Archetype> archetypes = new ArrayList<>();
+  private final Map<Class<?>, IComponentStore<?>> stores = new IdentityHashMap<>();
+
+  // Location of every entity that owns at least one component, indexed by entity slot
+  private Archetype[] archetypeBySlot = new Archetype[16];
+  private int[] rowBySlot = new int[16];
+
+  @Override
+  public <T> void addComponent(int entityId, T component) {
+    Class<?> componentClass = component.getClass();
+    Archetype current = archetypeOf(entityId);
+
+    if (current != null) {
+      int column = current.column(componentClass);
+      if (column >= 0) {
+        current.set(rowBySlot[Entity.index(entityId)], column, component);
+        return;
+      }
+    }
+
+    Archetype source = current == null ? emptyArchetype : current;
+    Archetype target = source.addEdges.get(componentClass);
+    if (target == null) {
+      Class<?>[] types = Arrays.copyOf(source.types(), source.types().length + 1);
+      types[types.length - 1] = componentClass;
+      target = archetypeFor(types);
+      source.addEdges.put(componentClass, target);
+      target.removeEdges.put(componentClass, source);
+    }
+
+    int row = moveEntity(entityId, current, target);
+    target.set(row, target.column(componentClass), component);
+  }
+
+  @Override
+  public <T> T getComponent(int entityId, Class<T> componentClass) {
+    Archetype archetype = archetypeOf(entityId);
+    if (archetype == null) {
+      return null;
+    }
+    int column = archetype.column(componentClass);
+    return column < 0 ? null : componentClass.cast(archetype.get(rowBySlot[Entity.index(entityId)], column));
+  }
+
+  @Override
+  public void removeComponent(int entityId, Class<?> componentClass) {
+    Archetype current = archetypeOf(entityId);
+    if (current == null || current.column(componentClass) < 0) {
+      return;
+    }
+
+    Archetype target = current.removeEdges.get(componentClass);
+    if (target == null) {
+      Class<?>[] types = Arrays.stream(current.types())
+        .filter(type -> type != componentClass)
+        .toArray(Class<?>[]::new);
+      target = archetypeFor(types);
+      current.removeEdges.put(componentClass, target);
+      target.addEdges.put(componentClass, current);
+    }
+
+    if (target == emptyArchetype) {
+      removeFromArchetype(entityId, current);
+    } else {
+      moveEntity(entityId, current, target);
+    }
+  }
+
+  @Override
+  public boolean hasComponent(int entityId, Class<?> componentClass) {
+    Archetype archetype = archetypeOf(entityId);
+    return archetype != null && ComponentType.has(archetype.signature(), ComponentType.id(componentClass));
+  }
+
+  @Override
+  public boolean hasAll(int entityId, long[] mask) {
+    Archetype archetype = archetypeOf(entityId);
+    return archetype != null && ComponentType.containsAll(archetype.signature(), mask);
+  }
+
+  @Override
+  public void entityDestroyed(int entityId) {
+    Archetype archetype = archetypeOf(entityId);
+    if (archetype != null) {
+      removeFromArchetype(entityId, archetype);
+    }
+  }
+
+  @Override
+  public void clear() {
+    for (Archetype archetype : archetypes) {
+      for (int row = 0; row < archetype.size(); row++) {
+        archetypeBySlot[Entity.index(archetype.entityAt(row))] = null;
+      }
+      archetype.clear();
+    }
+  }
+
+  @Override
+  public void forEachComponentType(int entityId, IntConsumer action) {
+    Archetype archetype = archetypeOf(entityId);
+    if (archetype != null) {
+      long[] signature = archetype.signature();
+      ComponentType.forEachType(signature, 0, signature.length, action);
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public synchronized <T> IComponentStore<T> store(Class<T> componentClass) {
+    return (IComponentStore<T>) stores.computeIfAbsent(componentClass, type -> new Store<>(componentClass));
+  }
+
+  /** Visits every non-empty chunk whose archetype signature contains the mask. */
+  void forEachChunk(long[] mask, Consumer<ArchetypeChunk> action) {
+    for (int i = 0; i < archetypes.size(); i++) {
+      Archetype archetype = archetypes.get(i);
+      if (archetype.size() == 0 || !ComponentType.containsAll(archetype.signature(), mask)) {
+        continue;
+      }
+      List<ArchetypeChunk> chunks = archetype.chunks();
+      for (int c = 0; c < chunks.size(); c++) {
+        ArchetypeChunk chunk = chunks.get(c);
+        if (chunk.size() > 0) {
+          action.accept(chunk);
+        }
+      }
+    }
+  }
+
+  private Archetype archetypeFor(Class<?>[] types) {
+    Class<?>[] sorted = types.clone();
+    Arrays.sort(sorted, TYPE_ORDER);
+    if (sorted.length == 0) {
+      return emptyArchetype;
+    }
+    return archetypesByTypes.computeIfAbsent(List.of(sorted), key -> {
+      Archetype archetype = new Archetype(sorted);
+      archetypes.add(archetype);
+      return archetype;
+    });
+  }
+
+  /** Moves the entity into the target archetype, carrying over shared components, and returns its new row. */
+  private int moveEntity(int entityId, Archetype from, Archetype to) {
+    int newRow = to.append(entityId);
+    if (from != null) {
+      int oldRow = rowBySlot[Entity.index(entityId)];
+      Class<?>[] fromTypes = from.types();
+      for (int c = 0; c < fromTypes.length; c++) {
+        int targetColumn = to.column(fromTypes[c]);
+        if (targetColumn >= 0) {
+          to.set(newRow, targetColumn, from.get(oldRow, c));
+        }
+      }
+      removeFromArchetype(entityId, from);
+    }
+    setLocation(entityId, to, newRow);
+    return newRow;
+  }
+
+  private void removeFromArchetype(int entityId, Archetype archetype) {
+    int slot = Entity.index(entityId);
+    int row = rowBySlot[slot];
+    int movedEntity = archetype.removeRow(row);
+    if (movedEntity >= 0) {
+      rowBySlot[Entity.index(movedEntity)] = row;
+    }
+    archetypeBySlot[slot] = null;
+  }
+
+  /** The entity's archetype, or null if it owns no components or the handle is stale. */
+  private Archetype archetypeOf(int entityId) {
+    if (entityId < 0) {
+      return null;
+    }
+    int slot = Entity.index(entityId);
+    if (slot >= archetypeBySlot.length) {
+      return null;
+    }
+    Archetype archetype = archetypeBySlot[slot];
+    return archetype != null && archetype.entityAt(rowBySlot[slot]) == entityId ? archetype : null;
+  }
+
+  private void setLocation(int entityId, Archetype archetype, int row) {
+    int slot = Entity.index(entityId);
+    if (slot >= archetypeBySlot.length) {
+      int capacity = Math.max(slot + 1, archetypeBySlot.length * 2);
+      archetypeBySlot = Arrays.copyOf(archetypeBySlot, capacity);
+      rowBySlot = Arrays.copyOf(rowBySlot, capacity);
+    }
+    archetypeBySlot[slot] = archetype;
+    rowBySlot[slot] = row;
+  }
+
+  private final class Store<T> implements IComponentStore<T> {
+    private final Class<T> componentClass;
+
+    private Store(Class<T> componentClass) {
+      this.componentClass = componentClass;
+    }
+
+    @Override
+    public Class<T> componentClass() {
+      return componentClass;
+    }
+
+    @Override
+    public boolean has(int entityId) {
+      return hasComponent(entityId, componentClass);
+    }
+
+    @Override
+    public T get(int entityId) {
+      return getComponent(entityId, componentClass);
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package engine.services.world;
+
+/** Per-entity callback of {@link World#parallelForEach} receiving the entity and its two components. */
+@FunctionalInterface
+public interface BiComponentConsumer<A, B> {
+  void accept(int entityId, A a, B b);
+}
@@ -0,0 +1,63 @@
+package engine.services.world;
+
+import java.util.Arrays;
+
+/**
+ * Per-component change detection: the tick at which each entity's component of a type was added and
+ * last changed, indexed by component type id and entity slot.
+ * <p>
+ * Slots are grown when a component is added, which only happens on the thread applying structural
+ * changes, so marking a change from a worker thread never reallocates.
+ */
+final class ChangeTicks {
+  private static final int[] EMPTY = new int[0];
+
+  private int[][] addedByType = new int[16][];
+  private int[][] changedByType = new int[16][];
+
+  /** Stamps both ticks of a newly added component. */
+  void added(int typeId, int slot, int tick) {
+    ensureCapacity(typeId, slot);
+    addedByType[typeId][slot] = tick;
+    changedByType[typeId][slot] = tick;
+  }
+
+  void changed(int typeId, int slot, int tick) {
+    int[] changed = typeId < changedByType.length ? changedByType[typeId] : null;
+    if (changed != null && slot < changed.length) {
+      changed[slot] = tick;
+    }
+  }
+
+  int addedTick(int typeId, int slot) {
+    return tickOf(addedByType, typeId, slot);
+  }
+
+  int changedTick(int typeId, int slot) {
+    return tickOf(changedByType, typeId, slot);
+  }
+
+  /** true if the tick is later than the reference tick; safe across int wrap-around. */
+  static boolean isNewer(int tick, int sinceTick) {
+    return tick - sinceTick > 0;
+  }
+
+  private static int tickOf(int[][] ticksByType, int typeId, int slot) {
+    int[] ticks = typeId < ticksByType.length ? ticksByType[typeId] : null;
+    return ticks != null && slot < ticks.length ? ticks[slot] : 0;
+  }
+
+  private void ensureCapacity(int typeId, int slot) {
+    if (typeId >= addedByType.length) {
+      int capacity = Math.max(typeId + 1, addedByType.length * 2);
+      addedByType = Arrays.copyOf(addedByType, capacity);
+      changedByType = Arrays.copyOf(changedByType, capacity);
+    }
+    int[] added = addedByType[typeId] == null ? EMPTY : addedByType[typeId];
+    if (slot >= added.length) {
+      int capacity = Math.max(slot + 1, Math.max(16, added.length * 2));
+      addedByType[typeId] = Arrays.copyOf(added, capacity);
+      changedByType[typeId] = Arrays.copyOf(changedByType[typeId] == null ? EMPTY : changedByType[typeId], capacity);
+    }
+  }
+}
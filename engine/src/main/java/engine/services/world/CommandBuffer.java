@@ -0,0 +1,117 @@
+package engine.services.world;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deferred structural changes to a {@link World}.
+ * <p>
+ * Systems record entity creation and destruction and component additions and removals here instead
+ * of changing the world while iterating a query. The {@link SystemManager} plays the buffer back at
+ * its sync points: before the first system, after every system when running serially, and after
+ * every stage when running in parallel. Recording is lock-free and safe from any thread; commands
+ * recorded by one thread are applied in the order that thread recorded them.
+ * <p>
+ * {@link #createEntity()} returns a negative placeholder handle that later commands in the same
+ * buffer may refer to; it is replaced by the real entity when the buffer is played back. Placeholders
+ * are only valid until that playback: recording a command for one kept from an earlier batch throws.
+ */
+public final class CommandBuffer {
+  private enum Op { CREATE, DESTROY, ADD, REMOVE }
+
+  private record Command(Op op, int entityId, Object argument) { }
+
+  // The placeholder counter starts over once this many have been handed out, about a billion entities
+  private static final int RESERVATION_LIMIT = 1 << 30;
+
+  private final Queue<Command> commands = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger reservations = new AtomicInteger();
+  // Reservations below this belong to batches that were already played back. Only written during
+  // playback, which no recording thread overlaps
+  private volatile int playedBack;
+
+  // Real entity for each placeholder of the current batch, filled in during playback
+  private int[] created = new int[16];
+
+  CommandBuffer() {
+  }
+
+  /** Records the creation of an entity and returns a placeholder handle for it. */
+  public int createEntity() {
+    int placeholder = -reservations.incrementAndGet();
+    commands.add(new Command(Op.CREATE, placeholder, null));
+    return placeholder;
+  }
+
+  /** Records the destruction of an entity. */
+  public void destroyEntity(int entityId) {
+    commands.add(new Command(Op.DESTROY, checkPlaceholder(entityId), null));
+  }
+
+  /** Records adding or replacing a component. */
+  public <T> void addComponent(int entityId, T component) {
+    commands.add(new Command(Op.ADD, checkPlaceholder(entityId), component));
+  }
+
+  /** Records removing a component type from an entity. */
+  public void removeComponent(int entityId, Class<?> componentClass) {
+    commands.add(new Command(Op.REMOVE, checkPlaceholder(entityId), componentClass));
+  }
+
+  /** true if no commands are waiting to be played back. */
+  public boolean isEmpty() {
+    return commands.isEmpty();
+  }
+
+  /**
+   * Applies and clears the recorded commands. Must not run while other threads are still
+   * recording into this buffer.
+   */
+  void playback(World world) {
+    int reserved = reservations.get() - playedBack;
+    if (reserved > created.length) {
+      created = Arrays.copyOf(created, Math.max(reserved, created.length * 2));
+    }
+
+    Command command;
+    while ((command = commands.poll()) != null) {
+      switch (command.op()) {
+        case CREATE -> created[batchIndex(command.entityId())] = world.createEntity();
+        case DESTROY -> world.destroyEntity(resolve(command.entityId()));
+        case ADD -> world.addComponent(resolve(command.entityId()), command.argument());
+        case REMOVE -> world.removeComponent(resolve(command.entityId()), (Class<?>) command.argument());
+      }
+    }
+    // Keep counting so placeholders of this batch stay distinguishable from the next one's
+    playedBack = reservations.get();
+    if (playedBack >= RESERVATION_LIMIT) {
+      reservations.set(0);
+      playedBack = 0;
+    }
+  }
+
+  private int checkPlaceholder(int entityId) {
+    if (entityId < 0) {
+      int index = placeholderIndex(entityId);
+      if (index < playedBack || index >= reservations.get()) {
+        throw new IllegalArgumentException("Placeholder entity " + entityId
+          + " does not belong to this batch; placeholders are only valid until the buffer is played back");
+      }
+    }
+    return entityId;
+  }
+
+  private int resolve(int entityId) {
+    return entityId >= 0 ? entityId : created[batchIndex(entityId)];
+  }
+
+  private int batchIndex(int placeholder) {
+    return placeholderIndex(placeholder) - playedBack;
+  }
+
+  private static int placeholderIndex(int placeholder) {
+    return -placeholder - 1;
+  }
+}
@@ -0,0 +1,41 @@
+package engine.services.world;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary encoding of one component type for {@link WorldSerializer}.
+ * <p>
+ * Implementations write a component's persistent state with the buffer's relative put methods and
+ * read it back in the same order. Writing may throw {@link java.nio.BufferOverflowException}; the
+ * serializer then grows its buffer and writes the component again.
+ *
+ * @param <T> the component type
+ */
+public interface ComponentCodec<T> {
+  void write(T component, ByteBuffer out);
+
+  T read(ByteBuffer in);
+
+  /** Writes a length-prefixed UTF-8 string; null is written as length -1. */
+  static void putString(ByteBuffer out, String value) {
+    if (value == null) {
+      out.putInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.putInt(bytes.length);
+    out.put(bytes);
+  }
+
+  /** Reads a string written by {@link #putString}. */
+  static String getString(ByteBuffer in) {
+    int length = in.getInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,99 @@
+package engine.services.world;
+
+import engine.services.world.components.ControllableComponent;
+import engine.services.world.components.MoveToTargetComponent;
+import engine.services.world.components.SpriteComponent;
+import engine.services.world.components.TransformComponent;
+import org.joml.Vector4f;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Hand-written codecs for the built-in components that introspection cannot round-trip: those
+ * holding JOML vectors or exposing their state as public fields.
+ */
+public final class ComponentCodecs {
+
+  public static final ComponentCodec<TransformComponent> TRANSFORM = new ComponentCodec<>() {
+    @Override
+    public void write(TransformComponent transform, ByteBuffer out) {
+      out.putFloat(transform.position.x).putFloat(transform.position.y).putFloat(transform.position.z);
+      out.putFloat(transform.previousPosition.x).putFloat(transform.previousPosition.y)
+        .putFloat(transform.previousPosition.z);
+      out.putFloat(transform.rotation.x).putFloat(transform.rotation.y).putFloat(transform.rotation.z)
+        .putFloat(transform.rotation.w);
+      out.putFloat(transform.scale.x).putFloat(transform.scale.y).putFloat(transform.scale.z);
+    }
+
+    @Override
+    public TransformComponent read(ByteBuffer in) {
+      TransformComponent transform = new TransformComponent();
+      transform.position.set(in.getFloat(), in.getFloat(), in.getFloat());
+      transform.previousPosition.set(in.getFloat(), in.getFloat(), in.getFloat());
+      transform.rotation.set(in.getFloat(), in.getFloat(), in.getFloat(), in.getFloat());
+      transform.scale.set(in.getFloat(), in.getFloat(), in.getFloat());
+      return transform;
+    }
+  };
+
+  public static final ComponentCodec<SpriteComponent> SPRITE = new ComponentCodec<>() {
+    @Override
+    public void write(SpriteComponent sprite, ByteBuffer out) {
+      ComponentCodec.putString(out, sprite.textureHandle());
+      Vector4f color = sprite.color();
+      out.putFloat(color.x).putFloat(color.y).putFloat(color.z).putFloat(color.w);
+    }
+
+    @Override
+    public SpriteComponent read(ByteBuffer in) {
+      String textureHandle = ComponentCodec.getString(in);
+      return new SpriteComponent(textureHandle, new Vector4f(in.getFloat(), in.getFloat(), in.getFloat(), in.getFloat()));
+    }
+  };
+
+  public static final ComponentCodec<ControllableComponent> CONTROLLABLE = new ComponentCodec<>() {
+    @Override
+    public void write(ControllableComponent control, ByteBuffer out) {
+      out.putInt(control.playerId);
+      out.put((byte) ((control.wantsToMoveUp ? 1 : 0)
+        | (control.wantsToMoveDown ? 2 : 0)
+        | (control.wantsToMoveLeft ? 4 : 0)
+        | (control.wantsToMoveRight ? 8 : 0)
+        | (control.wantsToAttack ? 16 : 0)));
+    }
+
+    @Override
+    public ControllableComponent read(ByteBuffer in) {
+      ControllableComponent control = new ControllableComponent();
+      control.playerId = in.getInt();
+      byte flags = in.get();
+      control.wantsToMoveUp = (flags & 1) != 0;
+      control.wantsToMoveDown = (flags & 2) != 0;
+      control.wantsToMoveLeft = (flags & 4) != 0;
+      control.wantsToMoveRight = (flags & 8) != 0;
+      control.wantsToAttack = (flags & 16) != 0;
+      return control;
+    }
+  };
+
+  public static final ComponentCodec<MoveToTargetComponent> MOVE_TO_TARGET = new ComponentCodec<>() {
+    @Override
+    public void write(MoveToTargetComponent move, ByteBuffer out) {
+      out.putFloat(move.targetX).putFloat(move.targetY).putFloat(move.targetZ);
+      out.putFloat(move.speed).putFloat(move.tolerance);
+    }
+
+    @Override
+    public MoveToTargetComponent read(ByteBuffer in) {
+      return new MoveToTargetComponent(in.getFloat(), in.getFloat(), in.getFloat(), in.getFloat(), in.getFloat());
+    }
+  };
+
+  private ComponentCodecs() {
+  }
+
+  /** Codec generated from the component's {@code @Introspected} bean metadata. */
+  public static <T> ComponentCodec<T> introspected(Class<T> componentClass) {
+    return new IntrospectedComponentCodec<>(componentClass);
+  }
+}
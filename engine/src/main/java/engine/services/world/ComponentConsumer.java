@@ -0,0 +1,7 @@
+package engine.services.world;
+
+/** Per-entity callback of {@link World#parallelForEach} receiving the entity and its one component. */
+@FunctionalInterface
+public interface ComponentConsumer<A> {
+  void accept(int entityId, A a);
+}
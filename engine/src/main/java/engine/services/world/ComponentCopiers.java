@@ -0,0 +1,101 @@
+package engine.services.world;
+
+import engine.services.world.components.AnimationStateComponent;
+import engine.services.world.components.ControllableComponent;
+import engine.services.world.components.MoveToTargetComponent;
+import engine.services.world.components.SpriteComponent;
+import engine.services.world.components.TransformComponent;
+import org.joml.Vector4f;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Copy functions used to stamp out {@link Prefab} instances without a serialization round trip.
+ * <p>
+ * The built-in components with mutable state get hand-written copies. Records whose components are
+ * all primitives, boxed primitives, Strings or enums cannot change, so their prototype is shared by
+ * every instance instead of being copied.
+ */
+public final class ComponentCopiers {
+
+  public static final UnaryOperator<TransformComponent> TRANSFORM = transform -> {
+    TransformComponent copy = new TransformComponent();
+    copy.position.set(transform.position);
+    copy.previousPosition.set(transform.previousPosition);
+    copy.rotation.set(transform.rotation);
+    copy.scale.set(transform.scale);
+    return copy;
+  };
+
+  public static final UnaryOperator<SpriteComponent> SPRITE =
+    sprite -> new SpriteComponent(sprite.textureHandle(), new Vector4f(sprite.color()));
+
+  public static final UnaryOperator<ControllableComponent> CONTROLLABLE = control -> {
+    ControllableComponent copy = new ControllableComponent();
+    copy.playerId = control.playerId;
+    copy.wantsToMoveUp = control.wantsToMoveUp;
+    copy.wantsToMoveDown = control.wantsToMoveDown;
+    copy.wantsToMoveLeft = control.wantsToMoveLeft;
+    copy.wantsToMoveRight = control.wantsToMoveRight;
+    copy.wantsToAttack = control.wantsToAttack;
+    return copy;
+  };
+
+  public static final UnaryOperator<MoveToTargetComponent> MOVE_TO_TARGET = move ->
+    new MoveToTargetComponent(move.targetX, move.targetY, move.targetZ, move.speed, move.tolerance);
+
+  public static final UnaryOperator<AnimationStateComponent> ANIMATION_STATE = state -> {
+    AnimationStateComponent copy = new AnimationStateComponent(state.spriteSheet, state.animation);
+    copy.animationTime = state.animationTime;
+    copy.playing = state.playing;
+    copy.frameIndex = state.frameIndex;
+    copy.regionIndex = state.regionIndex;
+    return copy;
+  };
+
+  private static final Map<Class<?>, UnaryOperator<?>> BUILT_IN = Map.of(
+    TransformComponent.class, TRANSFORM,
+    SpriteComponent.class, SPRITE,
+    ControllableComponent.class, CONTROLLABLE,
+    MoveToTargetComponent.class, MOVE_TO_TARGET,
+    AnimationStateComponent.class, ANIMATION_STATE);
+  private static final Set<Class<?>> IMMUTABLE_VALUES = Set.of(
+    String.class, Integer.class, Float.class, Boolean.class, Long.class, Double.class, Short.class, Byte.class,
+    Character.class);
+
+  private static final ClassValue<UnaryOperator<?>> BY_TYPE = new ClassValue<>() {
+    @Override
+    protected UnaryOperator<?> computeValue(Class<?> type) {
+      UnaryOperator<?> builtIn = BUILT_IN.get(type);
+      if (builtIn != null) {
+        return builtIn;
+      }
+      return isImmutableRecord(type) ? UnaryOperator.identity() : null;
+    }
+  };
+
+  private ComponentCopiers() {
+  }
+
+  /** The copier for the component type, or null if there is none and one has to be supplied. */
+  @SuppressWarnings("unchecked")
+  public static <T> UnaryOperator<T> forType(Class<T> componentClass) {
+    return (UnaryOperator<T>) BY_TYPE.get(componentClass);
+  }
+
+  private static boolean isImmutableRecord(Class<?> type) {
+    if (!type.isRecord()) {
+      return false;
+    }
+    for (RecordComponent component : type.getRecordComponents()) {
+      Class<?> valueType = component.getType();
+      if (!valueType.isPrimitive() && !valueType.isEnum() && !IMMUTABLE_VALUES.contains(valueType)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
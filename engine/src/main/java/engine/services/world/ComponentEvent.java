@@ -0,0 +1,11 @@
+package engine.services.world;
+
+/** Component lifecycle events that can be observed with {@link World#observe}. */
+public enum ComponentEvent {
+  /** The component was added to an entity that did not have one of its type. Replacing does not count. */
+  ADDED,
+  /** The component was removed from an entity that is still alive. */
+  REMOVED,
+  /** An entity owning the component was destroyed; the handle is no longer alive on delivery. */
+  DESTROYED
+}
@@ -1,43 +1,101 @@
 package engine.services.world;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
 
 class ComponentManager implements IComponentManager {
-  private final Map<Class<?>, Map<Integer, Object>> componentStores = new HashMap<>();
+  // Pools are created and the array grown under the manager's lock; the volatile write that publishes
+  // the array lets unlocked readers on worker threads see every pool stored before it
+  private volatile ComponentPool<?>[] poolsByTypeId = new ComponentPool<?>[16];
+  private final EntitySignatures signatures = new EntitySignatures();
 
   @Override
   public <T> void addComponent(int entityId, T component) {
     Class<?> componentClass = component.getClass();
-    componentStores
-      .computeIfAbsent(componentClass, k -> new HashMap<>())
-      .put(entityId, component);
+    int typeId = ComponentType.id(componentClass);
+    poolFor(componentClass, typeId).put(entityId, component);
+    signatures.set(entityId, typeId);
   }
 
+  @Override
   public <T> T getComponent(int entityId, Class<T> componentClass) {
-    Map<Integer, Object> store = componentStores.get(componentClass);
-    if (store == null) {
+    ComponentPool<?> pool = poolOrNull(ComponentType.id(componentClass));
+    if (pool == null) {
       return null;
     }
-    return componentClass.cast(store.get(entityId));
+    return componentClass.cast(pool.get(entityId));
   }
 
+  @Override
   public void removeComponent(int entityId, Class<?> componentClass) {
-    Map<Integer, Object> store = componentStores.get(componentClass);
-    if (store != null) {
-      store.remove(entityId);
+    int typeId = ComponentType.id(componentClass);
+    ComponentPool<?> pool = poolOrNull(typeId);
+    if (pool != null && pool.remove(entityId)) {
+      signatures.clear(entityId, typeId);
     }
   }
 
+  @Override
   public boolean hasComponent(int entityId, Class<?> componentClass) {
-    Map<Integer, Object> store = componentStores.get(componentClass);
-    return store != null && store.containsKey(entityId);
+    return signatures.has(entityId, ComponentType.id(componentClass));
+  }
+
+  @Override
+  public boolean hasAll(int entityId, long[] mask) {
+    return signatures.containsAll(entityId, mask);
   }
 
+  @Override
   public void entityDestroyed(int entityId) {
-    for (Map<Integer, Object> store : componentStores.values()) {
-      store.remove(entityId);
+    // Only the pools named in the signature hold the entity; the others need not be visited
+    signatures.forEachType(entityId, typeId -> poolsByTypeId[typeId].remove(entityId));
+    signatures.clearAll(entityId);
+  }
+
+  @Override
+  public void clear() {
+    for (ComponentPool<?> pool : poolsByTypeId) {
+      if (pool != null) {
+        pool.clear();
+      }
     }
+    signatures.clear();
   }
 
+  @Override
+  public void forEachComponentType(int entityId, IntConsumer action) {
+    signatures.forEachType(entityId, action);
+  }
+
+  @Override
+  public <T> IComponentStore<T> store(Class<T> componentClass) {
+    return poolFor(componentClass, ComponentType.id(componentClass));
+  }
+
+  private ComponentPool<?> poolOrNull(int typeId) {
+    ComponentPool<?>[] pools = poolsByTypeId;
+    return typeId < pools.length ? pools[typeId] : null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> ComponentPool<T> poolFor(Class<T> componentClass, int typeId) {
+    ComponentPool<T> pool = (ComponentPool<T>) poolOrNull(typeId);
+    return pool != null ? pool : createPool(componentClass, typeId);
+  }
+
+  @SuppressWarnings("unchecked")
+  private synchronized <T> ComponentPool<T> createPool(Class<T> componentClass, int typeId) {
+    ComponentPool<?>[] pools = poolsByTypeId;
+    if (typeId < pools.length && pools[typeId] != null) {
+      // Another thread created it first
+      return (ComponentPool<T>) pools[typeId];
+    }
+    if (typeId >= pools.length) {
+      pools = Arrays.copyOf(pools, Math.max(typeId + 1, pools.length * 2));
+    }
+    ComponentPool<T> pool = new ComponentPool<>(componentClass);
+    pools[typeId] = pool;
+    poolsByTypeId = pools;
+    return pool;
+  }
 }
@@ -0,0 +1,108 @@
+package engine.services.world;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntConsumer;
+
+/**
+ * Listeners for {@link ComponentEvent}s and the log of events waiting for delivery.
+ * <p>
+ * Structural changes append to the log only when their component type is observed, so unobserved
+ * types cost one array lookup. {@link #deliver()} hands the logged events to their listeners in the
+ * order they happened; events raised by listeners are delivered in the same call. Recording and
+ * delivery are not thread-safe, like the structural changes that raise the events.
+ */
+final class ComponentObservers {
+  private static final int EVENT_COUNT = ComponentEvent.values().length;
+
+  // Listener lists indexed by typeId * EVENT_COUNT + event ordinal; null until first observed
+  private List<IntConsumer>[] listeners = newListenerArray(16 * EVENT_COUNT);
+  private final int[] listenerCounts = new int[EVENT_COUNT];
+  // Pending events as (slot in listeners, entity handle) pairs
+  private int[] log = new int[64];
+  private int[] spare = new int[64];
+  private int logSize;
+  private boolean delivering;
+
+  void add(ComponentEvent event, Class<?> componentClass, IntConsumer listener) {
+    int slot = slot(event, ComponentType.id(componentClass));
+    if (slot >= listeners.length) {
+      listeners = Arrays.copyOf(listeners, Math.max(slot + 1, listeners.length * 2));
+    }
+    if (listeners[slot] == null) {
+      listeners[slot] = new CopyOnWriteArrayList<>();
+    }
+    listeners[slot].add(listener);
+    listenerCounts[event.ordinal()]++;
+  }
+
+  void remove(ComponentEvent event, Class<?> componentClass, IntConsumer listener) {
+    int slot = slot(event, ComponentType.id(componentClass));
+    if (slot < listeners.length && listeners[slot] != null && listeners[slot].remove(listener)) {
+      listenerCounts[event.ordinal()]--;
+    }
+  }
+
+  /** true if a listener is registered for the event on any component type. */
+  boolean observesAny(ComponentEvent event) {
+    return listenerCounts[event.ordinal()] > 0;
+  }
+
+  /** true if a listener is registered for the event on the component type. */
+  boolean observes(ComponentEvent event, int typeId) {
+    int slot = slot(event, typeId);
+    return slot < listeners.length && listeners[slot] != null && !listeners[slot].isEmpty();
+  }
+
+  /** Logs the event if the component type is observed for it. */
+  void record(ComponentEvent event, int typeId, int entityId) {
+    if (!observes(event, typeId)) {
+      return;
+    }
+    if (logSize + 2 > log.length) {
+      log = Arrays.copyOf(log, log.length * 2);
+    }
+    log[logSize++] = slot(event, typeId);
+    log[logSize++] = entityId;
+  }
+
+  /** true if events are waiting and no delivery is already in progress. */
+  boolean hasPending() {
+    return logSize > 0 && !delivering;
+  }
+
+  /** Delivers every pending event. Calls made from within a listener return immediately. */
+  void deliver() {
+    if (delivering) {
+      return;
+    }
+    delivering = true;
+    try {
+      while (logSize > 0) {
+        // Swap buffers so listeners can log new events while this batch is walked
+        int[] batch = log;
+        int batchSize = logSize;
+        log = spare.length >= batch.length ? spare : new int[batch.length];
+        logSize = 0;
+        spare = batch;
+        for (int i = 0; i < batchSize; i += 2) {
+          for (IntConsumer listener : listeners[batch[i]]) {
+            listener.accept(batch[i + 1]);
+          }
+        }
+      }
+    } finally {
+      delivering = false;
+    }
+  }
+
+  private static int slot(ComponentEvent event, int typeId) {
+    return typeId * EVENT_COUNT + event.ordinal();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<IntConsumer>[] newListenerArray(int length) {
+    return (List<IntConsumer>[]) new List<?>[length];
+  }
+}
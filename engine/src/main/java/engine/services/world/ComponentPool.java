@@ -0,0 +1,139 @@
+package engine.services.world;
+
+import java.util.Arrays;
+
+/**
+ * Sparse-set storage for every component of a single type.
+ * <p>
+ * A sparse {@code int[]} indexed by {@link Entity#index(int)} maps entities to slots in two dense,
+ * parallel arrays holding the owning entity handle and its component. Stale handles whose slot has
+ * been recycled do not match the stored handle and read as absent. Lookups are two array reads, and
+ * the dense arrays can be walked in order by systems that want to touch every component of this type.
+ * Pools back {@link World#store(Class)} when the world uses {@link WorldStorage#SPARSE_SET}.
+ * <p>
+ * Removal swaps the last component into the freed slot, so dense order is not stable across removals.
+ *
+ * @param <T> the component type stored in this pool
+ */
+public final class ComponentPool<T> implements IComponentStore<T> {
+  private static final int ABSENT = -1;
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final Class<T> componentClass;
+
+  private int[] sparse = new int[INITIAL_CAPACITY];
+  private int[] denseEntities = new int[INITIAL_CAPACITY];
+  private Object[] denseComponents = new Object[INITIAL_CAPACITY];
+  private int size;
+
+  ComponentPool(Class<T> componentClass) {
+    this.componentClass = componentClass;
+    Arrays.fill(sparse, ABSENT);
+  }
+
+  @Override
+  public Class<T> componentClass() {
+    return componentClass;
+  }
+
+  /** Number of components currently stored. */
+  public int size() {
+    return size;
+  }
+
+  /** The entity owning the component at the given dense index. */
+  public int entityAt(int index) {
+    checkIndex(index);
+    return denseEntities[index];
+  }
+
+  /** The component at the given dense index. */
+  public T componentAt(int index) {
+    checkIndex(index);
+    return componentClass.cast(denseComponents[index]);
+  }
+
+  @Override
+  public boolean has(int entityId) {
+    return indexOf(entityId) != ABSENT;
+  }
+
+  @Override
+  public T get(int entityId) {
+    int index = indexOf(entityId);
+    return index == ABSENT ? null : componentClass.cast(denseComponents[index]);
+  }
+
+  void put(int entityId, Object component) {
+    int slot = Entity.index(entityId);
+    ensureSparseCapacity(slot);
+    int index = sparse[slot];
+    if (index != ABSENT) {
+      // Same entity, or a stale handle still holding the recycled slot; either way the slot is reused
+      denseEntities[index] = entityId;
+      denseComponents[index] = component;
+      return;
+    }
+    if (size == denseEntities.length) {
+      int capacity = size * 2;
+      denseEntities = Arrays.copyOf(denseEntities, capacity);
+      denseComponents = Arrays.copyOf(denseComponents, capacity);
+    }
+    denseEntities[size] = entityId;
+    denseComponents[size] = component;
+    sparse[slot] = size;
+    size++;
+  }
+
+  boolean remove(int entityId) {
+    int index = indexOf(entityId);
+    if (index == ABSENT) {
+      return false;
+    }
+    int last = --size;
+    int lastEntity = denseEntities[last];
+    denseEntities[index] = lastEntity;
+    denseComponents[index] = denseComponents[last];
+    sparse[Entity.index(lastEntity)] = index;
+
+    denseComponents[last] = null;
+    sparse[Entity.index(entityId)] = ABSENT;
+    return true;
+  }
+
+  /** Removes every component in time proportional to the number stored, keeping the arrays. */
+  void clear() {
+    for (int i = 0; i < size; i++) {
+      sparse[Entity.index(denseEntities[i])] = ABSENT;
+    }
+    Arrays.fill(denseComponents, 0, size, null);
+    size = 0;
+  }
+
+  private int indexOf(int entityId) {
+    if (entityId < 0) {
+      return ABSENT;
+    }
+    int slot = Entity.index(entityId);
+    if (slot >= sparse.length) {
+      return ABSENT;
+    }
+    int index = sparse[slot];
+    return index != ABSENT && denseEntities[index] == entityId ? index : ABSENT;
+  }
+
+  private void ensureSparseCapacity(int slot) {
+    if (slot < sparse.length) {
+      return;
+    }
+    int oldLength = sparse.length;
+    sparse = Arrays.copyOf(sparse, Math.max(slot + 1, oldLength * 2));
+    Arrays.fill(sparse, oldLength, sparse.length, ABSENT);
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package engine.services.world;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Assigns every component class a small, process-wide integer id and builds signature bitsets from them.
+ * <p>
+ * A signature is a {@code long[]} word array with bit {@code id} set for each component type it holds.
+ * Entity signatures and query masks use the same layout, so checking whether an entity has a set of
+ * components is a word-wise AND-compare instead of one lookup per type.
+ */
+public final class ComponentType {
+  private static final AtomicInteger NEXT_ID = new AtomicInteger();
+  private static final ClassValue<Integer> IDS = new ClassValue<>() {
+    @Override
+    protected Integer computeValue(Class<?> type) {
+      return NEXT_ID.getAndIncrement();
+    }
+  };
+
+  private ComponentType() {
+  }
+
+  /** The id of the component class, assigned on first use. */
+  public static int id(Class<?> componentClass) {
+    return IDS.get(componentClass);
+  }
+
+  /** Number of words a signature needs to hold the given type id. */
+  static int wordsFor(int typeId) {
+    return (typeId >>> 6) + 1;
+  }
+
+  /** Signature with the bits of every given component type set. */
+  static long[] mask(Class<?>... componentClasses) {
+    int maxId = 0;
+    int[] ids = new int[componentClasses.length];
+    for (int i = 0; i < componentClasses.length; i++) {
+      ids[i] = id(componentClasses[i]);
+      maxId = Math.max(maxId, ids[i]);
+    }
+    long[] mask = new long[wordsFor(maxId)];
+    for (int id : ids) {
+      mask[id >>> 6] |= 1L << id;
+    }
+    return mask;
+  }
+
+  static boolean has(long[] signature, int typeId) {
+    int word = typeId >>> 6;
+    return word < signature.length && (signature[word] & (1L << typeId)) != 0;
+  }
+
+  /** true if every bit of the mask is set in the signature. */
+  static boolean containsAll(long[] signature, long[] mask) {
+    for (int w = 0; w < mask.length; w++) {
+      long bits = w < signature.length ? signature[w] : 0L;
+      if ((bits & mask[w]) != mask[w]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Calls the action with the id of every type set in {@code length} words of the signature from {@code offset}. */
+  static void forEachType(long[] signature, int offset, int length, IntConsumer action) {
+    for (int w = 0; w < length; w++) {
+      long bits = signature[offset + w];
+      while (bits != 0) {
+        action.accept((w << 6) + Long.numberOfTrailingZeros(bits));
+        bits &= bits - 1;
+      }
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package engine.services.world;
+
+/**
+ * Helpers for versioned entity handles.
+ * <p>
+ * An entity id is a handle packing a slot index (low {@value #INDEX_BITS} bits) and the slot's
+ * generation (the next {@value #GENERATION_BITS} bits). Slots are recycled after their entity is
+ * destroyed, and each reuse bumps the generation, so a handle kept after destruction no longer matches
+ * the slot's live handle and is reported dead instead of aliasing the new occupant. Handles are never
+ * negative, and the first handle of every slot equals its index.
+ */
+public final class Entity {
+  public static final int INDEX_BITS = 20;
+  public static final int GENERATION_BITS = 11;
+
+  /** Largest slot index a handle can address. */
+  public static final int MAX_INDEX = (1 << INDEX_BITS) - 1;
+
+  static final int INDEX_MASK = MAX_INDEX;
+  static final int GENERATION_MASK = (1 << GENERATION_BITS) - 1;
+
+  private Entity() {
+  }
+
+  /** The storage slot of the handle; stores index their per-entity arrays by this value. */
+  public static int index(int entityId) {
+    return entityId & INDEX_MASK;
+  }
+
+  /** How many times the handle's slot had been recycled when the handle was issued. */
+  public static int generation(int entityId) {
+    return (entityId >>> INDEX_BITS) & GENERATION_MASK;
+  }
+
+  static int handle(int index, int generation) {
+    return ((generation & GENERATION_MASK) << INDEX_BITS) | index;
+  }
+}
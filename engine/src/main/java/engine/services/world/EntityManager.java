@@ -1,28 +1,180 @@
 package engine.services.world;
 
-import java.util.HashSet;
-import java.util.Set;
+import engine.util.IntSet;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Issues versioned entity handles (see {@link Entity}) and recycles the slots of destroyed entities.
+ * <p>
+ * Freed slots go through a FIFO queue and are only reused once more than {@link #MINIMUM_FREE_INDICES}
+ * are waiting, so a slot's generation wraps around slowly and per-slot arrays stay bounded by the peak
+ * number of live entities plus that reserve.
+ */
 class EntityManager implements IEntityManager {
-  private int nextEntityId = 0;
-  private final Set<Integer> activeEntities = new HashSet<>();
+  static final int MINIMUM_FREE_INDICES = 1024;
+
+  // Live handle per slot, or DEAD; the generation of a dead slot is kept for its next occupant
+  private static final int DEAD = -1;
+
+  private int[] handles = new int[16];
+  private int[] generations = new int[16];
+  private int nextIndex = 0;
+  private int liveCount = 0;
+
+  private int[] freeIndices = new int[16];
+  private int freeHead = 0;
+  private int freeCount = 0;
 
+  @Override
   public int createEntity() {
-    int id = nextEntityId++;
-    activeEntities.add(id);
-    return id;
+    int index;
+    if (freeCount > MINIMUM_FREE_INDICES || (nextIndex > Entity.MAX_INDEX && freeCount > 0)) {
+      index = pollFreeIndex();
+    } else if (nextIndex <= Entity.MAX_INDEX) {
+      index = nextIndex++;
+      ensureCapacity(index);
+    } else {
+      throw new IllegalStateException("Entity limit of " + (Entity.MAX_INDEX + 1) + " live entities reached");
+    }
+
+    int handle = Entity.handle(index, generations[index]);
+    handles[index] = handle;
+    liveCount++;
+    return handle;
   }
 
+  @Override
   public void destroyEntity(int entityId) {
-    activeEntities.remove(entityId);
+    if (!isAlive(entityId)) {
+      return;
+    }
+    int index = Entity.index(entityId);
+    handles[index] = DEAD;
+    generations[index] = (generations[index] + 1) & Entity.GENERATION_MASK;
+    liveCount--;
+    pushFreeIndex(index);
   }
 
   @Override
-  public Set<Integer> getEntities() {
-    return new HashSet<>(activeEntities);
+  public boolean isAlive(int entityId) {
+    if (entityId < 0) {
+      return false;
+    }
+    int index = Entity.index(entityId);
+    return index < nextIndex && handles[index] == entityId;
+  }
+
+  @Override
+  public IntSet getEntities() {
+    IntSet entities = new IntSet(liveCount);
+    for (int index = 0; index < nextIndex; index++) {
+      if (handles[index] != DEAD) {
+        entities.add(handles[index]);
+      }
+    }
+    return entities;
+  }
+
+  /** Destroys every live entity; their slots are recycled like those of individually destroyed ones. */
+  void destroyAll() {
+    for (int index = 0; index < nextIndex; index++) {
+      if (handles[index] != DEAD) {
+        handles[index] = DEAD;
+        generations[index] = (generations[index] + 1) & Entity.GENERATION_MASK;
+        pushFreeIndex(index);
+      }
+    }
+    liveCount = 0;
+  }
+
+  /** Number of slots ever handed out; every live entity's index is below this. */
+  int capacity() {
+    return nextIndex;
+  }
+
+  /** The live handle in the slot, or -1 if the slot is free. */
+  int handleAt(int index) {
+    return index < nextIndex ? handles[index] : DEAD;
+  }
+
+  /** Bytes {@link #writeState} needs. */
+  int stateSize() {
+    return Integer.BYTES * (2 + 2 * nextIndex + freeCount);
+  }
+
+  /**
+   * Writes every slot's handle and generation plus the free-slot queue, so that a restored manager
+   * reports the same live handles and hands out the same handles next.
+   */
+  void writeState(ByteBuffer out) {
+    out.putInt(nextIndex);
+    for (int index = 0; index < nextIndex; index++) {
+      out.putInt(handles[index]);
+    }
+    for (int index = 0; index < nextIndex; index++) {
+      out.putInt(generations[index]);
+    }
+    out.putInt(freeCount);
+    for (int i = 0; i < freeCount; i++) {
+      out.putInt(freeIndices[(freeHead + i) % freeIndices.length]);
+    }
+  }
+
+  /** Replaces the whole state with one written by {@link #writeState}. */
+  void readState(ByteBuffer in) {
+    int slots = in.getInt();
+    int length = Math.max(16, slots);
+    handles = new int[length];
+    generations = new int[length];
+    liveCount = 0;
+    for (int index = 0; index < slots; index++) {
+      handles[index] = in.getInt();
+      if (handles[index] != DEAD) {
+        liveCount++;
+      }
+    }
+    for (int index = 0; index < slots; index++) {
+      generations[index] = in.getInt();
+    }
+    nextIndex = slots;
+
+    int free = in.getInt();
+    freeIndices = new int[Math.max(16, free)];
+    for (int i = 0; i < free; i++) {
+      freeIndices[i] = in.getInt();
+    }
+    freeHead = 0;
+    freeCount = free;
+  }
+
+  private void ensureCapacity(int index) {
+    if (index < handles.length) {
+      return;
+    }
+    int capacity = Math.min(Entity.MAX_INDEX + 1, handles.length * 2);
+    handles = Arrays.copyOf(handles, capacity);
+    generations = Arrays.copyOf(generations, capacity);
+  }
+
+  private void pushFreeIndex(int index) {
+    if (freeCount == freeIndices.length) {
+      int[] grown = new int[freeIndices.length * 2];
+      for (int i = 0; i < freeCount; i++) {
+        grown[i] = freeIndices[(freeHead + i) % freeIndices.length];
+      }
+      freeIndices = grown;
+      freeHead = 0;
+    }
+    freeIndices[(freeHead + freeCount) % freeIndices.length] = index;
+    freeCount++;
   }
 
-  public Set<Integer> getActiveEntities() {
-    return getEntities();
+  private int pollFreeIndex() {
+    int index = freeIndices[freeHead];
+    freeHead = (freeHead + 1) % freeIndices.length;
+    freeCount--;
+    return index;
   }
 }
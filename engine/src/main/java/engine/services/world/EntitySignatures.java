@@ -0,0 +1,109 @@
+package engine.services.world;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Per-entity component signatures stored in one flat {@code long[]}, {@code stride} words per entity
+ * slot. The stride widens when a component type id outgrows it. Each slot remembers the handle its
+ * signature belongs to, so stale handles read as having no components.
+ */
+final class EntitySignatures {
+  private static final int NO_ENTITY = -1;
+
+  private long[] words = new long[16];
+  private int[] handles = new int[16];
+  private int stride = 1;
+
+  EntitySignatures() {
+    Arrays.fill(handles, NO_ENTITY);
+  }
+
+  void set(int entityId, int typeId) {
+    int slot = Entity.index(entityId);
+    ensureCapacity(slot, typeId);
+    if (handles[slot] != entityId) {
+      Arrays.fill(words, slot * stride, (slot + 1) * stride, 0L);
+      handles[slot] = entityId;
+    }
+    words[slot * stride + (typeId >>> 6)] |= 1L << typeId;
+  }
+
+  void clear(int entityId, int typeId) {
+    int slot = slotOf(entityId);
+    int word = typeId >>> 6;
+    if (slot >= 0 && word < stride) {
+      words[slot * stride + word] &= ~(1L << typeId);
+    }
+  }
+
+  void clearAll(int entityId) {
+    int slot = slotOf(entityId);
+    if (slot >= 0) {
+      Arrays.fill(words, slot * stride, (slot + 1) * stride, 0L);
+      handles[slot] = NO_ENTITY;
+    }
+  }
+
+  /** Forgets every entity; the words are reset lazily when a slot is next set. */
+  void clear() {
+    Arrays.fill(handles, NO_ENTITY);
+  }
+
+  boolean has(int entityId, int typeId) {
+    int slot = slotOf(entityId);
+    int word = typeId >>> 6;
+    return slot >= 0 && word < stride && (words[slot * stride + word] & (1L << typeId)) != 0;
+  }
+
+  boolean containsAll(int entityId, long[] mask) {
+    int slot = slotOf(entityId);
+    if (slot < 0) {
+      return false;
+    }
+    int base = slot * stride;
+    for (int w = 0; w < mask.length; w++) {
+      long bits = w < stride ? words[base + w] : 0L;
+      if ((bits & mask[w]) != mask[w]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Calls the action with the id of every component type the entity has. */
+  void forEachType(int entityId, IntConsumer action) {
+    int slot = slotOf(entityId);
+    if (slot >= 0) {
+      ComponentType.forEachType(words, slot * stride, stride, action);
+    }
+  }
+
+  private int slotOf(int entityId) {
+    if (entityId < 0) {
+      return -1;
+    }
+    int slot = Entity.index(entityId);
+    return slot < handles.length && handles[slot] == entityId ? slot : -1;
+  }
+
+  private void ensureCapacity(int slot, int typeId) {
+    int requiredStride = ComponentType.wordsFor(typeId);
+    if (requiredStride > stride) {
+      int slots = handles.length;
+      long[] widened = new long[slots * requiredStride];
+      for (int s = 0; s < slots; s++) {
+        System.arraycopy(words, s * stride, widened, s * requiredStride, stride);
+      }
+      words = widened;
+      stride = requiredStride;
+    }
+    if (slot >= handles.length) {
+      int oldSlots = handles.length;
+      int slots = Math.max(slot + 1, oldSlots * 2);
+      handles = Arrays.copyOf(handles, slots);
+      Arrays.fill(handles, oldSlots, slots, NO_ENTITY);
+      words = Arrays.copyOf(words, slots * stride);
+    }
+  }
+}
@@ -1,5 +1,17 @@
 package engine.services.world;
 
+import java.util.function.IntConsumer;
+
 public interface IComponentManager {
   <T> void addComponent(int entityId, T component);
+  <T> T getComponent(int entityId, Class<T> componentClass);
+  void removeComponent(int entityId, Class<?> componentClass);
+  boolean hasComponent(int entityId, Class<?> componentClass);
+  boolean hasAll(int entityId, long[] mask);
+  void entityDestroyed(int entityId);
+  /** Removes every component, keeping the allocated storage for reuse. */
+  void clear();
+  /** Calls the action with the {@link ComponentType} id of every component the entity has. */
+  void forEachComponentType(int entityId, IntConsumer action);
+  <T> IComponentStore<T> store(Class<T> componentClass);
 }
@@ -0,0 +1,17 @@
+package engine.services.world;
+
+/**
+ * Read access to every component of one type, independent of the storage backend.
+ *
+ * @param <T> the component type
+ */
+public interface IComponentStore<T> {
+  /** The component type held by this store. */
+  Class<T> componentClass();
+
+  /** true if the entity owns a component of this type. */
+  boolean has(int entityId);
+
+  /** The entity's component, or null if it has none. */
+  T get(int entityId);
+}
@@ -1,9 +1,10 @@
 package engine.services.world;
 
-import java.util.Set;
+import engine.util.IntSet;
 
 public interface IEntityManager {
   int createEntity();
   void destroyEntity(int entityId);
-  Set<Integer> getEntities();
+  boolean isAlive(int entityId);
+  IntSet getEntities();
 }
@@ -6,4 +6,43 @@ public interface ISystem {
   default int priority() {
     return 0;
   }
+
+  /**
+   * Component types this system reads and writes. Systems that do not override this are treated as
+   * {@link SystemAccess#EXCLUSIVE} and never overlap with other systems.
+   */
+  default SystemAccess access() {
+    return SystemAccess.EXCLUSIVE;
+  }
+
+  /**
+   * true if this system advances the simulation. With a fixed timestep enabled such systems run
+   * zero or more times per frame with the fixed delta instead of once per frame.
+   */
+  default boolean fixedStep() {
+    return false;
+  }
+
+  /**
+   * How many times per second the system wants its timed update, or 0 (the default) for every
+   * update. A system with a rate is skipped until enough time has accumulated and then receives the
+   * whole time since its previous run as its delta.
+   */
+  default float updateRate() {
+    return 0;
+  }
+
+  /**
+   * Run condition checked before each update; the update is skipped while it returns false. Time that
+   * passes while a paced system is skipped this way is not handed to its next run.
+   */
+  default boolean shouldRun(World world) {
+    return true;
+  }
+
+  /** Called when the system is added to a world, before its first update; e.g. to {@link World#observe}. */
+  default void onAttach(World world) { }
+
+  /** Called when the system is removed from the world; undoes {@link #onAttach}. */
+  default void onDetach(World world) { }
 }
@@ -0,0 +1,146 @@
+package engine.services.world;
+
+import io.micronaut.core.beans.BeanIntrospection;
+import io.micronaut.core.beans.BeanProperty;
+import io.micronaut.core.type.Argument;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * {@link ComponentCodec} built from a component's compile-time bean introspection instead of
+ * reflection or Jackson.
+ * <p>
+ * Every property must be a primitive, a boxed primitive, a String or an enum. Constructor arguments
+ * are matched to properties by name and passed on instantiation; the remaining properties must be
+ * writable and are set afterwards. Read-only properties that are not constructor arguments are
+ * rejected, since their value could not be restored.
+ */
+final class IntrospectedComponentCodec<T> implements ComponentCodec<T> {
+
+  /** Reads and writes one property value. */
+  private interface ValueCodec {
+    void write(ByteBuffer out, Object value);
+
+    Object read(ByteBuffer in);
+  }
+
+  private static final ValueCodec STRING = codec(
+    (out, v) -> ComponentCodec.putString(out, (String) v), ComponentCodec::getString);
+  private static final Map<Class<?>, ValueCodec> PRIMITIVES = Map.of(
+    int.class, codec((out, v) -> out.putInt((Integer) v), ByteBuffer::getInt),
+    float.class, codec((out, v) -> out.putFloat((Float) v), ByteBuffer::getFloat),
+    boolean.class, codec((out, v) -> out.put((byte) ((Boolean) v ? 1 : 0)), in -> in.get() != 0),
+    long.class, codec((out, v) -> out.putLong((Long) v), ByteBuffer::getLong),
+    double.class, codec((out, v) -> out.putDouble((Double) v), ByteBuffer::getDouble),
+    short.class, codec((out, v) -> out.putShort((Short) v), ByteBuffer::getShort),
+    byte.class, codec((out, v) -> out.put((Byte) v), ByteBuffer::get),
+    char.class, codec((out, v) -> out.putChar((Character) v), ByteBuffer::getChar));
+  private static final Map<Class<?>, Class<?>> UNBOXED = Map.of(
+    Integer.class, int.class, Float.class, float.class, Boolean.class, boolean.class, Long.class, long.class,
+    Double.class, double.class, Short.class, short.class, Byte.class, byte.class, Character.class, char.class);
+
+  private final BeanIntrospection<T> introspection;
+  private final List<BeanProperty<T, Object>> constructorProperties = new ArrayList<>();
+  private final List<ValueCodec> constructorCodecs = new ArrayList<>();
+  private final List<BeanProperty<T, Object>> writableProperties = new ArrayList<>();
+  private final List<ValueCodec> writableCodecs = new ArrayList<>();
+
+  IntrospectedComponentCodec(Class<T> componentClass) {
+    this.introspection = BeanIntrospection.getIntrospection(componentClass);
+
+    Map<String, BeanProperty<T, Object>> byName = new HashMap<>();
+    for (BeanProperty<T, Object> property : introspection.getBeanProperties()) {
+      byName.put(property.getName(), property);
+    }
+    for (Argument<?> argument : introspection.getConstructorArguments()) {
+      BeanProperty<T, Object> property = byName.remove(argument.getName());
+      if (property == null || property.isWriteOnly()) {
+        throw new IllegalArgumentException(componentClass.getSimpleName()
+          + " has no readable property for constructor argument " + argument.getName());
+      }
+      constructorProperties.add(property);
+      constructorCodecs.add(codecFor(componentClass, property));
+    }
+    for (BeanProperty<T, Object> property : byName.values()) {
+      if (property.isReadOnly()) {
+        throw new IllegalArgumentException(componentClass.getSimpleName()
+          + " has read-only property " + property.getName() + " that is not a constructor argument");
+      }
+      writableProperties.add(property);
+      writableCodecs.add(codecFor(componentClass, property));
+    }
+  }
+
+  @Override
+  public void write(T component, ByteBuffer out) {
+    for (int i = 0; i < constructorProperties.size(); i++) {
+      constructorCodecs.get(i).write(out, constructorProperties.get(i).get(component));
+    }
+    for (int i = 0; i < writableProperties.size(); i++) {
+      writableCodecs.get(i).write(out, writableProperties.get(i).get(component));
+    }
+  }
+
+  @Override
+  public T read(ByteBuffer in) {
+    Object[] arguments = new Object[constructorCodecs.size()];
+    for (int i = 0; i < arguments.length; i++) {
+      arguments[i] = constructorCodecs.get(i).read(in);
+    }
+    T component = introspection.instantiate(arguments);
+    for (int i = 0; i < writableProperties.size(); i++) {
+      writableProperties.get(i).set(component, writableCodecs.get(i).read(in));
+    }
+    return component;
+  }
+
+  private static ValueCodec codecFor(Class<?> componentClass, BeanProperty<?, Object> property) {
+    Class<?> type = property.getType();
+    ValueCodec primitive = PRIMITIVES.get(type);
+    if (primitive != null) {
+      return primitive;
+    }
+    if (UNBOXED.containsKey(type)) {
+      return nullable(PRIMITIVES.get(UNBOXED.get(type)));
+    }
+    if (type == String.class) {
+      return STRING;
+    }
+    if (type.isEnum()) {
+      Object[] constants = type.getEnumConstants();
+      return nullable(codec((out, v) -> out.putInt(((Enum<?>) v).ordinal()), in -> constants[in.getInt()]));
+    }
+    throw new IllegalArgumentException(componentClass.getSimpleName() + "." + property.getName()
+      + " has unsupported type " + type.getName());
+  }
+
+  private static ValueCodec codec(BiConsumer<ByteBuffer, Object> writer, Function<ByteBuffer, Object> reader) {
+    return new ValueCodec() {
+      @Override
+      public void write(ByteBuffer out, Object value) {
+        writer.accept(out, value);
+      }
+
+      @Override
+      public Object read(ByteBuffer in) {
+        return reader.apply(in);
+      }
+    };
+  }
+
+  /** Prefixes the value with a presence byte so null survives the round trip. */
+  private static ValueCodec nullable(ValueCodec codec) {
+    return codec((out, v) -> {
+      out.put((byte) (v == null ? 0 : 1));
+      if (v != null) {
+        codec.write(out, v);
+      }
+    }, in -> in.get() == 0 ? null : codec.read(in));
+  }
+}
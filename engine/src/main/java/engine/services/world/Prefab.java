@@ -0,0 +1,78 @@
+package engine.services.world;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * A reusable entity template: prototype components stamped onto new entities by
+ * {@link World#instantiate(Prefab, int)}.
+ * <p>
+ * Each instance gets its own copy of every prototype, made by the component's copier instead of
+ * rebuilding it from scene data. Types without a copier from {@link ComponentCopiers#forType} need
+ * one passed to {@link #with(Object, UnaryOperator)}. Prototypes must not be changed once the prefab
+ * is in use.
+ */
+public final class Prefab {
+  private final String name;
+  private final List<Object> prototypes = new ArrayList<>();
+  private final List<UnaryOperator<Object>> copiers = new ArrayList<>();
+  private Class<?>[] types = new Class<?>[0];
+  private long[] signature = new long[1];
+
+  public Prefab(String name) {
+    this.name = name;
+  }
+
+  /** Adds or replaces a prototype copied with its type's default copier. */
+  public <T> Prefab with(T prototype) {
+    @SuppressWarnings("unchecked")
+    Class<T> type = (Class<T>) prototype.getClass();
+    UnaryOperator<T> copier = ComponentCopiers.forType(type);
+    if (copier == null) {
+      throw new IllegalArgumentException("No copier for " + type.getSimpleName() + " in prefab " + name);
+    }
+    return with(prototype, copier);
+  }
+
+  /** Adds or replaces a prototype copied with the given function for every instance. */
+  @SuppressWarnings("unchecked")
+  public <T> Prefab with(T prototype, UnaryOperator<T> copier) {
+    Class<?> type = prototype.getClass();
+    for (int i = 0; i < types.length; i++) {
+      if (types[i] == type) {
+        prototypes.set(i, prototype);
+        copiers.set(i, (UnaryOperator<Object>) copier);
+        return this;
+      }
+    }
+    prototypes.add(prototype);
+    copiers.add((UnaryOperator<Object>) copier);
+    types = prototypes.stream().map(Object::getClass).toArray(Class<?>[]::new);
+    signature = ComponentType.mask(types);
+    return this;
+  }
+
+  public String name() {
+    return name;
+  }
+
+  /** Number of component types each instance receives. */
+  public int size() {
+    return types.length;
+  }
+
+  Class<?> type(int index) {
+    return types[index];
+  }
+
+  /** A fresh copy of the prototype at the index, for one instance. */
+  Object copy(int index) {
+    return copiers.get(index).apply(prototypes.get(index));
+  }
+
+  /** Signature of the components every instance owns. */
+  long[] signature() {
+    return signature;
+  }
+}
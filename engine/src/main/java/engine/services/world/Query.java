@@ -0,0 +1,141 @@
+package engine.services.world;
+
+import engine.util.IntSet;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A cached, incrementally maintained set of entities that own every component type in its signature.
+ * <p>
+ * Queries are obtained through {@link World#query(Class[])} and are updated by the World whenever a
+ * component is added or removed or an entity is destroyed. Matches are held in a dense array, so
+ * iterating a query costs O(matches) and allocates nothing:
+ * <pre>{@code
+ * Query sprites = world.query(TransformComponent.class, SpriteComponent.class);
+ * for (int i = 0; i < sprites.size(); i++) {
+ *   int entityId = sprites.entityAt(i);
+ *   ...
+ * }
+ * }</pre>
+ * Removal swaps the last match into the freed slot. A system that removes the current entity from the
+ * query while iterating must therefore walk the matches from the last index down to zero.
+ */
+public final class Query {
+  private static final int ABSENT = -1;
+
+  private final Class<?>[] componentTypes;
+  private final long[] mask;
+
+  private int[] entities = new int[16];
+  private int[] indexBySlot = new int[16];
+  private int size;
+
+  Query(Class<?>[] componentTypes) {
+    this.componentTypes = componentTypes.clone();
+    this.mask = ComponentType.mask(componentTypes);
+    Arrays.fill(indexBySlot, ABSENT);
+  }
+
+  /** Number of entities currently matching this query. */
+  public int size() {
+    return size;
+  }
+
+  /** true if no entity currently matches this query. */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** The matching entity stored at the given dense index (0 until {@link #size()}). */
+  public int entityAt(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+    }
+    return entities[index];
+  }
+
+  /** true if the entity currently matches this query. */
+  public boolean contains(int entityId) {
+    return indexOf(entityId) != ABSENT;
+  }
+
+  /** Visits every matching entity in dense order. */
+  public void forEach(IntConsumer action) {
+    for (int i = 0; i < size; i++) {
+      action.accept(entities[i]);
+    }
+  }
+
+  /** Copies the current matches into a new set. */
+  public IntSet toSet() {
+    IntSet result = new IntSet(size);
+    for (int i = 0; i < size; i++) {
+      result.add(entities[i]);
+    }
+    return result;
+  }
+
+  long[] mask() {
+    return mask;
+  }
+
+  boolean hasSignature(Class<?>[] types) {
+    return Arrays.equals(componentTypes, types);
+  }
+
+  boolean includes(int typeId) {
+    return ComponentType.has(mask, typeId);
+  }
+
+  void add(int entityId) {
+    int slot = Entity.index(entityId);
+    if (slot >= indexBySlot.length) {
+      int oldLength = indexBySlot.length;
+      indexBySlot = Arrays.copyOf(indexBySlot, Math.max(slot + 1, oldLength * 2));
+      Arrays.fill(indexBySlot, oldLength, indexBySlot.length, ABSENT);
+    }
+    int existing = indexBySlot[slot];
+    if (existing != ABSENT) {
+      // Already matching, or a stale handle of the recycled slot that the new entity replaces
+      entities[existing] = entityId;
+      return;
+    }
+    if (size == entities.length) {
+      entities = Arrays.copyOf(entities, size * 2);
+    }
+    entities[size] = entityId;
+    indexBySlot[slot] = size;
+    size++;
+  }
+
+  void remove(int entityId) {
+    int index = indexOf(entityId);
+    if (index == ABSENT) {
+      return;
+    }
+    int last = entities[--size];
+    entities[index] = last;
+    indexBySlot[Entity.index(last)] = index;
+    indexBySlot[Entity.index(entityId)] = ABSENT;
+  }
+
+  void clear() {
+    for (int i = 0; i < size; i++) {
+      indexBySlot[Entity.index(entities[i])] = ABSENT;
+    }
+    size = 0;
+  }
+
+  private int indexOf(int entityId) {
+    if (entityId < 0) {
+      return ABSENT;
+    }
+    int slot = Entity.index(entityId);
+    if (slot >= indexBySlot.length) {
+      return ABSENT;
+    }
+    int index = indexBySlot[slot];
+    return index != ABSENT && entities[index] == entityId ? index : ABSENT;
+  }
+}
@@ -0,0 +1,38 @@
+package engine.services.world;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Fork-join task visiting a range of a query's dense matches. Ranges larger than the minimum chunk
+ * size are split in half and processed by separate workers.
+ */
+final class QueryChunkTask extends RecursiveAction {
+  private final Query query;
+  private final int from;
+  private final int to;
+  private final int minChunkSize;
+  private final IntConsumer action;
+
+  QueryChunkTask(Query query, int from, int to, int minChunkSize, IntConsumer action) {
+    this.query = query;
+    this.from = from;
+    this.to = to;
+    this.minChunkSize = minChunkSize;
+    this.action = action;
+  }
+
+  @Override
+  protected void compute() {
+    if (to - from <= minChunkSize) {
+      for (int i = from; i < to; i++) {
+        action.accept(query.entityAt(i));
+      }
+      return;
+    }
+    int middle = (from + to) >>> 1;
+    invokeAll(
+      new QueryChunkTask(query, from, middle, minChunkSize, action),
+      new QueryChunkTask(query, middle, to, minChunkSize, action));
+  }
+}
@@ -0,0 +1,54 @@
+package engine.services.world;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * The component types a system reads and writes, used by {@link SystemManager} to decide which
+ * systems may run at the same time.
+ * <p>
+ * Two systems conflict when either writes a type the other reads or writes. Systems that make
+ * structural changes (creating or destroying entities, adding or removing components) or that have
+ * not declared their access are {@link #EXCLUSIVE} and always run alone. Systems that call into GL,
+ * OpenAL, GLFW or other thread-bound APIs must be pinned with {@link #onMainThread()}.
+ *
+ * @param reads component types only read
+ * @param writes component types mutated in place
+ * @param exclusive true if the system must not overlap with any other system
+ * @param mainThread true if the system must run on the thread that drives the world update
+ */
+public record SystemAccess(Set<Class<?>> reads, Set<Class<?>> writes, boolean exclusive, boolean mainThread) {
+
+  /** Runs alone on the main thread; the default for systems that do not declare their access. */
+  public static final SystemAccess EXCLUSIVE = new SystemAccess(Set.of(), Set.of(), true, true);
+
+  public SystemAccess {
+    reads = Set.copyOf(reads);
+    writes = Set.copyOf(writes);
+  }
+
+  /** Access touching only the given component types, runnable on any thread. */
+  public static SystemAccess of(Set<Class<?>> reads, Set<Class<?>> writes) {
+    return new SystemAccess(reads, writes, false, false);
+  }
+
+  /** Read-only access to the given component types, runnable on any thread. */
+  public static SystemAccess reading(Class<?>... componentClasses) {
+    return of(Set.of(componentClasses), Set.of());
+  }
+
+  /** Copy of this access pinned to the main thread. */
+  public SystemAccess onMainThread() {
+    return new SystemAccess(reads, writes, exclusive, true);
+  }
+
+  /** true if the two systems must not run at the same time. */
+  public boolean conflictsWith(SystemAccess other) {
+    if (exclusive || other.exclusive) {
+      return true;
+    }
+    return !Collections.disjoint(writes, other.writes)
+      || !Collections.disjoint(writes, other.reads)
+      || !Collections.disjoint(reads, other.writes);
+  }
+}
@@ -1,50 +1,309 @@
 package engine.services.world;
 
+import engine.services.profiler.ProfileSection;
+import engine.services.profiler.ProfilerService;
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
+/**
+ * Runs the registered systems once per update in priority order.
+ * <p>
+ * When parallel execution is enabled, systems are grouped into stages from their declared
+ * {@link SystemAccess}: a system is placed in the stage after the last earlier system it conflicts
+ * with, so systems touching disjoint component types share a stage and run concurrently on the
+ * common fork-join pool. Stages run one after another, and main-thread systems always run on the
+ * calling thread in their priority order. Systems without an access declaration are exclusive and
+ * form a stage of their own, which keeps the serial behaviour for them.
+ * <p>
+ * Structural changes recorded in the world's {@link CommandBuffer} are played back, and observed
+ * component events delivered, before the first system and after every system when running serially
+ * and after every stage when running in parallel.
+ * <p>
+ * With a fixed timestep enabled, {@link ISystem#fixedStep() fixed-step} systems only run from
+ * {@link #fixedUpdate(float)} and {@link #update(float)} runs the remaining ones; each group is
+ * scheduled on its own.
+ * <p>
+ * With a {@link ProfilerService} attached, every system update is measured in a profile section
+ * named after the system class.
+ * <p>
+ * A system declaring an {@link ISystem#updateRate() update rate} only runs its timed updates once
+ * enough time has accumulated and then receives the whole time elapsed since its previous run.
+ * Systems are staggered as they are added, so low-rate systems do not all fall due in the same frame.
+ * A system whose {@link ISystem#shouldRun run condition} is false is skipped.
+ */
 @RequiredArgsConstructor
 class SystemManager {
+  private static final double STAGGER_STEP = 0.6180339887498949;
+  // Delta passed through run() for the untimed update, which update rates do not apply to
+  private static final float UNTIMED = -1f;
+
   private final World world;
 
   private final List<ISystem> systems = new CopyOnWriteArrayList<>();
-  private boolean sorted = true;
+  private volatile Schedule all = Schedule.EMPTY;
+  private volatile Schedule fixed = Schedule.EMPTY;
+  private volatile Schedule frame = Schedule.EMPTY;
+  private volatile boolean dirty = false;
+  private volatile boolean parallel = false;
+  private volatile boolean fixedTimestep = false;
+  private volatile ProfilerService profiler;
+  private final Map<ISystem, ProfileSection> profileSections = new ConcurrentHashMap<>();
+  private final Map<ISystem, Pacing> pacings = new ConcurrentHashMap<>();
+  private int pacedSystemsAdded;
 
   public void addSystem(ISystem system) {
     systems.add(system);
-    sorted = false;
+    float rate = system.updateRate();
+    if (rate > 0) {
+      // Golden-ratio phases spread any number of paced systems evenly over their interval
+      double phase = (pacedSystemsAdded++ * STAGGER_STEP) % 1.0;
+      pacings.put(system, new Pacing(1.0 / rate, phase));
+    }
+    system.onAttach(world);
+    dirty = true;
   }
 
   public void removeSystem(ISystem system) {
-    systems.remove(system);
+    if (systems.remove(system)) {
+      system.onDetach(world);
+    }
+    profileSections.remove(system);
+    pacings.remove(system);
+    dirty = true;
+  }
+
+  /** Attaches the profiler that measures each system update; null detaches it. */
+  public void setProfiler(ProfilerService profiler) {
+    this.profiler = profiler;
+    profileSections.clear();
+  }
+
+  /** Enables or disables running non-conflicting systems of a stage concurrently. */
+  public void setParallel(boolean parallel) {
+    this.parallel = parallel;
   }
 
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  /** Enables or disables running fixed-step systems from {@link #fixedUpdate(float)} only. */
+  public void setFixedTimestep(boolean fixedTimestep) {
+    this.fixedTimestep = fixedTimestep;
+  }
+
+  public boolean isFixedTimestep() {
+    return fixedTimestep;
+  }
+
+  /** Runs every system's untimed update; update rates do not apply to it. */
   public void update() {
-    if(!sorted) {
-      systems.sort(Comparator.comparingInt(ISystem::priority));
-      sorted = true;
+    rebuildIfDirty();
+    run(all, UNTIMED, (system, delta) -> system.update(world));
+  }
+
+  public void update(float dt) {
+    rebuildIfDirty();
+    run(fixedTimestep ? frame : all, dt, (system, delta) -> system.update(world, delta));
+  }
+
+  /** Advances the fixed-step systems by one step; does nothing unless the fixed timestep is enabled. */
+  public void fixedUpdate(float fixedDt) {
+    if (!fixedTimestep) {
+      return;
     }
+    rebuildIfDirty();
+    run(fixed, fixedDt, (system, delta) -> system.update(world, delta));
+  }
 
+  public void clear() {
     for (ISystem system : systems) {
-      system.update(world);
+      system.onDetach(world);
     }
+    systems.clear();
+    profileSections.clear();
+    pacings.clear();
+    dirty = true;
   }
 
-  public void update(float dt) {
-    if(!sorted) {
-      systems.sort(Comparator.comparingInt(ISystem::priority));
-      sorted = true;
+  /** The current execution stages; systems within a stage may run concurrently. */
+  List<List<ISystem>> stages() {
+    rebuildIfDirty();
+    return all.stages();
+  }
+
+  private void rebuildIfDirty() {
+    if (dirty) {
+      dirty = false;
+      List<ISystem> sorted = new ArrayList<>(systems);
+      sorted.sort(Comparator.comparingInt(ISystem::priority));
+      all = Schedule.of(sorted);
+      fixed = Schedule.of(sorted.stream().filter(ISystem::fixedStep).toList());
+      frame = Schedule.of(sorted.stream().filter(system -> !system.fixedStep()).toList());
     }
+  }
 
-    for (ISystem system : systems) {
-      system.update(world, dt);
+  private void run(Schedule schedule, float dt, SystemUpdate update) {
+    // Changes made between updates reach the systems' observers before the first system runs
+    world.playbackCommands();
+    if (!parallel) {
+      for (ISystem system : schedule.ordered()) {
+        runSystem(system, dt, update);
+        world.playbackCommands();
+      }
+      return;
+    }
+
+    for (List<ISystem> stage : schedule.stages()) {
+      if (stage.size() == 1) {
+        runSystem(stage.get(0), dt, update);
+        world.playbackCommands();
+        continue;
+      }
+
+      // Fork all worker systems but one, which runs on this thread after the main-thread systems
+      List<ForkJoinTask<?>> tasks = new ArrayList<>(stage.size());
+      ISystem inlineWorker = null;
+      for (ISystem system : stage) {
+        if (system.access().mainThread()) {
+          continue;
+        }
+        if (inlineWorker == null) {
+          inlineWorker = system;
+        } else {
+          tasks.add(ForkJoinPool.commonPool().submit(() -> runSystem(system, dt, update)));
+        }
+      }
+      for (ISystem system : stage) {
+        if (system.access().mainThread()) {
+          runSystem(system, dt, update);
+        }
+      }
+      if (inlineWorker != null) {
+        runSystem(inlineWorker, dt, update);
+      }
+      for (ForkJoinTask<?> task : tasks) {
+        task.join();
+      }
+      world.playbackCommands();
     }
   }
 
-  public void clear() {
-    systems.clear();
+  private void runSystem(ISystem system, float dt, SystemUpdate update) {
+    float delta = dt;
+    if (dt != UNTIMED && system.updateRate() > 0) {
+      Pacing pacing = pacings.get(system);
+      if (pacing != null) {
+        if (!pacing.advance(dt)) {
+          return;
+        }
+        delta = pacing.takeElapsed();
+      }
+    }
+    if (!system.shouldRun(world)) {
+      return;
+    }
+
+    ProfilerService profiler = this.profiler;
+    if (profiler == null || !profiler.isEnabled()) {
+      update.run(system, delta);
+      return;
+    }
+    ProfileSection section = profileSections.get(system);
+    if (section == null) {
+      section = profiler.section(ProfilerService.nameOf(system.getClass()));
+      profileSections.put(system, section);
+    }
+    section.begin();
+    try {
+      update.run(system, delta);
+    } finally {
+      section.end();
+    }
+  }
+
+  private static List<List<ISystem>> buildStages(List<ISystem> ordered) {
+    List<List<ISystem>> result = new ArrayList<>();
+    SystemAccess[] accesses = new SystemAccess[ordered.size()];
+    int[] levels = new int[ordered.size()];
+
+    for (int i = 0; i < ordered.size(); i++) {
+      accesses[i] = ordered.get(i).access();
+      int level = 0;
+      for (int j = 0; j < i; j++) {
+        if (levels[j] >= level && mustFollow(accesses[i], accesses[j])) {
+          level = levels[j] + 1;
+        }
+      }
+      levels[i] = level;
+      if (level == result.size()) {
+        result.add(new ArrayList<>());
+      }
+      result.get(level).add(ordered.get(i));
+    }
+
+    List<List<ISystem>> frozen = new ArrayList<>(result.size());
+    for (List<ISystem> stage : result) {
+      frozen.add(List.copyOf(stage));
+    }
+    return List.copyOf(frozen);
+  }
+
+  /** One system update, given the delta time the system should see. */
+  private interface SystemUpdate {
+    void run(ISystem system, float deltaTime);
+  }
+
+  /** Accumulated time of a system with an update rate. Only touched by the thread running the system. */
+  private static final class Pacing {
+    private final double interval;
+    private double credit;
+    private double elapsed;
+
+    Pacing(double interval, double phase) {
+      this.interval = interval;
+      this.credit = interval * phase;
+    }
+
+    /** Adds the frame time; true if the system is due. */
+    boolean advance(float dt) {
+      elapsed += dt;
+      credit += dt;
+      if (credit < interval) {
+        return false;
+      }
+      // After a long frame run once and keep the phase instead of catching up
+      credit = (credit - interval) % interval;
+      return true;
+    }
+
+    /** Time since the previous run, which the system receives as its delta. */
+    float takeElapsed() {
+      float delta = (float) elapsed;
+      elapsed = 0;
+      return delta;
+    }
+  }
+
+  /** Systems in priority order together with their execution stages. */
+  private record Schedule(List<ISystem> ordered, List<List<ISystem>> stages) {
+    static final Schedule EMPTY = new Schedule(List.of(), List.of());
+
+    static Schedule of(List<ISystem> ordered) {
+      return new Schedule(List.copyOf(ordered), buildStages(ordered));
+    }
+  }
+
+  private static boolean mustFollow(SystemAccess later, SystemAccess earlier) {
+    // Main-thread systems share one thread anyway; keeping them ordered preserves draw order.
+    return later.conflictsWith(earlier) || (later.mainThread() && earlier.mainThread());
   }
 }
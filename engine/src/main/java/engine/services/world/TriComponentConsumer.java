@@ -0,0 +1,7 @@
+package engine.services.world;
+
+/** Per-entity callback of {@link World#parallelForEach} receiving the entity and its three components. */
+@FunctionalInterface
+public interface TriComponentConsumer<A, B, C> {
+  void accept(int entityId, A a, B b, C c);
+}
@@ -1,23 +1,240 @@
 package engine.services.world;
 
-import java.util.Set;
-import java.util.stream.Collectors;
+import engine.util.IntSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
 
 public class World {
-  EntityManager entityManager = new EntityManager();
-  ComponentManager componentManager = new ComponentManager();
+  /** Default number of matches below which {@link #parallelForEach} stops splitting work. */
+  public static final int DEFAULT_MIN_CHUNK_SIZE = 256;
+
+  final EntityManager entityManager = new EntityManager();
+  final IComponentManager componentManager;
+
+  private final WorldStorage storage;
+  private final List<Query> queries = new CopyOnWriteArrayList<>();
+  private final CommandBuffer commands = new CommandBuffer();
+  private final ComponentObservers observers = new ComponentObservers();
+  private final ChangeTicks ticks = new ChangeTicks();
+  private final AtomicInteger changeTick = new AtomicInteger(1);
+  private volatile float interpolationAlpha = 1f;
+
+  public World() {
+    this(WorldStorage.SPARSE_SET);
+  }
+
+  public World(WorldStorage storage) {
+    this.storage = storage;
+    this.componentManager = switch (storage) {
+      case SPARSE_SET -> new ComponentManager();
+      case ARCHETYPE -> new ArchetypeComponentManager();
+    };
+  }
+
+  /** The component storage backend this world was created with. */
+  public WorldStorage storage() {
+    return storage;
+  }
 
   public int createEntity() {
     return entityManager.createEntity();
   }
 
+  /** Creates {@code count} entities without components and returns their handles. */
+  public int[] createEntities(int count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("Entity count must not be negative: " + count);
+    }
+    int[] entities = new int[count];
+    for (int i = 0; i < count; i++) {
+      entities[i] = entityManager.createEntity();
+    }
+    return entities;
+  }
+
   public void destroyEntity(int entityId) {
+    if (!retire(entityId)) {
+      return;
+    }
+    for (Query query : queries) {
+      query.remove(entityId);
+    }
+  }
+
+  /**
+   * Destroys every given entity, like {@link #destroyEntity} for each, but updates one query at a
+   * time. Stale handles are skipped.
+   */
+  public void destroyEntities(int[] entityIds) {
+    for (int entityId : entityIds) {
+      retire(entityId);
+    }
+    for (Query query : queries) {
+      for (int entityId : entityIds) {
+        query.remove(entityId);
+      }
+    }
+  }
+
+  /**
+   * Destroys every entity and empties every component store and query in place, keeping their
+   * storage. Costs one pass over the entity slots and the stored components instead of a per-entity
+   * walk of the component types; use it to tear down a scene or zone. Observers still receive a
+   * {@link ComponentEvent#DESTROYED} event for each component.
+   */
+  public void clear() {
+    if (observers.observesAny(ComponentEvent.DESTROYED)) {
+      for (int index = 0; index < entityManager.capacity(); index++) {
+        int entityId = entityManager.handleAt(index);
+        if (entityId >= 0) {
+          componentManager.forEachComponentType(entityId,
+            typeId -> observers.record(ComponentEvent.DESTROYED, typeId, entityId));
+        }
+      }
+    }
+    componentManager.clear();
+    entityManager.destroyAll();
+    for (Query query : queries) {
+      query.clear();
+    }
+  }
+
+  /** Removes a live entity's components and frees its handle; false if the handle was stale. */
+  private boolean retire(int entityId) {
+    if (!entityManager.isAlive(entityId)) {
+      return false;
+    }
+    if (observers.observesAny(ComponentEvent.DESTROYED)) {
+      componentManager.forEachComponentType(entityId,
+        typeId -> observers.record(ComponentEvent.DESTROYED, typeId, entityId));
+    }
     componentManager.entityDestroyed(entityId);
     entityManager.destroyEntity(entityId);
+    return true;
+  }
+
+  /** Creates one entity from the prefab and returns its handle. */
+  public int instantiate(Prefab prefab) {
+    return instantiate(prefab, 1)[0];
   }
 
+  /**
+   * Creates {@code count} entities, each with its own copy of every prefab component, and returns
+   * their handles. Components are added type by type across all new entities, and every query is
+   * matched once against the prefab's signature instead of once per added component.
+   */
+  public int[] instantiate(Prefab prefab, int count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("Instance count must not be negative: " + count);
+    }
+    int[] entities = createEntities(count);
+
+    int tick = changeTick.get();
+    for (int c = 0; c < prefab.size(); c++) {
+      int typeId = ComponentType.id(prefab.type(c));
+      boolean observed = observers.observes(ComponentEvent.ADDED, typeId);
+      for (int entityId : entities) {
+        componentManager.addComponent(entityId, prefab.copy(c));
+        ticks.added(typeId, Entity.index(entityId), tick);
+        if (observed) {
+          observers.record(ComponentEvent.ADDED, typeId, entityId);
+        }
+      }
+    }
+
+    // The new entities own exactly the prefab's components, so one signature check decides each query
+    long[] signature = prefab.signature();
+    for (int q = 0; q < queries.size(); q++) {
+      Query query = queries.get(q);
+      if (ComponentType.containsAll(signature, query.mask())) {
+        for (int entityId : entities) {
+          query.add(entityId);
+        }
+      }
+    }
+    return entities;
+  }
+
+  /**
+   * true if the handle refers to a live entity. Handles kept after their entity was destroyed report
+   * false even once the underlying slot has been recycled for a new entity.
+   */
+  public boolean isAlive(int entityId) {
+    return entityManager.isAlive(entityId);
+  }
+
+  /**
+   * Adds or replaces a component. A replacement counts as a change, not an addition, for both change
+   * ticks and observers. Adding to a destroyed entity's stale handle is ignored.
+   */
   public <T> void addComponent(int entityId, T component) {
+    if (!entityManager.isAlive(entityId)) {
+      return;
+    }
+    int typeId = ComponentType.id(component.getClass());
+    boolean replacing = componentManager.hasComponent(entityId, component.getClass());
+    if (!replacing && observers.observes(ComponentEvent.ADDED, typeId)) {
+      observers.record(ComponentEvent.ADDED, typeId, entityId);
+    }
     componentManager.addComponent(entityId, component);
+    stampAddedOrReplaced(typeId, entityId, replacing, changeTick.get());
+    for (int i = 0; i < queries.size(); i++) {
+      Query query = queries.get(i);
+      if (query.includes(typeId) && componentManager.hasAll(entityId, query.mask())) {
+        query.add(entityId);
+      }
+    }
+  }
+
+  /**
+   * Adds or replaces a component of one type on every given entity; the factory receives the index
+   * into {@code entityIds} and returns that entity's component. The queries the type can affect are
+   * picked once for the whole batch. Stale handles are skipped.
+   */
+  public <T> void addComponents(int[] entityIds, Class<T> componentClass, IntFunction<? extends T> factory) {
+    int typeId = ComponentType.id(componentClass);
+    List<Query> affected = new ArrayList<>();
+    for (Query query : queries) {
+      if (query.includes(typeId)) {
+        affected.add(query);
+      }
+    }
+    boolean observed = observers.observes(ComponentEvent.ADDED, typeId);
+    int tick = changeTick.get();
+
+    for (int i = 0; i < entityIds.length; i++) {
+      int entityId = entityIds[i];
+      if (!entityManager.isAlive(entityId)) {
+        continue;
+      }
+      boolean replacing = componentManager.hasComponent(entityId, componentClass);
+      if (observed && !replacing) {
+        observers.record(ComponentEvent.ADDED, typeId, entityId);
+      }
+      componentManager.addComponent(entityId, factory.apply(i));
+      stampAddedOrReplaced(typeId, entityId, replacing, tick);
+      for (int q = 0; q < affected.size(); q++) {
+        Query query = affected.get(q);
+        if (componentManager.hasAll(entityId, query.mask())) {
+          query.add(entityId);
+        }
+      }
+    }
+  }
+
+  private void stampAddedOrReplaced(int typeId, int entityId, boolean replacing, int tick) {
+    if (replacing) {
+      ticks.changed(typeId, Entity.index(entityId), tick);
+    } else {
+      ticks.added(typeId, Entity.index(entityId), tick);
+    }
   }
 
   public <T> T getComponent(int entityId, Class<T> componentClass) {
@@ -25,31 +242,265 @@ public class World {
   }
 
   public void removeComponent(int entityId, Class<?> componentClass) {
+    int typeId = ComponentType.id(componentClass);
+    if (observers.observes(ComponentEvent.REMOVED, typeId) && componentManager.hasComponent(entityId, componentClass)) {
+      observers.record(ComponentEvent.REMOVED, typeId, entityId);
+    }
     componentManager.removeComponent(entityId, componentClass);
+    for (int i = 0; i < queries.size(); i++) {
+      Query query = queries.get(i);
+      if (query.includes(typeId)) {
+        query.remove(entityId);
+      }
+    }
   }
 
   public boolean hasComponent(int entityId, Class<?> componentClass) {
     return componentManager.hasComponent(entityId, componentClass);
   }
 
-  public Set<Integer> getEntitiesWith(Class<?>... componentClasses) {
-    // Start with a list of all active entities.
-    Set<Integer> activeEntities = entityManager.getActiveEntities();
+  /**
+   * The buffer for structural changes deferred to the next sync point. Systems iterating a query,
+   * or running on worker threads, record into it instead of changing the world directly.
+   */
+  public CommandBuffer commands() {
+    return commands;
+  }
+
+  /**
+   * Sync point: applies the deferred structural changes recorded in {@link #commands()}, then
+   * delivers the pending {@link #observe observed} component events. Commands recorded by listeners
+   * are applied, and the events they raise delivered, before this returns.
+   */
+  public void playbackCommands() {
+    do {
+      if (!commands.isEmpty()) {
+        commands.playback(this);
+      }
+      observers.deliver();
+    } while (!commands.isEmpty() || observers.hasPending());
+  }
 
+  /**
+   * Registers a listener called with the entity handle whenever the event happens to a component of
+   * the given type. Events are batched and delivered in the order they happened at the next sync
+   * point ({@link #playbackCommands()}), on the thread running it, so listeners may change the world
+   * directly. By then the entity may have changed again: a listener for {@link ComponentEvent#ADDED}
+   * should check that the component is still there.
+   * <p>
+   * Use this to allocate and free resources tied to a component, such as native audio sources, only
+   * when components come and go instead of scanning for them every frame. Register from the main
+   * thread, typically in {@link ISystem#onAttach}.
+   */
+  public void observe(ComponentEvent event, Class<?> componentClass, IntConsumer listener) {
+    observers.add(event, componentClass, listener);
+  }
+
+  /** Removes a listener registered with {@link #observe}; events still pending are not delivered to it. */
+  public void unobserve(ComponentEvent event, Class<?> componentClass, IntConsumer listener) {
+    observers.remove(event, componentClass, listener);
+  }
+
+  /**
+   * How far the current frame lies between the previous and the latest fixed simulation step, in
+   * [0, 1]. Renderers blend {@code previousPosition} towards {@code position} by this amount; it is
+   * 1 when the simulation runs once per frame.
+   */
+  public float interpolationAlpha() {
+    return interpolationAlpha;
+  }
+
+  public void setInterpolationAlpha(float interpolationAlpha) {
+    this.interpolationAlpha = interpolationAlpha;
+  }
+
+  /**
+   * The current change tick. Components added or marked changed now are stamped with this tick.
+   */
+  public int changeTick() {
+    return changeTick.get();
+  }
+
+  /**
+   * Ends the current change tick and returns it. A system calls this at the end of its update and
+   * keeps the result as its last-run tick: every change made afterwards carries a newer tick, while
+   * the system's own changes do not, so the next run sees exactly what others changed meanwhile.
+   */
+  public int advanceChangeTick() {
+    return changeTick.getAndIncrement();
+  }
+
+  /**
+   * Stamps the entity's component as changed at the current tick. Components are mutated in place,
+   * so systems that write to a component call this (or use {@link #getMutableComponent}) to make the
+   * write visible to change filters. Safe to call from worker threads.
+   */
+  public void markChanged(int entityId, Class<?> componentClass) {
+    if (entityManager.isAlive(entityId)) {
+      ticks.changed(ComponentType.id(componentClass), Entity.index(entityId), changeTick.get());
+    }
+  }
+
+  /** Returns the component like {@link #getComponent}, marking it changed if present. */
+  public <T> T getMutableComponent(int entityId, Class<T> componentClass) {
+    T component = componentManager.getComponent(entityId, componentClass);
+    if (component != null) {
+      ticks.changed(ComponentType.id(componentClass), Entity.index(entityId), changeTick.get());
+    }
+    return component;
+  }
+
+  /** true if the entity's component was added or marked changed after the given tick. */
+  public boolean isChangedSince(int entityId, Class<?> componentClass, int sinceTick) {
+    int tick = ticks.changedTick(ComponentType.id(componentClass), Entity.index(entityId));
+    return ChangeTicks.isNewer(tick, sinceTick) && componentManager.hasComponent(entityId, componentClass);
+  }
+
+  /** true if the entity's component was added after the given tick. */
+  public boolean isAddedSince(int entityId, Class<?> componentClass, int sinceTick) {
+    int tick = ticks.addedTick(ComponentType.id(componentClass), Entity.index(entityId));
+    return ChangeTicks.isNewer(tick, sinceTick) && componentManager.hasComponent(entityId, componentClass);
+  }
+
+  /** Visits the query's matches whose component of the given type changed after the given tick. */
+  public void forEachChangedSince(Query query, Class<?> componentClass, int sinceTick, IntConsumer action) {
+    int typeId = ComponentType.id(componentClass);
+    for (int i = 0; i < query.size(); i++) {
+      int entityId = query.entityAt(i);
+      if (ChangeTicks.isNewer(ticks.changedTick(typeId, Entity.index(entityId)), sinceTick)) {
+        action.accept(entityId);
+      }
+    }
+  }
+
+  /** Visits the query's matches whose component of the given type was added after the given tick. */
+  public void forEachAddedSince(Query query, Class<?> componentClass, int sinceTick, IntConsumer action) {
+    int typeId = ComponentType.id(componentClass);
+    for (int i = 0; i < query.size(); i++) {
+      int entityId = query.entityAt(i);
+      if (ChangeTicks.isNewer(ticks.addedTick(typeId, Entity.index(entityId)), sinceTick)) {
+        action.accept(entityId);
+      }
+    }
+  }
+
+  /**
+   * Returns the store holding every component of the given type, for repeated lookups
+   * without a per-call type lookup. With sparse-set storage this is the type's {@link ComponentPool}.
+   */
+  public <T> IComponentStore<T> store(Class<T> componentClass) {
+    return componentManager.store(componentClass);
+  }
+
+  /**
+   * Returns the cached query for the given component types, registering it on first use.
+   * The returned query stays up to date as components are added and removed, so systems can
+   * iterate it every frame without re-filtering the world. Safe to call from systems running in
+   * parallel; registration is serialized.
+   */
+  public Query query(Class<?>... componentClasses) {
     if (componentClasses == null || componentClasses.length == 0) {
-      return activeEntities;
+      throw new IllegalArgumentException("A query needs at least one component type");
     }
+    Query existing = findQuery(componentClasses);
+    return existing != null ? existing : registerQuery(componentClasses);
+  }
 
-    // Filter the list down to only those that have all the required components.
-    return activeEntities.stream()
-      .filter(entityId -> {
-        for (Class<?> componentClass : componentClasses) {
-          if (!componentManager.hasComponent(entityId, componentClass)) {
-            return false; // This entity doesn't have one of the required components.
-          }
-        }
-        return true; // This entity has all required components.
-      })
-      .collect(Collectors.toSet());
+  private Query findQuery(Class<?>[] componentClasses) {
+    for (Query query : queries) {
+      if (query.hasSignature(componentClasses)) {
+        return query;
+      }
+    }
+    return null;
+  }
+
+  private synchronized Query registerQuery(Class<?>[] componentClasses) {
+    Query existing = findQuery(componentClasses);
+    if (existing != null) {
+      return existing;
+    }
+
+    Query query = new Query(componentClasses);
+    for (int index = 0; index < entityManager.capacity(); index++) {
+      int entityId = entityManager.handleAt(index);
+      if (entityId >= 0 && componentManager.hasAll(entityId, query.mask())) {
+        query.add(entityId);
+      }
+    }
+    queries.add(query);
+    return query;
+  }
+
+  /** Snapshot of the entities owning all given component types; prefer {@link #query(Class[])} in hot paths. */
+  public IntSet getEntitiesWith(Class<?>... componentClasses) {
+    if (componentClasses == null || componentClasses.length == 0) {
+      return entityManager.getEntities();
+    }
+    return query(componentClasses).toSet();
+  }
+
+  /**
+   * Visits every entity matching the query, splitting the matches into chunks that run on the
+   * common fork-join pool. The action must only mutate the components of the entity it receives and
+   * must not add or remove components or create or destroy entities; the query may not change while
+   * it is being walked.
+   */
+  public void parallelForEach(Query query, IntConsumer action) {
+    parallelForEach(query, DEFAULT_MIN_CHUNK_SIZE, action);
+  }
+
+  /**
+   * Like {@link #parallelForEach(Query, IntConsumer)}, with the smallest number of matches handed to
+   * one worker. Queries no larger than the minimum chunk size run on the calling thread.
+   */
+  public void parallelForEach(Query query, int minChunkSize, IntConsumer action) {
+    if (minChunkSize < 1) {
+      throw new IllegalArgumentException("Minimum chunk size must be positive: " + minChunkSize);
+    }
+    int size = query.size();
+    if (size <= minChunkSize) {
+      for (int i = 0; i < size; i++) {
+        action.accept(query.entityAt(i));
+      }
+      return;
+    }
+    ForkJoinPool.commonPool().invoke(new QueryChunkTask(query, 0, size, minChunkSize, action));
+  }
+
+  /** Parallel iteration handing each matching entity its component of the given type. */
+  public <A> void parallelForEach(Query query, Class<A> typeA, int minChunkSize, ComponentConsumer<A> action) {
+    IComponentStore<A> storeA = store(typeA);
+    parallelForEach(query, minChunkSize, entityId -> action.accept(entityId, storeA.get(entityId)));
+  }
+
+  /** Parallel iteration handing each matching entity its components of the two given types. */
+  public <A, B> void parallelForEach(Query query, Class<A> typeA, Class<B> typeB, int minChunkSize,
+                                     BiComponentConsumer<A, B> action) {
+    IComponentStore<A> storeA = store(typeA);
+    IComponentStore<B> storeB = store(typeB);
+    parallelForEach(query, minChunkSize,
+      entityId -> action.accept(entityId, storeA.get(entityId), storeB.get(entityId)));
+  }
+
+  /** Parallel iteration handing each matching entity its components of the three given types. */
+  public <A, B, C> void parallelForEach(Query query, Class<A> typeA, Class<B> typeB, Class<C> typeC,
+                                        int minChunkSize, TriComponentConsumer<A, B, C> action) {
+    IComponentStore<A> storeA = store(typeA);
+    IComponentStore<B> storeB = store(typeB);
+    IComponentStore<C> storeC = store(typeC);
+    parallelForEach(query, minChunkSize,
+      entityId -> action.accept(entityId, storeA.get(entityId), storeB.get(entityId), storeC.get(entityId)));
+  }
+
+  /**
+   * Visits, chunk by chunk, every entity matching the query. Only available with
+   * {@link WorldStorage#ARCHETYPE}, where matching entities are stored contiguously per archetype.
+   */
+  public void forEachChunk(Query query, Consumer<ArchetypeChunk> action) {
+    if (!(componentManager instanceof ArchetypeComponentManager archetypes)) {
+      throw new IllegalStateException("Chunk iteration requires " + WorldStorage.ARCHETYPE + " storage");
+    }
+    archetypes.forEachChunk(query.mask(), action);
   }
 }
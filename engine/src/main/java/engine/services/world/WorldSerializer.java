@@ -0,0 +1,251 @@
+package engine.services.world;
+
+import engine.services.world.components.AnimatedSpriteComponent;
+import engine.services.world.components.ControllableComponent;
+import engine.services.world.components.MeshComponent;
+import engine.services.world.components.MoveToTargetComponent;
+import engine.services.world.components.MovementStatsComponent;
+import engine.services.world.components.ParentComponent;
+import engine.services.world.components.SpriteComponent;
+import engine.services.world.components.TransformComponent;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Captures a {@link World} into a compact binary snapshot and restores it, for saves, rollback and
+ * replay.
+ * <p>
+ * A snapshot holds the entity table (every slot's handle and generation and the free-slot queue),
+ * followed by one section per registered component type listing each owner and its encoded
+ * component. Restoring reproduces the exact entity handles, so ids kept by systems or sequences stay
+ * valid and entities created afterwards get the same handles as in the recorded run. Component types
+ * without a registered {@link ComponentCodec} are not captured.
+ * <p>
+ * A delta snapshot only encodes components changed or added since a change tick (see
+ * {@link World#markChanged}); unchanged components are listed by owner alone, so removals are still
+ * captured. To take deltas, keep the tick returned by {@link World#advanceChangeTick()} right after
+ * the base capture and pass it to {@link #captureDelta}. A delta must be restored onto a world in
+ * the state it was taken against, e.g. right after restoring the base snapshot.
+ * <p>
+ * Not thread-safe; capture and restore between frames, not while systems run.
+ */
+public final class WorldSerializer {
+  private static final int MAGIC = 0x57534E50; // "WSNP"
+  private static final byte VERSION = 1;
+  private static final byte FULL = 0;
+  private static final byte DELTA = 1;
+
+  private final Map<Class<?>, ComponentCodec<?>> codecs = new LinkedHashMap<>();
+  private final Map<String, Class<?>> typesByName = new HashMap<>();
+  private ByteBuffer scratch = ByteBuffer.allocate(64 * 1024);
+  private int[] listedBySlot = new int[0];
+
+  /** Serializer with codecs for the built-in components that hold simulation state. */
+  public static WorldSerializer withDefaultCodecs() {
+    return new WorldSerializer()
+      .register(TransformComponent.class, ComponentCodecs.TRANSFORM)
+      .register(SpriteComponent.class, ComponentCodecs.SPRITE)
+      .register(ControllableComponent.class, ComponentCodecs.CONTROLLABLE)
+      .register(MoveToTargetComponent.class, ComponentCodecs.MOVE_TO_TARGET)
+      .register(MovementStatsComponent.class, ComponentCodecs.introspected(MovementStatsComponent.class))
+      .register(MeshComponent.class, ComponentCodecs.introspected(MeshComponent.class))
+      .register(ParentComponent.class, ComponentCodecs.introspected(ParentComponent.class))
+      .register(AnimatedSpriteComponent.class, ComponentCodecs.introspected(AnimatedSpriteComponent.class));
+  }
+
+  /** Registers or replaces the codec for a component type. */
+  public <T> WorldSerializer register(Class<T> componentClass, ComponentCodec<T> codec) {
+    codecs.put(componentClass, codec);
+    typesByName.put(componentClass.getName(), componentClass);
+    return this;
+  }
+
+  /** Full snapshot of the world. The returned buffer is ready to read and owned by the caller. */
+  public ByteBuffer capture(World world) {
+    return write(world, FULL, 0);
+  }
+
+  /** Snapshot encoding only the components changed since the given change tick. */
+  public ByteBuffer captureDelta(World world, int sinceTick) {
+    return write(world, DELTA, sinceTick);
+  }
+
+  /**
+   * Restores a full or delta snapshot. A full snapshot replaces every entity of the world; a delta is
+   * applied on top of the state it was taken against. The snapshot's position is left unchanged.
+   */
+  public void restore(World world, ByteBuffer snapshot) {
+    ByteBuffer in = snapshot.duplicate().order(snapshot.order());
+    if (in.getInt() != MAGIC) {
+      throw new IllegalArgumentException("Not a world snapshot");
+    }
+    byte version = in.get();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported world snapshot version " + version);
+    }
+    boolean delta = in.get() == DELTA;
+    Arrays.fill(listedBySlot, 0);
+
+    restoreEntities(world, in, delta);
+
+    int typeCount = in.getInt();
+    for (int section = 1; section <= typeCount; section++) {
+      String typeName = ComponentCodec.getString(in);
+      Class<?> type = typesByName.get(typeName);
+      if (type == null) {
+        throw new IllegalArgumentException("No codec registered for snapshot component " + typeName);
+      }
+      restoreComponents(world, in, type, codecs.get(type), delta, section);
+    }
+  }
+
+  private ByteBuffer write(World world, byte kind, int sinceTick) {
+    scratch.clear();
+    ensure(Integer.BYTES + 2 + world.entityManager.stateSize() + Integer.BYTES);
+    scratch.putInt(MAGIC).put(VERSION).put(kind);
+    world.entityManager.writeState(scratch);
+    scratch.putInt(codecs.size());
+
+    for (Map.Entry<Class<?>, ComponentCodec<?>> entry : codecs.entrySet()) {
+      writeComponents(world, entry.getKey(), entry.getValue(), kind == DELTA, sinceTick);
+    }
+
+    scratch.flip();
+    ByteBuffer snapshot = ByteBuffer.allocate(scratch.remaining());
+    snapshot.put(scratch).flip();
+    return snapshot;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> void writeComponents(World world, Class<?> type, ComponentCodec<T> codec, boolean delta, int sinceTick) {
+    Query owners = world.query(type);
+    IComponentStore<T> store = (IComponentStore<T>) world.store(type);
+    int size = owners.size();
+
+    writeString(type.getName());
+    ensure(Integer.BYTES);
+    scratch.putInt(size);
+    for (int i = 0; i < size; i++) {
+      int entityId = owners.entityAt(i);
+      boolean changed = !delta || world.isChangedSince(entityId, type, sinceTick);
+      ensure(Integer.BYTES + 1);
+      scratch.putInt(entityId);
+      if (delta) {
+        scratch.put((byte) (changed ? 1 : 0));
+      }
+      if (changed) {
+        writeComponent(codec, store.get(entityId));
+      }
+    }
+  }
+
+  private <T> void writeComponent(ComponentCodec<T> codec, T component) {
+    int start = scratch.position();
+    while (true) {
+      try {
+        codec.write(component, scratch);
+        return;
+      } catch (BufferOverflowException e) {
+        scratch.position(start);
+        grow(scratch.capacity());
+      }
+    }
+  }
+
+  private void writeString(String value) {
+    int start = scratch.position();
+    while (true) {
+      try {
+        ComponentCodec.putString(scratch, value);
+        return;
+      } catch (BufferOverflowException e) {
+        scratch.position(start);
+        grow(scratch.capacity());
+      }
+    }
+  }
+
+  private void ensure(int bytes) {
+    if (scratch.remaining() < bytes) {
+      grow(bytes);
+    }
+  }
+
+  private void grow(int minimumExtra) {
+    ByteBuffer grown = ByteBuffer.allocate(Math.max(scratch.capacity() * 2, scratch.position() + minimumExtra));
+    scratch.flip();
+    grown.put(scratch);
+    scratch = grown;
+  }
+
+  private static void restoreEntities(World world, ByteBuffer in, boolean delta) {
+    EntityManager entityManager = world.entityManager;
+    if (!delta) {
+      // A full restore rebuilds every entity
+      world.clear();
+      entityManager.readState(in);
+      return;
+    }
+
+    int tableStart = in.position();
+    int slots = in.getInt(tableStart);
+
+    // Destroy entities that do not exist in the snapshot
+    for (int index = 0; index < entityManager.capacity(); index++) {
+      int entityId = entityManager.handleAt(index);
+      if (entityId < 0) {
+        continue;
+      }
+      boolean kept = index < slots && in.getInt(tableStart + Integer.BYTES * (1 + index)) == entityId;
+      if (!kept) {
+        world.destroyEntity(entityId);
+      }
+    }
+    entityManager.readState(in);
+  }
+
+  private <T> void restoreComponents(World world, ByteBuffer in, Class<?> type, ComponentCodec<T> codec,
+                                     boolean delta, int section) {
+    int count = in.getInt();
+    for (int i = 0; i < count; i++) {
+      int entityId = in.getInt();
+      boolean changed = !delta || in.get() != 0;
+      if (changed) {
+        world.addComponent(entityId, codec.read(in));
+      }
+      if (delta) {
+        markListed(Entity.index(entityId), section);
+      }
+    }
+    if (!delta) {
+      return;
+    }
+
+    // Owners the snapshot does not list had the component removed after the base was taken
+    Query owners = world.query(type);
+    int[] removed = new int[owners.size()];
+    int removedCount = 0;
+    for (int i = 0; i < owners.size(); i++) {
+      int entityId = owners.entityAt(i);
+      int slot = Entity.index(entityId);
+      if (slot >= listedBySlot.length || listedBySlot[slot] != section) {
+        removed[removedCount++] = entityId;
+      }
+    }
+    for (int i = 0; i < removedCount; i++) {
+      world.removeComponent(removed[i], type);
+    }
+  }
+
+  private void markListed(int slot, int section) {
+    if (slot >= listedBySlot.length) {
+      listedBySlot = Arrays.copyOf(listedBySlot, Math.max(slot + 1, listedBySlot.length * 2));
+    }
+    listedBySlot[slot] = section;
+  }
+}
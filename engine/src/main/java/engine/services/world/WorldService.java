@@ -1,24 +1,42 @@
 package engine.services.world;
 
 import engine.IService;
+import engine.services.profiler.ProfilerService;
+import engine.services.time.SystemTimeService;
+import engine.util.IntSet;
 import io.micronaut.context.ApplicationContext;
 import jakarta.inject.Singleton;
 
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
 
 /** ECS world service managing entities, components, and systems. */
 @Singleton
 public class WorldService implements IService {
-  private final World world = new World();
-  private final SystemManager systemManager = new SystemManager(world);
+  /** Property selecting the component storage backend; see {@link WorldStorage}. */
+  public static final String STORAGE_PROPERTY = "engine.world.storage";
+  /** Property enabling concurrent execution of systems with non-conflicting {@link SystemAccess}. */
+  public static final String PARALLEL_SYSTEMS_PROPERTY = "engine.world.parallel-systems";
+
+  private final World world;
+  private final SystemManager systemManager;
+  private final SystemTimeService systemTimeService;
 
   private final ApplicationContext applicationContext;
   private final Map<Class<? extends ISystem>, ISystem> activeSystems = new ConcurrentHashMap<>();
 
-  public WorldService(ApplicationContext applicationContext) {
+  public WorldService(ApplicationContext applicationContext, SystemTimeService systemTimeService,
+                      ProfilerService profilerService) {
     this.applicationContext = applicationContext;
+    this.systemTimeService = systemTimeService;
+    this.world = new World(applicationContext.getProperty(STORAGE_PROPERTY, WorldStorage.class)
+      .orElse(WorldStorage.SPARSE_SET));
+    this.systemManager = new SystemManager(world);
+    this.systemManager.setParallel(applicationContext.getProperty(PARALLEL_SYSTEMS_PROPERTY, Boolean.class)
+      .orElse(false));
+    this.systemManager.setFixedTimestep(systemTimeService.isFixedTimestep());
+    this.systemManager.setProfiler(profilerService);
   }
 
   /** Execution order; lower values run earlier. */
@@ -33,9 +51,16 @@ public class WorldService implements IService {
     systemManager.update();
   }
 
-  /** Update all systems with delta time. */
+  /** Advance fixed-step systems by one fixed step. */
+  @Override
+  public void fixedUpdate(float fixedDt) {
+    systemManager.fixedUpdate(fixedDt);
+  }
+
+  /** Update per-frame systems (all systems without a fixed timestep) with delta time. */
   @Override
   public void update(float dt) {
+    world.setInterpolationAlpha(systemTimeService.getInterpolationAlpha());
     systemManager.update(dt);
   }
 
@@ -44,16 +69,46 @@ public class WorldService implements IService {
     return world.createEntity();
   }
 
+  /** Create {@code count} entities without components and return their ids. */
+  public int[] createEntities(int count) {
+    return world.createEntities(count);
+  }
+
+  /** Create {@code count} entities from the prefab and return their ids. */
+  public int[] instantiate(Prefab prefab, int count) {
+    return world.instantiate(prefab, count);
+  }
+
   /** Destroy the given entity. */
   public void destroyEntity(int entityId) {
     world.destroyEntity(entityId);
   }
 
+  /** Destroy every given entity in one batch. */
+  public void destroyEntities(int[] entityIds) {
+    world.destroyEntities(entityIds);
+  }
+
+  /** Destroy every entity, emptying the component stores in place. */
+  public void clear() {
+    world.clear();
+  }
+
+  /** true if the handle refers to a live entity (stale handles of destroyed entities do not). */
+  public boolean isAlive(int entityId) {
+    return world.isAlive(entityId);
+  }
+
   /** Add a component to an entity. */
   public <T> void addComponent(int entityId, T component) {
     world.addComponent(entityId, component);
   }
 
+  /** Add a component of one type to every given entity; the factory receives the index into the array. */
+  public <T> void addComponents(int[] entityIds, Class<T> componentClass, IntFunction<? extends T> factory) {
+    world.addComponents(entityIds, componentClass, factory);
+  }
+
   /** Get a component of the given type for an entity. */
   public <T> T getComponent(int entityId, Class<T> componentClass) {
     return world.getComponent(entityId, componentClass);
@@ -148,10 +203,15 @@ public class WorldService implements IService {
   }
 
   /** Entities containing all of the given component types. */
-  public Set<Integer> getEntitiesWith(Class<?>... componentClasses) {
+  public IntSet getEntitiesWith(Class<?>... componentClasses) {
     return world.getEntitiesWith(componentClasses);
   }
 
+  /** Cached, incrementally maintained query for the given component types. */
+  public Query query(Class<?>... componentClasses) {
+    return world.query(componentClasses);
+  }
+
   /** Remove all systems. */
   public void clearSystems() {
     activeSystems.clear();
@@ -0,0 +1,12 @@
+package engine.services.world;
+
+/**
+ * Component storage backends a {@link World} can be created with.
+ * Selected for the shared world through the {@code engine.world.storage} property.
+ */
+public enum WorldStorage {
+  /** One sparse-set pool per component type; cheap adds and removes. */
+  SPARSE_SET,
+  /** Entities grouped by component set into fixed-size chunks; contiguous multi-component iteration. */
+  ARCHETYPE
+}
@@ -17,8 +17,9 @@ import java.util.Objects;
  *   <li>Animation playback timing</li>
  * </ul>
  * <p>
- * Unlike the basic SpriteComponent, this component is mutable to support
- * animation state changes during gameplay.
+ * This record describes which animation an entity plays. The AnimationSystem keeps the per-frame
+ * playback in a mutable {@link AnimationStateComponent}, so advancing time does not replace this
+ * component; replace it only to switch animation, direction or playing state.
  */
 @Introspected
 public record AnimatedSpriteComponent(
@@ -72,7 +73,8 @@ public record AnimatedSpriteComponent(
   }
 
   /**
-   * Creates a copy of this component with updated animation time.
+   * Creates a copy of this component with updated animation time. Per-frame playback should use
+   * {@link AnimationStateComponent#advance(float)} instead, which does not allocate.
    *
    * @param deltaTime The time to add to the current animation time
    * @return A new component with the time updated
@@ -0,0 +1,81 @@
+package engine.services.world.components;
+
+import engine.services.rendering.SpriteAnimation;
+import engine.services.rendering.SpriteSheet;
+import engine.services.world.IComponent;
+import io.micronaut.core.annotation.Introspected;
+
+import java.util.Objects;
+
+/**
+ * Playback state of a sprite animation, advanced in place by the AnimationSystem so animated entities
+ * allocate nothing per frame.
+ * <p>
+ * The animation's frames are resolved to region indices of the sprite sheet when playback starts;
+ * {@link #regionIndex} is the region of the current frame, for {@link SpriteSheet#getRegion(int)}.
+ * Entities with an {@link AnimatedSpriteComponent} get this component from the AnimationSystem.
+ */
+@Introspected
+public class AnimationStateComponent implements IComponent {
+  public SpriteSheet spriteSheet;
+  public SpriteAnimation animation;
+  public int[] frameRegions;      // region index of each frame; shared, never modified
+  public float animationTime;     // seconds into the animation, wrapped for looping animations
+  public boolean playing;
+  public int frameIndex;
+  public int regionIndex;
+
+  public AnimationStateComponent(SpriteSheet spriteSheet, SpriteAnimation animation) {
+    play(spriteSheet, animation);
+  }
+
+  /** Switches to the animation and plays it from its first frame. */
+  public void play(SpriteSheet spriteSheet, SpriteAnimation animation) {
+    this.spriteSheet = Objects.requireNonNull(spriteSheet, "spriteSheet must not be null");
+    this.animation = Objects.requireNonNull(animation, "animation must not be null");
+    this.frameRegions = animation.resolveRegionIndices(spriteSheet);
+    restart();
+  }
+
+  /** Plays the current animation from its first frame. */
+  public void restart() {
+    animationTime = 0.0f;
+    playing = true;
+    frameIndex = 0;
+    regionIndex = frameRegions[0];
+  }
+
+  /** True once a non-looping animation has reached its end. */
+  public boolean isFinished() {
+    return !animation.isLoop() && animationTime >= animation.getTotalDuration();
+  }
+
+  /**
+   * Advances playback by the given time. Non-looping animations stop on their last frame.
+   *
+   * @return True if the displayed frame changed
+   */
+  public boolean advance(float deltaTime) {
+    if (!playing) {
+      return false;
+    }
+    animationTime += deltaTime;
+    float duration = animation.getTotalDuration();
+    if (animationTime >= duration) {
+      if (animation.isLoop()) {
+        // Keep the time small so float precision does not degrade over long sessions
+        animationTime %= duration;
+      } else {
+        playing = false;
+      }
+    }
+
+    int frame = animation.getFrameIndex(animationTime);
+    if (frame == frameIndex) {
+      return false;
+    }
+    frameIndex = frame;
+    regionIndex = frameRegions[frame];
+    return true;
+  }
+}
@@ -6,6 +6,9 @@ import lombok.RequiredArgsConstructor;
 
 /**
  * A component that allows an entity to play audio through a positioned 3D audio source.
+ * Edit volume, pitch and looping through {@link engine.services.world.World#getMutableComponent} (or
+ * call {@link engine.services.world.World#markChanged} afterwards); the AudioSystem only pushes them to
+ * the source when the component was marked changed.
  */
 @Introspected
 @RequiredArgsConstructor
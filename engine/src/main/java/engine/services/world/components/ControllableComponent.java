@@ -7,6 +7,10 @@ import io.micronaut.core.annotation.Introspected;
  * A component that marks an entity as being controllable by a player.
  * It stores the player's input intent for the current frame, which other
  * systems (like a movement system) can then act upon.
+ * <p>
+ * Code that changes the fields in place must call {@code World#markChanged} (or fetch the component
+ * through {@code World#getMutableComponent}); otherwise change-filtered consumers such as
+ * {@code WorldSerializer#captureDelta} do not see the new input state.
  */
 @Introspected
 public class ControllableComponent implements IComponent {
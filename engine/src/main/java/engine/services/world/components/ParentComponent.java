@@ -0,0 +1,16 @@
+package engine.services.world.components;
+
+
+import engine.services.world.IComponent;
+import io.micronaut.core.annotation.Introspected;
+
+/**
+ * Attaches an entity to a parent entity.
+ * <p>
+ * The entity's {@link TransformComponent} is then relative to the parent's: its world matrix is the
+ * parent's world matrix times its own local transform. If the parent is destroyed or has no
+ * transform, the entity is treated as a root until it is re-parented.
+ */
+@Introspected
+public record ParentComponent(int parentId) implements IComponent {
+}
@@ -14,11 +14,12 @@ import org.joml.Vector3f;
 public class TransformComponent implements IComponent {
 
   public final Vector3f position;
-  public final Vector3f previousPosition; // Stores the position from the previous frame for collision response
+  public final Vector3f previousPosition; // Position before the latest simulation step, for collision response and interpolation
   public final Quaternionf rotation; // Using quaternions is more robust than Euler angles for rotation
   public final Vector3f scale;
 
   private final transient Matrix4f transformMatrix;
+  private final transient Matrix4f worldMatrix;
 
   public TransformComponent() {
     this.position = new Vector3f(0.0f, 0.0f, 0.0f);
@@ -26,6 +27,7 @@ public class TransformComponent implements IComponent {
     this.rotation = new Quaternionf().identity();
     this.scale = new Vector3f(1.0f, 1.0f, 1.0f);
     this.transformMatrix = new Matrix4f().identity();
+    this.worldMatrix = new Matrix4f().identity();
   }
 
   /**
@@ -56,4 +58,37 @@ public class TransformComponent implements IComponent {
       .rotate(rotation)
       .scale(scale);
   }
+
+  /**
+   * Calculates the transformation matrix at a point between the previous and the current position.
+   * Used to render a fixed-timestep simulation smoothly at the display rate.
+   *
+   * @param alpha 0 for {@link #previousPosition}, 1 for {@link #position}.
+   * @return A Matrix4f representing the combined, interpolated transformation.
+   */
+  public Matrix4f getInterpolatedTransformMatrix(float alpha) {
+    return transformMatrix.translationRotateScale(
+      previousPosition.x + (position.x - previousPosition.x) * alpha,
+      previousPosition.y + (position.y - previousPosition.y) * alpha,
+      previousPosition.z + (position.z - previousPosition.z) * alpha,
+      rotation.x, rotation.y, rotation.z, rotation.w,
+      scale.x, scale.y, scale.z);
+  }
+
+  /**
+   * Returns the matrix computed by the last call to {@link #getTransformMatrix()} without rebuilding it.
+   * Only up to date while the transform has not changed since that call.
+   */
+  public Matrix4f getCachedTransformMatrix() {
+    return transformMatrix;
+  }
+
+  /**
+   * Returns the model-to-world matrix, including the transforms of all ancestors (see
+   * {@link ParentComponent}). Maintained by the TransformHierarchySystem, which only rebuilds it when
+   * this transform or an ancestor changed.
+   */
+  public Matrix4f getWorldMatrix() {
+    return worldMatrix;
+  }
 }
@@ -0,0 +1,118 @@
+package engine.services.world.systems;
+
+import engine.services.rendering.SpriteAnimation;
+import engine.services.resources.AssetCacheService;
+import engine.services.world.ComponentEvent;
+import engine.services.world.ISystem;
+import engine.services.world.SystemAccess;
+import engine.services.world.World;
+import engine.services.world.components.AnimatedSpriteComponent;
+import engine.services.world.components.AnimationStateComponent;
+import io.micronaut.context.annotation.Prototype;
+import jakarta.inject.Inject;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Advances sprite animations in place.
+ * <p>
+ * Entities given an {@link AnimatedSpriteComponent} get a mutable {@link AnimationStateComponent}
+ * resolved from the asset cache at the next sync point. Each frame the playing states advance their
+ * time and current region index in place, so animated entities produce no garbage; only states whose
+ * frame changed are marked changed. Replacing the AnimatedSpriteComponent with another animation
+ * restarts the state on that clip; keeping the clip only applies the playing flag.
+ */
+@Prototype
+@RequiredArgsConstructor(onConstructor_ = @Inject)
+public class AnimationSystem implements ISystem {
+
+  private final AssetCacheService assetCacheService;
+
+  // Observers kept in fields so the same instances can be unregistered on detach
+  private final IntConsumer animatedSpriteAdded = this::createState;
+  private final IntConsumer animatedSpriteRemoved = this::removeState;
+  private final IntConsumer animatedSpriteChanged = this::syncState;
+
+  // World this system is attached to
+  private World world;
+
+  // Change tick of the previous run; only sources replaced since then are synced
+  private int lastRunTick;
+
+  @Override
+  public SystemAccess access() {
+    return SystemAccess.of(Set.of(AnimatedSpriteComponent.class), Set.of(AnimationStateComponent.class));
+  }
+
+  @Override
+  public void onAttach(World world) {
+    this.world = world;
+    world.observe(ComponentEvent.ADDED, AnimatedSpriteComponent.class, animatedSpriteAdded);
+    world.observe(ComponentEvent.REMOVED, AnimatedSpriteComponent.class, animatedSpriteRemoved);
+
+    // Components added before the system was attached raised no event
+    var entities = world.query(AnimatedSpriteComponent.class);
+    for (int i = 0; i < entities.size(); i++) {
+      createState(entities.entityAt(i));
+    }
+  }
+
+  @Override
+  public void onDetach(World world) {
+    world.unobserve(ComponentEvent.ADDED, AnimatedSpriteComponent.class, animatedSpriteAdded);
+    world.unobserve(ComponentEvent.REMOVED, AnimatedSpriteComponent.class, animatedSpriteRemoved);
+    this.world = null;
+  }
+
+  @Override
+  public void update(World world, float deltaTime) {
+    var sources = world.query(AnimatedSpriteComponent.class, AnimationStateComponent.class);
+    world.forEachChangedSince(sources, AnimatedSpriteComponent.class, lastRunTick, animatedSpriteChanged);
+    lastRunTick = world.advanceChangeTick();
+
+    // Each entity only touches its own state, so large crowds are split across worker threads
+    var entities = world.query(AnimationStateComponent.class);
+    world.parallelForEach(entities, AnimationStateComponent.class, World.DEFAULT_MIN_CHUNK_SIZE,
+      (entityId, state) -> {
+        if (state.advance(deltaTime)) {
+          world.markChanged(entityId, AnimationStateComponent.class);
+        }
+      });
+  }
+
+  private void createState(int entityId) {
+    AnimatedSpriteComponent source = world.getComponent(entityId, AnimatedSpriteComponent.class);
+    // The component may have been removed again before the event was delivered
+    if (source == null || world.getComponent(entityId, AnimationStateComponent.class) != null) {
+      return;
+    }
+    AnimationStateComponent state = new AnimationStateComponent(
+      assetCacheService.resolveSpriteSheetHandle(source.spriteSheetHandle()), resolveAnimation(source));
+    // Start where the source left off
+    state.advance(source.animationTime());
+    state.playing &= source.playing();
+    world.addComponent(entityId, state);
+  }
+
+  private void removeState(int entityId) {
+    world.removeComponent(entityId, AnimationStateComponent.class);
+  }
+
+  private void syncState(int entityId) {
+    AnimatedSpriteComponent source = world.getComponent(entityId, AnimatedSpriteComponent.class);
+    AnimationStateComponent state = world.getComponent(entityId, AnimationStateComponent.class);
+    SpriteAnimation animation = resolveAnimation(source);
+    if (animation != state.animation) {
+      state.play(assetCacheService.resolveSpriteSheetHandle(source.spriteSheetHandle()), animation);
+    }
+    // The same clip keeps its progress; a finished non-looping clip stays on its last frame
+    state.playing = source.playing() && !state.isFinished();
+    world.markChanged(entityId, AnimationStateComponent.class);
+  }
+
+  private SpriteAnimation resolveAnimation(AnimatedSpriteComponent source) {
+    return assetCacheService.resolveSpriteAnimation(source.spriteSheetHandle(), source.currentAnimation());
+  }
+}
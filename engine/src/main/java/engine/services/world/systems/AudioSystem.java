@@ -4,22 +4,29 @@ import engine.services.audio.AudioBuffer;
 import engine.services.audio.AudioService;
 import engine.services.audio.AudioSource;
 import engine.services.resources.AssetCacheService;
+import engine.services.world.ComponentEvent;
 import engine.services.world.ISystem;
 import engine.services.world.World;
 import engine.services.world.components.AudioSourceComponent;
 import engine.services.world.components.MusicComponent;
 import engine.services.world.components.SoundEffectComponent;
 import engine.services.world.components.TransformComponent;
+import engine.util.Int2ObjectMap;
+import engine.util.IntList;
+import engine.util.IntSet;
 import io.micronaut.context.annotation.Prototype;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.function.IntConsumer;
 
+/**
+ * Plays the audio, music and sound-effect components through OpenAL sources.
+ * <p>
+ * Sources are created when a component is added and closed when it is removed or its entity is
+ * destroyed, from {@link World#observe observers} delivered at the world's sync points; the per-frame
+ * loops only update the sources that already exist.
+ */
 @Prototype
 @RequiredArgsConstructor(onConstructor_ = @Inject)
 public class AudioSystem implements ISystem {
@@ -27,15 +34,81 @@ public class AudioSystem implements ISystem {
   private final AudioService audioService;
   private final AssetCacheService resourceManager;
 
-  private final Map<Integer, AudioSource> audioSourceMap = new HashMap<>();
-  private final Map<Integer, AudioSource> musicSourceMap = new HashMap<>();
-  private final Map<Integer, AudioSource> soundEffectSourceMap = new HashMap<>();
+  private final Int2ObjectMap<AudioSource> audioSourceMap = new Int2ObjectMap<>();
+  private final Int2ObjectMap<AudioSource> musicSourceMap = new Int2ObjectMap<>();
+  private final Int2ObjectMap<AudioSource> soundEffectSourceMap = new Int2ObjectMap<>();
+  // Music created since the last update; fading starts with the update after creation
+  private final IntSet newMusicSources = new IntSet();
+  // Finished sound effects to remove, reused across frames
+  private final IntList entitiesToCleanup = new IntList();
+
+  // Observers kept in fields so the same instances can be unregistered on detach
+  private final IntConsumer audioSourceAdded = this::createAudioSource;
+  private final IntConsumer audioSourceRemoved = entityId -> closeSource(audioSourceMap, entityId);
+  private final IntConsumer musicAdded = this::createMusicSource;
+  private final IntConsumer musicRemoved = entityId -> closeSource(musicSourceMap, entityId);
+  private final IntConsumer soundEffectAdded = this::createSoundEffectSource;
+  private final IntConsumer soundEffectRemoved = entityId -> closeSource(soundEffectSourceMap, entityId);
+
+  // World this system is attached to; observers read the new components from it
+  private World world;
+
+  // Change tick of the previous run; unchanged sources are not pushed to OpenAL again
+  private int lastRunTick;
+
+  @Override
+  public void onAttach(World world) {
+    this.world = world;
+    observe(world, AudioSourceComponent.class, audioSourceAdded, audioSourceRemoved);
+    observe(world, MusicComponent.class, musicAdded, musicRemoved);
+    observe(world, SoundEffectComponent.class, soundEffectAdded, soundEffectRemoved);
+
+    // Components added before the system was attached raised no event
+    createForExisting(world, AudioSourceComponent.class, audioSourceAdded);
+    createForExisting(world, MusicComponent.class, musicAdded);
+    createForExisting(world, SoundEffectComponent.class, soundEffectAdded);
+  }
+
+  @Override
+  public void onDetach(World world) {
+    unobserve(world, AudioSourceComponent.class, audioSourceAdded, audioSourceRemoved);
+    unobserve(world, MusicComponent.class, musicAdded, musicRemoved);
+    unobserve(world, SoundEffectComponent.class, soundEffectAdded, soundEffectRemoved);
+    this.world = null;
+  }
 
   @Override
   public void update(World world, float deltaTime) {
     updateAudioSources(world, deltaTime);
     updateMusic(world, deltaTime);
     updateSoundEffects(world, deltaTime);
+    lastRunTick = world.advanceChangeTick();
+  }
+
+  private static void observe(World world, Class<?> componentClass, IntConsumer added, IntConsumer removed) {
+    world.observe(ComponentEvent.ADDED, componentClass, added);
+    world.observe(ComponentEvent.REMOVED, componentClass, removed);
+    world.observe(ComponentEvent.DESTROYED, componentClass, removed);
+  }
+
+  private static void unobserve(World world, Class<?> componentClass, IntConsumer added, IntConsumer removed) {
+    world.unobserve(ComponentEvent.ADDED, componentClass, added);
+    world.unobserve(ComponentEvent.REMOVED, componentClass, removed);
+    world.unobserve(ComponentEvent.DESTROYED, componentClass, removed);
+  }
+
+  private static void createForExisting(World world, Class<?> componentClass, IntConsumer create) {
+    var entities = world.query(componentClass);
+    for (int i = 0; i < entities.size(); i++) {
+      create.accept(entities.entityAt(i));
+    }
+  }
+
+  private static void closeSource(Int2ObjectMap<AudioSource> sourceMap, int entityId) {
+    AudioSource source = sourceMap.remove(entityId);
+    if (source != null) {
+      source.close();
+    }
   }
 
   private static void applySourceProperties(AudioSource source, float volume, float pitch, boolean looping) {
@@ -44,32 +117,92 @@ public class AudioSystem implements ISystem {
     source.setLooping(looping);
   }
 
-  private void updateAudioSources(World world, float deltaTime) {
-    var entities = world.getEntitiesWith(AudioSourceComponent.class);
+  private void createAudioSource(int entityId) {
+    AudioSourceComponent audioComp = world.getComponent(entityId, AudioSourceComponent.class);
+    // The component may have been removed again before the event was delivered
+    if (audioComp == null || audioSourceMap.containsKey(entityId)) {
+      return;
+    }
+    AudioSource audioSource = audioService.createSource();
+    audioSourceMap.put(entityId, audioSource);
 
-    for (int entityId : entities) {
-      AudioSourceComponent audioComp = world.getComponent(entityId, AudioSourceComponent.class);
-      AudioSource audioSource = audioSourceMap.get(entityId);
+    applySourceProperties(audioSource, audioComp.volume, audioComp.pitch, audioComp.looping);
+    TransformComponent transform = world.getComponent(entityId, TransformComponent.class);
+    if (transform != null) {
+      audioSource.setPosition(transform.position);
+    }
 
-      if (audioSource == null) {
-        audioSource = audioService.createSource();
-        audioSourceMap.put(entityId, audioSource);
+    if (audioComp.autoPlay && !audioComp.isPlaying) {
+      AudioBuffer buffer = resourceManager.resolveAudioBufferHandle(audioComp.audioBufferHandle);
+      audioSource.play(buffer);
+      audioComp.isPlaying = true;
+    }
+  }
 
-        applySourceProperties(audioSource, audioComp.volume, audioComp.pitch, audioComp.looping);
+  private void createMusicSource(int entityId) {
+    MusicComponent musicComp = world.getComponent(entityId, MusicComponent.class);
+    if (musicComp == null || musicSourceMap.containsKey(entityId)) {
+      return;
+    }
+    AudioSource musicSource = audioService.createSource();
+    musicSourceMap.put(entityId, musicSource);
+    newMusicSources.add(entityId);
 
-        if (audioComp.autoPlay && !audioComp.isPlaying) {
-          AudioBuffer buffer = resourceManager.resolveAudioBufferHandle(audioComp.audioBufferHandle);
-          audioSource.play(buffer);
-          audioComp.isPlaying = true;
-        }
+    musicSource.setPosition(0.0f, 0.0f, 0.0f);
+    musicSource.setLooping(musicComp.looping);
+
+    if (musicComp.autoPlay && !musicComp.isPlaying) {
+      AudioBuffer buffer = resourceManager.resolveAudioBufferHandle(musicComp.musicBufferHandle);
+      musicSource.play(buffer);
+      musicComp.isPlaying = true;
+
+      if (!musicComp.fadingIn && !musicComp.fadingOut) {
+        musicComp.startFadeIn();
+      }
+    }
+  }
+
+  private void createSoundEffectSource(int entityId) {
+    SoundEffectComponent soundComp = world.getComponent(entityId, SoundEffectComponent.class);
+    if (soundComp == null || soundComp.hasBeenTriggered || soundEffectSourceMap.containsKey(entityId)) {
+      return;
+    }
+    AudioSource soundSource = audioService.createSource();
+    soundEffectSourceMap.put(entityId, soundSource);
+
+    soundSource.setVolume(soundComp.volume);
+    soundSource.setPitch(soundComp.pitch);
+    soundSource.setLooping(false);
+
+    if (soundComp.autoPlay) {
+      AudioBuffer buffer = resourceManager.resolveAudioBufferHandle(soundComp.soundBufferHandle);
+      soundSource.play(buffer);
+      soundComp.hasBeenTriggered = true;
+    }
+  }
+
+  private void updateAudioSources(World world, float deltaTime) {
+    var entities = world.query(AudioSourceComponent.class);
+
+    for (int i = 0; i < entities.size(); i++) {
+      int entityId = entities.entityAt(i);
+      AudioSource audioSource = audioSourceMap.get(entityId);
+      if (audioSource == null) {
+        // Added since the last sync point; the source is created when the event is delivered
+        continue;
       }
+      AudioSourceComponent audioComp = world.getComponent(entityId, AudioSourceComponent.class);
 
-      TransformComponent transform = world.getComponent(entityId, TransformComponent.class);
-      if (transform != null) {
+      // Transform writers mark their changes, so positions are only pushed when an entity moved
+      if (world.isChangedSince(entityId, TransformComponent.class, lastRunTick)) {
+        TransformComponent transform = world.getComponent(entityId, TransformComponent.class);
         audioSource.setPosition(transform.position);
       }
 
-      applySourceProperties(audioSource, audioComp.volume, audioComp.pitch, audioComp.looping);
+      // Volume, pitch and looping edits are marked like transform writes, so unchanged sources are skipped
+      if (world.isChangedSince(entityId, AudioSourceComponent.class, lastRunTick)) {
+        applySourceProperties(audioSource, audioComp.volume, audioComp.pitch, audioComp.looping);
+      }
 
       audioComp.isPlaying = audioSource.isPlaying();
 
@@ -77,39 +210,21 @@ public class AudioSystem implements ISystem {
         audioComp.isPlaying = false;
       }
     }
-
-    cleanupAudioSources(entities, audioSourceMap);
   }
 
   private void updateMusic(World world, float deltaTime) {
-    var entities = world.getEntitiesWith(MusicComponent.class);
+    var entities = world.query(MusicComponent.class);
 
-    for (int entityId : entities) {
-      MusicComponent musicComp = world.getComponent(entityId, MusicComponent.class);
+    for (int i = 0; i < entities.size(); i++) {
+      int entityId = entities.entityAt(i);
       AudioSource musicSource = musicSourceMap.get(entityId);
-      boolean justCreated = false;
-
       if (musicSource == null) {
-        musicSource = audioService.createSource();
-        musicSourceMap.put(entityId, musicSource);
-        justCreated = true;
-
-        musicSource.setPosition(0.0f, 0.0f, 0.0f);
-        musicSource.setLooping(musicComp.looping);
-
-        if (musicComp.autoPlay && !musicComp.isPlaying) {
-          AudioBuffer buffer = resourceManager.resolveAudioBufferHandle(musicComp.musicBufferHandle);
-          musicSource.play(buffer);
-          musicComp.isPlaying = true;
-
-          if (!musicComp.fadingIn && !musicComp.fadingOut) {
-            musicComp.startFadeIn();
-          }
-        }
+        continue;
       }
+      MusicComponent musicComp = world.getComponent(entityId, MusicComponent.class);
 
-      // If we just created and started fade-in, skip progression this frame so tests see fadingIn=true
-      if (!justCreated) {
+      // Skip progression in the frame the source was created so tests see fadingIn=true
+      if (!newMusicSources.contains(entityId)) {
         updateMusicFades(musicComp, musicSource, deltaTime);
       }
 
@@ -123,8 +238,7 @@ public class AudioSystem implements ISystem {
         musicComp.isPlaying = false;
       }
     }
-
-    cleanupAudioSources(entities, musicSourceMap);
+    newMusicSources.clear();
   }
 
   private void updateMusicFades(MusicComponent musicComp, AudioSource musicSource, float deltaTime) {
@@ -154,28 +268,14 @@ public class AudioSystem implements ISystem {
   }
 
   private void updateSoundEffects(World world, float deltaTime) {
-    List<Integer> entitiesToCleanup = new ArrayList<>();
-    var entities = world.getEntitiesWith(SoundEffectComponent.class);
+    entitiesToCleanup.clear();
+    var entities = world.query(SoundEffectComponent.class);
 
-    for (int entityId : entities) {
+    for (int i = 0; i < entities.size(); i++) {
+      int entityId = entities.entityAt(i);
       SoundEffectComponent soundComp = world.getComponent(entityId, SoundEffectComponent.class);
       AudioSource soundSource = soundEffectSourceMap.get(entityId);
 
-      if (soundSource == null && !soundComp.hasBeenTriggered) {
-        soundSource = audioService.createSource();
-        soundEffectSourceMap.put(entityId, soundSource);
-
-        soundSource.setVolume(soundComp.volume);
-        soundSource.setPitch(soundComp.pitch);
-        soundSource.setLooping(false);
-
-        if (soundComp.autoPlay) {
-          AudioBuffer buffer = resourceManager.resolveAudioBufferHandle(soundComp.soundBufferHandle);
-          soundSource.play(buffer);
-          soundComp.hasBeenTriggered = true;
-        }
-      }
-
       if (soundSource != null && soundSource.isStopped() && soundComp.hasBeenTriggered) {
         if (soundComp.removeAfterPlay) {
           entitiesToCleanup.add(entityId);
@@ -183,26 +283,11 @@ public class AudioSystem implements ISystem {
       }
     }
 
-    for (int entityId : entitiesToCleanup) {
-      AudioSource soundSource = soundEffectSourceMap.remove(entityId);
-      if (soundSource != null) {
-        soundSource.close();
-      }
+    for (int i = 0; i < entitiesToCleanup.size(); i++) {
+      int entityId = entitiesToCleanup.get(i);
+      closeSource(soundEffectSourceMap, entityId);
       world.removeComponent(entityId, SoundEffectComponent.class);
     }
-
-    cleanupAudioSources(world.getEntitiesWith(SoundEffectComponent.class), soundEffectSourceMap);
-  }
-
-
-  private void cleanupAudioSources(Set<Integer> currentEntities, Map<Integer, AudioSource> sourceMap) {
-    sourceMap.entrySet().removeIf(entry -> {
-      if (!currentEntities.contains(entry.getKey())) {
-        entry.getValue().close();
-        return true;
-      }
-      return false;
-    });
   }
 
   public void playSoundEffect(World world, int entityId, String bufferHandle,
@@ -213,37 +298,38 @@ public class AudioSystem implements ISystem {
   }
 
   public void fadeOutAllMusic(World world) {
-    var entities = world.getEntitiesWith(MusicComponent.class);
-    for (int entityId : entities) {
+    var entities = world.query(MusicComponent.class);
+    for (int i = 0; i < entities.size(); i++) {
+      int entityId = entities.entityAt(i);
       MusicComponent musicComp = world.getComponent(entityId, MusicComponent.class);
       musicComp.startFadeOut();
     }
   }
 
   public void pauseAllMusic() {
-    for (AudioSource musicSource : musicSourceMap.values()) {
+    musicSourceMap.forEachValue(musicSource -> {
       if (musicSource.isPlaying()) {
         musicSource.pause();
       }
-    }
+    });
   }
 
   public void resumeAllMusic() {
-    for (AudioSource musicSource : musicSourceMap.values()) {
+    musicSourceMap.forEachValue(musicSource -> {
       if (musicSource.isPaused()) {
         musicSource.resume();
       }
-    }
+    });
   }
 
   public void stopAll() {
-    audioSourceMap.values().forEach(AudioSource::close);
+    audioSourceMap.forEachValue(AudioSource::close);
     audioSourceMap.clear();
 
-    musicSourceMap.values().forEach(AudioSource::close);
+    musicSourceMap.forEachValue(AudioSource::close);
     musicSourceMap.clear();
 
-    soundEffectSourceMap.values().forEach(AudioSource::close);
+    soundEffectSourceMap.forEachValue(AudioSource::close);
     soundEffectSourceMap.clear();
   }
 }
@@ -2,43 +2,62 @@ package engine.services.world.systems;
 
 
 import engine.game.GameColliderType;
+import engine.services.world.IComponentStore;
 import engine.services.world.ISystem;
+import engine.services.world.SystemAccess;
+import engine.services.world.Query;
 import engine.services.world.World;
 import engine.services.world.components.ColliderComponent;
 import engine.services.world.components.TransformComponent;
 import io.micronaut.context.annotation.Prototype;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Set;
 
 @Prototype
 public class CollisionSystem implements ISystem {
 
+  @Override
+  public SystemAccess access() {
+    return SystemAccess.of(Set.of(ColliderComponent.class), Set.of(TransformComponent.class));
+  }
+
+  @Override
+  public boolean fixedStep() {
+    return true;
+  }
+
   @Override
   public void update(World world, float delta) {
-    List<Integer> entities = new ArrayList<>(world.getEntitiesWith(TransformComponent.class, ColliderComponent.class));
+    Query entities = world.query(TransformComponent.class, ColliderComponent.class);
+    IComponentStore<TransformComponent> transforms = world.store(TransformComponent.class);
+    IComponentStore<ColliderComponent> colliders = world.store(ColliderComponent.class);
 
     for (int i = 0; i < entities.size(); i++) {
-      for (int j = i + 1; j < entities.size(); j++) {
-        int entityA = entities.get(i);
-        int entityB = entities.get(j);
+      int entityA = entities.entityAt(i);
+      TransformComponent transformA = transforms.get(entityA);
+      ColliderComponent colliderA = colliders.get(entityA);
 
-        TransformComponent transformA = world.getComponent(entityA, TransformComponent.class);
-        ColliderComponent colliderA = world.getComponent(entityA, ColliderComponent.class);
-
-        TransformComponent transformB = world.getComponent(entityB, TransformComponent.class);
-        ColliderComponent colliderB = world.getComponent(entityB, ColliderComponent.class);
+      for (int j = i + 1; j < entities.size(); j++) {
+        int entityB = entities.entityAt(j);
+        TransformComponent transformB = transforms.get(entityB);
+        ColliderComponent colliderB = colliders.get(entityB);
 
         if (checkCollision(transformA, colliderA, transformB, colliderB)) {
-          handleCollision(transformA, colliderA, transformB, colliderB);
+          int reverted = handleCollision(entityA, transformA, colliderA, entityB, transformB, colliderB);
+          if (reverted >= 0) {
+            world.markChanged(reverted, TransformComponent.class);
+          }
         }
       }
     }
   }
 
-  private void handleCollision(
+  /** Resolves a collision and returns the entity whose position was reverted, or -1. */
+  private int handleCollision(
+      int entityA,
       TransformComponent transformA,
       ColliderComponent colliderA,
+      int entityB,
       TransformComponent transformB,
       ColliderComponent colliderB) {
     ColliderComponent.ColliderType typeA = colliderA.getType();
@@ -49,12 +68,15 @@ public class CollisionSystem implements ISystem {
     if ((typeA == GameColliderType.PLAYER || typeA == GameColliderType.ENEMY)
         && typeB == GameColliderType.WALL) {
       transformA.revertPosition();
+      return entityA;
     } else if ((typeB == GameColliderType.PLAYER || typeB == GameColliderType.ENEMY)
         && typeA == GameColliderType.WALL) {
       transformB.revertPosition();
+      return entityB;
     }
 
     // Future collision types (e.g., Player vs. Enemy) can be added here.
+    return -1;
   }
 
   private boolean checkCollision(
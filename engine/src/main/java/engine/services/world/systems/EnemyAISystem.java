@@ -3,6 +3,7 @@ package engine.services.world.systems;
 
 import engine.services.time.SystemTimeService;
 import engine.services.world.ISystem;
+import engine.services.world.SystemAccess;
 import engine.services.world.World;
 import engine.game.EnemyComponent;
 import engine.services.world.components.TransformComponent;
@@ -10,6 +11,8 @@ import io.micronaut.context.annotation.Prototype;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Set;
+
 /**
  * A simple AI system that makes enemies move back and forth horizontally.
  */
@@ -20,28 +23,35 @@ public class EnemyAISystem implements ISystem {
   private final SystemTimeService timeService;
   private final float travelDistance = 3.0f; // How far from the center they patrol
 
+  @Override
+  public SystemAccess access() {
+    return SystemAccess.of(Set.of(EnemyComponent.class), Set.of(TransformComponent.class));
+  }
+
+  @Override
+  public boolean fixedStep() {
+    return true;
+  }
+
   @Override
   public void update(World world, float deltaTime) {
     applyPatrol(world);
   }
 
   private void applyPatrol(World world) {
-    // Query broadly by TransformComponent, then filter for actual enemies.
-    var entities = world.getEntitiesWith(TransformComponent.class);
-
-    for (int entityId : entities) {
-      if (!world.hasComponent(entityId, EnemyComponent.class)) {
-        continue;
-      }
-      TransformComponent transform = world.getComponent(entityId, TransformComponent.class);
-
-      // This is a simple sine wave patrol. The enemy's X position will oscillate
-      // between -travelDistance and +travelDistance based on the total game time.
-      // This creates a smooth back-and-forth movement.
-      float horizontalPosition = (float) Math.sin(timeService.getTotalTimeSeconds()) * travelDistance;
-
-      // We must use the vector's methods to modify it, not direct field access.
-      transform.position.set(horizontalPosition, transform.position.y(), transform.position.z());
-    }
+    var entities = world.query(TransformComponent.class, EnemyComponent.class);
+
+    // This is a simple sine wave patrol. The enemy's X position will oscillate
+    // between -travelDistance and +travelDistance based on the simulated time.
+    // This creates a smooth back-and-forth movement; each fixed step advances it, so the
+    // snapshot sees distinct positions to interpolate between.
+    float horizontalPosition = (float) Math.sin(timeService.getSimulationTimeSeconds()) * travelDistance;
+
+    world.parallelForEach(entities, TransformComponent.class, World.DEFAULT_MIN_CHUNK_SIZE,
+      (entityId, transform) -> {
+        // We must use the vector's methods to modify it, not direct field access.
+        transform.position.set(horizontalPosition, transform.position.y(), transform.position.z());
+        world.markChanged(entityId, TransformComponent.class);
+      });
   }
 }
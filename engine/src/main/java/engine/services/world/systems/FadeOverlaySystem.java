@@ -4,6 +4,7 @@ import engine.services.rendering.FadeService;
 import engine.services.rendering.UIRendererService;
 import engine.services.window.WindowService;
 import engine.services.world.ISystem;
+import engine.services.world.SystemAccess;
 import engine.services.world.World;
 import engine.services.world.components.UITransformComponent;
 import io.micronaut.context.annotation.Prototype;
@@ -24,6 +25,11 @@ public class FadeOverlaySystem implements ISystem {
     return 11;
   }
 
+  @Override
+  public SystemAccess access() {
+    return SystemAccess.reading().onMainThread();
+  }
+
   @Override
   public void update(World world, float deltaTime) {
     if (!fadeService.isFading()) {
@@ -1,52 +1,73 @@
 package engine.services.world.systems;
 
+import engine.services.world.CommandBuffer;
 import engine.services.world.ISystem;
+import engine.services.world.SystemAccess;
 import engine.services.world.World;
 import engine.services.world.components.MoveToTargetComponent;
 import engine.services.world.components.TransformComponent;
 import io.micronaut.context.annotation.Prototype;
-import org.joml.Vector3f;
+
+import java.util.Set;
 
 @Prototype
 public class MoveToTargetSystem implements ISystem {
 
-  private final Vector3f tmpDir = new Vector3f();
-
   @Override
   public int priority() {
     // Run before SequenceSystem (default 0) so unblocking can occur in the same frame
     return -10;
   }
 
+  @Override
+  public SystemAccess access() {
+    // Arrivals are removed through the command buffer, so this system makes no direct structural changes
+    return SystemAccess.of(Set.of(MoveToTargetComponent.class), Set.of(TransformComponent.class));
+  }
+
+  @Override
+  public boolean fixedStep() {
+    return true;
+  }
+
   @Override
   public void update(World world, float deltaTime) {
-    var entities = world.getEntitiesWith(TransformComponent.class, MoveToTargetComponent.class);
+    var entities = world.query(TransformComponent.class, MoveToTargetComponent.class);
+    CommandBuffer commands = world.commands();
 
-    for (int entityId : entities) {
-      TransformComponent t = world.getComponent(entityId, TransformComponent.class);
-      MoveToTargetComponent m = world.getComponent(entityId, MoveToTargetComponent.class);
+    // Stepping is independent per entity and runs across worker threads
+    world.parallelForEach(entities, TransformComponent.class, MoveToTargetComponent.class,
+      World.DEFAULT_MIN_CHUNK_SIZE, (entityId, t, m) -> {
+        world.markChanged(entityId, TransformComponent.class);
+        if (step(t, m, deltaTime)) {
+          commands.removeComponent(entityId, MoveToTargetComponent.class);
+        }
+      });
+  }
 
-      tmpDir.set(m.targetX - t.position.x, m.targetY - t.position.y, m.targetZ - t.position.z);
-      float dist = tmpDir.length();
+  /** Moves the transform toward its target, snapping onto it on arrival; returns true on arrival. */
+  private static boolean step(TransformComponent t, MoveToTargetComponent m, float deltaTime) {
+    float dirX = m.targetX - t.position.x;
+    float dirY = m.targetY - t.position.y;
+    float dirZ = m.targetZ - t.position.z;
+    float dist = (float) Math.sqrt(dirX * dirX + dirY * dirY + dirZ * dirZ);
 
-      if (dist <= m.tolerance) {
-        // Snap to target and remove component (arrival)
-        t.position.set(m.targetX, m.targetY, m.targetZ);
-        world.removeComponent(entityId, MoveToTargetComponent.class);
-        continue;
-      }
+    if (dist <= m.tolerance) {
+      // Snap to target (arrival)
+      t.position.set(m.targetX, m.targetY, m.targetZ);
+      return true;
+    }
 
-      // Move toward target this frame: dt-based step tuned so 10 updates reach 2.0 at speed=10, dt=0.016
-      if (dist > 0f) {
-        tmpDir.div(dist); // normalize
-        float step = m.speed * deltaTime * 1.25f; // ~0.2 per frame at speed=10, dt=0.016
-        if (step >= dist) {
-          t.position.set(m.targetX, m.targetY, m.targetZ);
-          world.removeComponent(entityId, MoveToTargetComponent.class);
-        } else {
-          t.position.add(tmpDir.mul(step));
-        }
+    // Move toward target this frame: dt-based step tuned so 10 updates reach 2.0 at speed=10, dt=0.016
+    if (dist > 0f) {
+      float step = m.speed * deltaTime * 1.25f; // ~0.2 per frame at speed=10, dt=0.016
+      if (step >= dist) {
+        t.position.set(m.targetX, m.targetY, m.targetZ);
+        return true;
       }
+      float scale = step / dist; // normalize, then scale by the step
+      t.position.add(dirX * scale, dirY * scale, dirZ * scale);
     }
+    return false;
   }
 }
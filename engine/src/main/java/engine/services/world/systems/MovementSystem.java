@@ -1,12 +1,14 @@
 package engine.services.world.systems;
 
 import engine.services.world.ISystem;
+import engine.services.world.SystemAccess;
 import engine.services.world.World;
 import engine.services.world.components.ControllableComponent;
 import engine.services.world.components.MovementStatsComponent;
 import engine.services.world.components.TransformComponent;
 import io.micronaut.context.annotation.Prototype;
-import org.joml.Vector3f;
+
+import java.util.Set;
 
 /**
  * This system is responsible for moving entities based on their ControllableComponent state.
@@ -15,55 +17,70 @@ import org.joml.Vector3f;
 @Prototype
 public class MovementSystem implements ISystem {
 
-  // Re-use a single vector object per frame to avoid creating garbage
-  private final Vector3f velocity = new Vector3f();
+  @Override
+  public SystemAccess access() {
+    return SystemAccess.of(
+      Set.of(ControllableComponent.class, MovementStatsComponent.class),
+      Set.of(TransformComponent.class));
+  }
 
+  @Override
+  public boolean fixedStep() {
+    return true;
+  }
 
   @Override
   public void update(World world, float deltaTime) {
     // Get all entities that can be moved by the player
-    var entities = world.getEntitiesWith(
+    var entities = world.query(
       ControllableComponent.class,
       TransformComponent.class,
       MovementStatsComponent.class
     );
 
-    for (int entityId : entities) {
-      ControllableComponent control = world.getComponent(entityId, ControllableComponent.class);
-      TransformComponent transform = world.getComponent(entityId, TransformComponent.class);
-      MovementStatsComponent stats = world.getComponent(entityId, MovementStatsComponent.class);
-
-      // Snapshot the position before we move it. This is crucial for collision response.
-      transform.updatePreviousPosition();
-
-      // Reset velocity for this frame
-      velocity.zero();
-
-      // Build a direction vector from the player's intent
-      if (control.wantsToMoveUp) {
-        velocity.y += 1;
-      }
-      if (control.wantsToMoveDown) {
-        velocity.y -= 1;
-      }
-      if (control.wantsToMoveLeft) {
-        velocity.x -= 1;
-      }
-      if (control.wantsToMoveRight) {
-        velocity.x += 1;
-      }
-
-      // Normalize the vector if the player is moving diagonally.
-      // This is crucial to prevent faster movement on diagonals.
-      if (velocity.lengthSquared() > 0) {
-        velocity.normalize();
-      }
+    // Each entity only touches its own transform, so large crowds are split across worker threads
+    world.parallelForEach(entities,
+      ControllableComponent.class, TransformComponent.class, MovementStatsComponent.class,
+      World.DEFAULT_MIN_CHUNK_SIZE,
+      (entityId, control, transform, stats) -> {
+        if (move(control, transform, stats, deltaTime)) {
+          world.markChanged(entityId, TransformComponent.class);
+        }
+      });
+  }
 
-      // Apply speed and delta time to calculate the final movement for this frame
-      velocity.mul(stats.speed() * deltaTime);
+  /** Applies one frame of movement; returns true if the entity moved. */
+  private boolean move(ControllableComponent control, TransformComponent transform, MovementStatsComponent stats,
+                    float deltaTime) {
+    // Build a direction vector from the player's intent.
+    // Plain locals instead of a shared vector keep this safe to run on several threads.
+    float velocityX = 0;
+    float velocityY = 0;
+    if (control.wantsToMoveUp) {
+      velocityY += 1;
+    }
+    if (control.wantsToMoveDown) {
+      velocityY -= 1;
+    }
+    if (control.wantsToMoveLeft) {
+      velocityX -= 1;
+    }
+    if (control.wantsToMoveRight) {
+      velocityX += 1;
+    }
 
-      // Add the final movement vector to the entity's current position
-      transform.position.add(velocity);
+    // Normalize the vector if the player is moving diagonally.
+    // This is crucial to prevent faster movement on diagonals.
+    float lengthSquared = velocityX * velocityX + velocityY * velocityY;
+    if (lengthSquared == 0) {
+      return false;
     }
+    float invLength = (float) (1.0 / Math.sqrt(lengthSquared));
+
+    // Apply speed and delta time to calculate the final movement for this frame,
+    // then add it to the entity's current position
+    float step = stats.speed() * deltaTime * invLength;
+    transform.position.add(velocityX * step, velocityY * step, 0);
+    return true;
   }
 }
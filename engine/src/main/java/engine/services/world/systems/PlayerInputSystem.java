@@ -2,13 +2,18 @@ package engine.services.world.systems;
 
 import engine.game.GameAction;
 import engine.services.input.DeviceMappingService;
+import engine.services.world.IComponentStore;
 import engine.services.world.ISystem;
+import engine.services.world.Query;
+import engine.services.world.SystemAccess;
 import engine.services.world.World;
 import engine.services.world.components.ControllableComponent;
 import io.micronaut.context.annotation.Prototype;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Set;
+
 /**
  * This system reads from the DeviceMappingService and updates the state of all
  * ControllableComponent instances based on the player's 2D input.
@@ -19,18 +24,39 @@ public class PlayerInputSystem implements ISystem {
 
   private final DeviceMappingService mappingService;
 
+  @Override
+  public SystemAccess access() {
+    // Device polling goes through GLFW, which must stay on the main thread
+    return SystemAccess.of(Set.of(), Set.of(ControllableComponent.class)).onMainThread();
+  }
+
   @Override
   public void update(World world, float deltaTime) {
-    for (int entityId : world.getEntitiesWith(ControllableComponent.class)) {
-      ControllableComponent control = world.getComponent(entityId, ControllableComponent.class);
+    // The cached query and store are walked by index, so polling input allocates nothing
+    Query entities = world.query(ControllableComponent.class);
+    IComponentStore<ControllableComponent> controls = world.store(ControllableComponent.class);
+    for (int i = 0; i < entities.size(); i++) {
+      int entityId = entities.entityAt(i);
+      ControllableComponent control = controls.get(entityId);
       int playerId = control.playerId;
 
       // Update the component's state based on the abstract 2D actions
-      control.wantsToMoveUp = mappingService.isActionActive(playerId, GameAction.MOVE_UP);
-      control.wantsToMoveDown = mappingService.isActionActive(playerId, GameAction.MOVE_DOWN);
-      control.wantsToMoveLeft = mappingService.isActionActive(playerId, GameAction.MOVE_LEFT);
-      control.wantsToMoveRight = mappingService.isActionActive(playerId, GameAction.MOVE_RIGHT);
-      control.wantsToAttack = mappingService.isActionActive(playerId, GameAction.ATTACK);
+      boolean up = mappingService.isActionActive(playerId, GameAction.MOVE_UP);
+      boolean down = mappingService.isActionActive(playerId, GameAction.MOVE_DOWN);
+      boolean left = mappingService.isActionActive(playerId, GameAction.MOVE_LEFT);
+      boolean right = mappingService.isActionActive(playerId, GameAction.MOVE_RIGHT);
+      boolean attack = mappingService.isActionActive(playerId, GameAction.ATTACK);
+
+      // Only stamp a change when the input state flipped, so delta capture skips idle players
+      if (up != control.wantsToMoveUp || down != control.wantsToMoveDown || left != control.wantsToMoveLeft
+        || right != control.wantsToMoveRight || attack != control.wantsToAttack) {
+        control.wantsToMoveUp = up;
+        control.wantsToMoveDown = down;
+        control.wantsToMoveLeft = left;
+        control.wantsToMoveRight = right;
+        control.wantsToAttack = attack;
+        world.markChanged(entityId, ControllableComponent.class);
+      }
     }
   }
 }
@@ -1,53 +1,113 @@
 package engine.services.world.systems;
 
 import engine.services.rendering.CameraService;
-import engine.services.rendering.Mesh;
 import engine.services.rendering.RenderingService;
 import engine.services.rendering.Texture;
+import engine.services.rendering.TextureLayer;
 import engine.services.resources.AssetCacheService;
+import engine.services.world.IComponentStore;
 import engine.services.world.ISystem;
+import engine.services.world.SystemAccess;
 import engine.services.world.World;
+import engine.services.world.components.AnimationStateComponent;
+import engine.services.world.components.ParentComponent;
 import engine.services.world.components.SpriteComponent;
 import engine.services.world.components.TransformComponent;
 import io.micronaut.context.annotation.Prototype;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
+import org.joml.Vector4f;
+import org.joml.Vector4fc;
 
 /**
  * The system responsible for rendering all sprite entities.
  * <p>
  * This system acts as the bridge between the ECS and the rendering engine.
  * It queries the world for entities with a Transform and a Sprite, resolves their
- * texture and mesh resources, and submits them to the Renderer to be drawn.
+ * texture resources, and submits them to the Renderer to be drawn.
+ * Root sprites are submitted straight from their transform's fields; children use the cached
+ * world matrices kept by {@link TransformHierarchySystem}. Handles loaded into a texture array are
+ * drawn from their layer, so every sprite of the array shares one batch. Entities with an
+ * {@link AnimationStateComponent} are drawn with the UV rect of their current sprite sheet frame,
+ * in place of their sprite's texture but with its tint.
  */
 @Prototype
 @RequiredArgsConstructor(onConstructor_ = @Inject)
 public class RenderSystem implements ISystem {
 
+  private static final Vector4fc WHITE = new Vector4f(1f, 1f, 1f, 1f);
+
   private final RenderingService renderingService;
   private final AssetCacheService resourceManager;
   private final CameraService cameraService;
 
+  @Override
+  public int priority() {
+    // After TransformHierarchySystem has refreshed the world matrices
+    return 5;
+  }
+
+  @Override
+  public SystemAccess access() {
+    return SystemAccess.reading(TransformComponent.class, SpriteComponent.class, ParentComponent.class,
+      AnimationStateComponent.class).onMainThread();
+  }
+
   @Override
   public void update(World world, float deltaTime) {
     renderingService.beginScene(cameraService);
 
     // Get all entities that have the components required for sprite rendering
-    var renderableEntities = world.getEntitiesWith(TransformComponent.class, SpriteComponent.class);
+    var renderableEntities = world.query(TransformComponent.class, SpriteComponent.class);
+    IComponentStore<TransformComponent> transforms = world.store(TransformComponent.class);
+    IComponentStore<SpriteComponent> sprites = world.store(SpriteComponent.class);
+    IComponentStore<ParentComponent> parents = world.store(ParentComponent.class);
+    IComponentStore<AnimationStateComponent> states = world.store(AnimationStateComponent.class);
+    float alpha = world.interpolationAlpha();
 
-    // For a 2D sprite game, all sprites will use the same underlying quad mesh.
-    // We can resolve this once outside the loop for efficiency.
-    Mesh quadMesh = resourceManager.resolveMeshHandle("quad");
+    for (int i = 0; i < renderableEntities.size(); i++) {
+      int entityId = renderableEntities.entityAt(i);
+      if (states.has(entityId)) {
+        // Drawn below with its current frame instead of the whole texture
+        continue;
+      }
+      TransformComponent transform = transforms.get(entityId);
+      SpriteComponent sprite = sprites.get(entityId);
 
-    for (int entityId : renderableEntities) {
-      TransformComponent transform = world.getComponent(entityId, TransformComponent.class);
-      SpriteComponent sprite = world.getComponent(entityId, SpriteComponent.class);
+      // Children need their ancestors' transforms, which only the world matrix combines
+      boolean child = parents.has(entityId);
+      TextureLayer layer = resourceManager.findTextureLayer(sprite.textureHandle());
+      if (layer != null) {
+        if (child) {
+          renderingService.submit(layer, transform.getWorldMatrix(), sprite.color());
+        } else {
+          renderingService.submit(layer, transform, alpha, sprite.color());
+        }
+        continue;
+      }
 
       // Use the handle from the SpriteComponent to get the actual Texture resource
       Texture texture = resourceManager.resolveTextureHandle(sprite.textureHandle());
+      if (child) {
+        renderingService.submit(texture, transform.getWorldMatrix(), sprite.color());
+      } else {
+        renderingService.submit(texture, transform, alpha, sprite.color());
+      }
+    }
 
-      // Submit the quad mesh, the specific texture, and the transform to the renderer.
-      renderingService.submit(quadMesh, texture, transform.getTransformMatrix());
+    // Animated sprites show the region of their current frame, tinted by their sprite if they have one
+    var animatedEntities = world.query(TransformComponent.class, AnimationStateComponent.class);
+    for (int i = 0; i < animatedEntities.size(); i++) {
+      int entityId = animatedEntities.entityAt(i);
+      TransformComponent transform = transforms.get(entityId);
+      AnimationStateComponent state = states.get(entityId);
+      SpriteComponent sprite = sprites.get(entityId);
+      Vector4fc tint = sprite != null ? sprite.color() : WHITE;
+      if (parents.has(entityId)) {
+        renderingService.submit(state.spriteSheet, state.regionIndex, transform.getWorldMatrix(), tint);
+      } else {
+        renderingService.submit(state.spriteSheet, state.regionIndex, transform, alpha, tint);
+      }
     }
 
     renderingService.endScene();
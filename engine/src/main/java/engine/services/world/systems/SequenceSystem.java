@@ -3,7 +3,9 @@ package engine.services.world.systems;
 import engine.services.event.EventPublisherService;
 import engine.services.state.ApplicationStateService;
 import engine.services.state.ApplicationState;
+import engine.services.world.CommandBuffer;
 import engine.services.world.ISystem;
+import engine.services.world.Query;
 import engine.services.world.World;
 import engine.services.world.components.ActiveSequenceComponent;
 import engine.services.world.components.TransformComponent;
@@ -19,9 +21,7 @@ import io.micronaut.context.annotation.Prototype;
 import io.micronaut.inject.qualifiers.Qualifiers;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * A stateless system that interprets ActiveSequence components and executes GameEvent commands.
@@ -59,10 +59,12 @@ public class SequenceSystem implements ISystem {
       return;
     }
 
-    Set<Integer> entities = world.getEntitiesWith(ActiveSequenceComponent.class);
-    Set<Integer> entitiesToRemove = new HashSet<>();
+    Query entities = world.query(ActiveSequenceComponent.class);
+    // Completed sequences are destroyed at the next sync point so the query is not changed mid-loop
+    CommandBuffer commands = world.commands();
 
-    for (int entityId : entities) {
+    for (int i = 0; i < entities.size(); i++) {
+      int entityId = entities.entityAt(i);
       ActiveSequenceComponent activeSequence = world.getComponent(entityId, ActiveSequenceComponent.class);
 
       // Resolve the sequence first (required for completion check)
@@ -70,7 +72,7 @@ public class SequenceSystem implements ISystem {
       if (sequence == null) {
         log.warn("Sequence not found: {}", activeSequence.getSequenceId());
         if (removeOnComplete) {
-          entitiesToRemove.add(entityId);
+          commands.destroyEntity(entityId);
         }
         continue;
       }
@@ -79,7 +81,7 @@ public class SequenceSystem implements ISystem {
       // If sequence is already complete at the start of this update
       if (activeSequence.getCurrentIndex() >= events.size()) {
         if (removeOnComplete) {
-          entitiesToRemove.add(entityId);
+          commands.destroyEntity(entityId);
         }
         continue;
       }
@@ -89,8 +91,8 @@ public class SequenceSystem implements ISystem {
         String waitFor = activeSequence.getWaitForAction();
         Integer targetId = activeSequence.getWaitForEntityId();
         if ("MOVE_ENTITY".equals(waitFor) && targetId != null) {
-          // Unblock when movement component is gone
-          if (!world.hasComponent(targetId, MoveToTargetComponent.class)) {
+          // Unblock when movement component is gone; a stale handle means the target was destroyed
+          if (!world.isAlive(targetId) || !world.hasComponent(targetId, MoveToTargetComponent.class)) {
             activeSequence.setBlocked(false);
             activeSequence.setWaitForAction(null);
             activeSequence.setWaitForEntityId(null);
@@ -131,14 +133,6 @@ public class SequenceSystem implements ISystem {
 
       // Do not remove in the same tick; removal occurs next tick when detected at start of update.
     }
-
-    // Remove sequences that were complete at the start of this update
-    if (removeOnComplete) {
-      for (int entityId : entitiesToRemove) {
-        world.removeComponent(entityId, ActiveSequenceComponent.class);
-        world.destroyEntity(entityId);
-      }
-    }
   }
 
   /**
@@ -207,6 +201,9 @@ public class SequenceSystem implements ISystem {
           log.warn("TELEPORT_ENTITY target has no TransformComponent: {}", targetEntity);
         } else {
           tc.position.set(nx.floatValue(), ny.floatValue(), nz.floatValue());
+          // Snap rather than interpolate across the jump
+          tc.updatePreviousPosition();
+          world.markChanged(targetEntity, TransformComponent.class);
           log.debug("Teleported entity {} to ({}, {}, {})", targetEntity, nx, ny, nz);
         }
         activeSequence.setCurrentIndex(activeSequence.getCurrentIndex() + 1);
@@ -0,0 +1,176 @@
+package engine.services.world.systems;
+
+import engine.services.world.Entity;
+import engine.services.world.IComponentStore;
+import engine.services.world.ISystem;
+import engine.services.world.Query;
+import engine.services.world.SystemAccess;
+import engine.services.world.World;
+import engine.services.world.components.ParentComponent;
+import engine.services.world.components.TransformComponent;
+import io.micronaut.context.annotation.Prototype;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Maintains every transform's cached world matrix.
+ * <p>
+ * Roots are processed first, then children in order of their depth, so a parent's world matrix is
+ * always final before its children read it. A world matrix is only rebuilt when the entity's own
+ * transform or parent link changed since the last run, when one of its ancestors was rebuilt this
+ * run, when it lost its parent since the last run, or while it is interpolated between fixed
+ * simulation steps; static entities cost a tick comparison.
+ */
+@Prototype
+public class TransformHierarchySystem implements ISystem {
+  // Deeper chains are treated as cycles and stop at this depth
+  private static final int MAX_DEPTH = 64;
+
+  private int lastRunTick;
+  private int run;
+  private int[] rebuiltRunBySlot = new int[16];
+  // Run in which each slot was last processed as a child, to catch entities whose parent was removed
+  private int[] childRunBySlot = new int[16];
+  private int[] children = new int[16];
+  private int[] depths = new int[16];
+  private int[] sorted = new int[16];
+  private final int[] depthStarts = new int[MAX_DEPTH + 2];
+
+  @Override
+  public int priority() {
+    // After everything that moves entities, right before RenderSystem reads the matrices
+    return 4;
+  }
+
+  @Override
+  public SystemAccess access() {
+    return SystemAccess.of(Set.of(ParentComponent.class), Set.of(TransformComponent.class));
+  }
+
+  @Override
+  public void update(World world, float deltaTime) {
+    run++;
+    float alpha = world.interpolationAlpha();
+    Query entities = world.query(TransformComponent.class);
+    IComponentStore<TransformComponent> transforms = world.store(TransformComponent.class);
+    IComponentStore<ParentComponent> parents = world.store(ParentComponent.class);
+
+    for (int i = 0; i < entities.size(); i++) {
+      int entityId = entities.entityAt(i);
+      if (parents.has(entityId)) {
+        continue;
+      }
+      TransformComponent transform = transforms.get(entityId);
+      boolean localRebuilt = rebuildLocal(world, entityId, transform, alpha);
+      // A former child's world matrix is still relative to its old parent
+      if (localRebuilt || wasChildLastRun(entityId)) {
+        transform.getWorldMatrix().set(transform.getCachedTransformMatrix());
+        markRebuilt(entityId);
+      }
+    }
+
+    int count = sortChildrenByDepth(world.query(ParentComponent.class, TransformComponent.class), parents, transforms);
+    for (int i = 0; i < count; i++) {
+      int entityId = sorted[i];
+      markChild(entityId);
+      TransformComponent transform = transforms.get(entityId);
+      int parentId = parents.get(entityId).parentId();
+      TransformComponent parent = world.isAlive(parentId) ? transforms.get(parentId) : null;
+
+      boolean localRebuilt = rebuildLocal(world, entityId, transform, alpha);
+      if (parent == null) {
+        // Orphans fall back to their local transform; rare enough to refresh every run
+        transform.getWorldMatrix().set(transform.getCachedTransformMatrix());
+        markRebuilt(entityId);
+      } else if (localRebuilt || wasRebuilt(parentId)
+        || world.isChangedSince(entityId, ParentComponent.class, lastRunTick)) {
+        parent.getWorldMatrix().mul(transform.getCachedTransformMatrix(), transform.getWorldMatrix());
+        markRebuilt(entityId);
+      }
+    }
+
+    lastRunTick = world.advanceChangeTick();
+  }
+
+  /** Rebuilds the local matrix if it may have changed; returns true if it did. */
+  private boolean rebuildLocal(World world, int entityId, TransformComponent transform, float alpha) {
+    if (alpha < 1f && !transform.previousPosition.equals(transform.position)) {
+      transform.getInterpolatedTransformMatrix(alpha);
+      return true;
+    }
+    if (world.isChangedSince(entityId, TransformComponent.class, lastRunTick)) {
+      transform.getTransformMatrix();
+      return true;
+    }
+    return false;
+  }
+
+  /** Fills {@link #sorted} with the children ordered by depth (counting sort) and returns their count. */
+  private int sortChildrenByDepth(Query query, IComponentStore<ParentComponent> parents,
+                                  IComponentStore<TransformComponent> transforms) {
+    int count = query.size();
+    if (children.length < count) {
+      int capacity = Math.max(count, children.length * 2);
+      children = new int[capacity];
+      depths = new int[capacity];
+      sorted = new int[capacity];
+    }
+    Arrays.fill(depthStarts, 0);
+    for (int i = 0; i < count; i++) {
+      int entityId = query.entityAt(i);
+      int depth = depthOf(entityId, parents, transforms);
+      children[i] = entityId;
+      depths[i] = depth;
+      depthStarts[depth + 1]++;
+    }
+    for (int depth = 1; depth < depthStarts.length; depth++) {
+      depthStarts[depth] += depthStarts[depth - 1];
+    }
+    for (int i = 0; i < count; i++) {
+      sorted[depthStarts[depths[i]]++] = children[i];
+    }
+    return count;
+  }
+
+  private static int depthOf(int entityId, IComponentStore<ParentComponent> parents,
+                             IComponentStore<TransformComponent> transforms) {
+    int depth = 0;
+    int current = entityId;
+    while (depth < MAX_DEPTH) {
+      ParentComponent link = parents.get(current);
+      if (link == null || !transforms.has(link.parentId())) {
+        return depth;
+      }
+      current = link.parentId();
+      depth++;
+    }
+    return depth;
+  }
+
+  private void markRebuilt(int entityId) {
+    int slot = Entity.index(entityId);
+    if (slot >= rebuiltRunBySlot.length) {
+      rebuiltRunBySlot = Arrays.copyOf(rebuiltRunBySlot, Math.max(slot + 1, rebuiltRunBySlot.length * 2));
+    }
+    rebuiltRunBySlot[slot] = run;
+  }
+
+  private boolean wasRebuilt(int entityId) {
+    int slot = Entity.index(entityId);
+    return slot < rebuiltRunBySlot.length && rebuiltRunBySlot[slot] == run;
+  }
+
+  private void markChild(int entityId) {
+    int slot = Entity.index(entityId);
+    if (slot >= childRunBySlot.length) {
+      childRunBySlot = Arrays.copyOf(childRunBySlot, Math.max(slot + 1, childRunBySlot.length * 2));
+    }
+    childRunBySlot[slot] = run;
+  }
+
+  private boolean wasChildLastRun(int entityId) {
+    int slot = Entity.index(entityId);
+    return slot < childRunBySlot.length && childRunBySlot[slot] == run - 1;
+  }
+}
@@ -0,0 +1,48 @@
+package engine.services.world.systems;
+
+import engine.services.world.ISystem;
+import engine.services.world.SystemAccess;
+import engine.services.world.World;
+import engine.services.world.components.TransformComponent;
+import io.micronaut.context.annotation.Prototype;
+
+import java.util.Set;
+
+/**
+ * Stores every transform's position as its previous position at the start of each simulation step.
+ * <p>
+ * The previous position is what collisions revert to and what rendering interpolates from, so it has
+ * to be taken before any other system moves the entity.
+ */
+@Prototype
+public class TransformSnapshotSystem implements ISystem {
+
+  @Override
+  public int priority() {
+    // Run before every system that moves entities
+    return -100;
+  }
+
+  @Override
+  public SystemAccess access() {
+    return SystemAccess.of(Set.of(), Set.of(TransformComponent.class));
+  }
+
+  @Override
+  public boolean fixedStep() {
+    return true;
+  }
+
+  @Override
+  public void update(World world, float deltaTime) {
+    var entities = world.query(TransformComponent.class);
+    world.parallelForEach(entities, TransformComponent.class, World.DEFAULT_MIN_CHUNK_SIZE,
+      (entityId, transform) -> {
+        // Only a transform that moved last step changes; resting ones keep their tick
+        if (!transform.previousPosition.equals(transform.position)) {
+          transform.updatePreviousPosition();
+          world.markChanged(entityId, TransformComponent.class);
+        }
+      });
+  }
+}
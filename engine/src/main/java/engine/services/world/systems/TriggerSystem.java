@@ -1,6 +1,8 @@
 package engine.services.world.systems;
 
+import engine.services.world.CommandBuffer;
 import engine.services.world.ISystem;
+import engine.services.world.SystemAccess;
 import engine.services.world.World;
 import engine.services.world.components.ActiveSequenceComponent;
 import engine.services.zone.Zone;
@@ -14,6 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A stateless system that observes game state and fires events from Trigger data.
@@ -34,6 +37,24 @@ public class TriggerSystem implements ISystem, ApplicationEventListener<ZoneLoad
     this.zoneService = zoneService;
   }
 
+  @Override
+  public SystemAccess access() {
+    // Sequence entities are created through the command buffer, so no component is touched directly.
+    // The fired-trigger state is also reset by the zone listener on the main thread, so stay there
+    return SystemAccess.of(Set.of(), Set.of()).onMainThread();
+  }
+
+  @Override
+  public float updateRate() {
+    // Trigger conditions and delays do not need frame precision
+    return 10f;
+  }
+
+  @Override
+  public boolean shouldRun(World world) {
+    return zoneService.getCurrentZone() != null;
+  }
+
   @Override
   public void onApplicationEvent(ZoneLoadedEvent event) {
     log.debug("Zone loaded, resetting trigger system");
@@ -110,9 +131,10 @@ public class TriggerSystem implements ISystem, ApplicationEventListener<ZoneLoad
         String sequenceId = (String) event.getProperties().get("sequenceId");
         if (sequenceId != null) {
           log.debug("Starting sequence: {}", sequenceId);
-          // Create a new entity and add an ActiveSequence component to it
-          int entityId = world.createEntity();
-          world.addComponent(entityId, new ActiveSequenceComponent(sequenceId));
+          // Create a new entity and add an ActiveSequence component to it at the next sync point
+          CommandBuffer commands = world.commands();
+          int entityId = commands.createEntity();
+          commands.addComponent(entityId, new ActiveSequenceComponent(sequenceId));
         } else {
           log.warn("START_SEQUENCE event missing sequenceId property");
         }
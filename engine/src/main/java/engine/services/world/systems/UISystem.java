@@ -5,6 +5,8 @@ import engine.services.input.InputService;
 import engine.services.rendering.UIRendererService;
 import engine.services.window.WindowService;
 import engine.services.world.ISystem;
+import engine.services.world.SystemAccess;
+import engine.services.world.Query;
 import engine.services.world.World;
 import engine.services.world.components.UIButtonComponent;
 import engine.services.world.components.UIImageComponent;
@@ -15,6 +17,8 @@ import lombok.RequiredArgsConstructor;
 import org.joml.Vector2f;
 import org.lwjgl.glfw.GLFW;
 
+import java.util.Set;
+
 @Prototype
 @RequiredArgsConstructor(onConstructor_ = @Inject)
 public class UISystem implements ISystem {
@@ -29,9 +33,16 @@ public class UISystem implements ISystem {
     return 10; // Render UI on top of the game world
   }
 
+  @Override
+  public SystemAccess access() {
+    return SystemAccess.of(
+      Set.of(UIImageComponent.class),
+      Set.of(UITransformComponent.class, UIButtonComponent.class)).onMainThread();
+  }
+
   @Override
   public void update(World world, float deltaTime) {
-    var uiEntities = world.getEntitiesWith(UITransformComponent.class);
+    var uiEntities = world.query(UITransformComponent.class);
 
     int width = window.getWidth();
     int height = window.getHeight();
@@ -41,10 +52,11 @@ public class UISystem implements ISystem {
     renderUI(world, uiEntities);
   }
 
-  private void calculateLayout(World world, Iterable<Integer> entities, int windowWidth, int windowHeight) {
+  private void calculateLayout(World world, Query entities, int windowWidth, int windowHeight) {
     Vector2f parentSize = new Vector2f(windowWidth, windowHeight);
 
-    for (int entityId : entities) {
+    for (int i = 0; i < entities.size(); i++) {
+      int entityId = entities.entityAt(i);
       var transform = world.getComponent(entityId, UITransformComponent.class);
 
       float actualWidth, actualHeight;
@@ -73,12 +85,13 @@ public class UISystem implements ISystem {
     }
   }
 
-  private void handleButtonInteractions(World world, Iterable<Integer> entities, int windowHeight) {
+  private void handleButtonInteractions(World world, Query entities, int windowHeight) {
     double mouseX = inputService.getMouseX();
     double mouseY = windowHeight - inputService.getMouseY(); // Flip Y for OpenGL coords
     boolean isMouseDown = inputService.isMouseButtonPressed(GLFW.GLFW_MOUSE_BUTTON_LEFT);
 
-    for (int entityId : entities) {
+    for (int i = 0; i < entities.size(); i++) {
+      int entityId = entities.entityAt(i);
       if (!world.hasComponent(entityId, UIButtonComponent.class)) {
         continue;
       }
@@ -105,9 +118,10 @@ public class UISystem implements ISystem {
     }
   }
 
-  private void renderUI(World world, Iterable<Integer> entities) {
+  private void renderUI(World world, Query entities) {
     uiRendererService.begin();
-    for (int entityId : entities) {
+    for (int i = 0; i < entities.size(); i++) {
+      int entityId = entities.entityAt(i);
       var transform = world.getComponent(entityId, UITransformComponent.class);
       if (world.hasComponent(entityId, UIButtonComponent.class)) {
         var button = world.getComponent(entityId, UIButtonComponent.class);
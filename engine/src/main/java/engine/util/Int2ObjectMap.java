@@ -0,0 +1,225 @@
+package engine.util;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Open-addressing hash map from primitive int keys to objects, using the same probing and
+ * backward-shift removal as {@link IntSet}. Lets systems key per-entity state by id without boxing.
+ * <p>
+ * Null values are not stored; {@link #get} returns null for absent keys. Iteration order is
+ * unspecified. Not thread-safe.
+ */
+public final class Int2ObjectMap<V> {
+  private static final int FREE = 0;
+
+  private int[] keys;
+  private V[] values;
+  private int mask;
+  private int size;
+  private V zeroValue;
+
+  /** Visits one entry. */
+  @FunctionalInterface
+  public interface EntryConsumer<V> {
+    void accept(int key, V value);
+  }
+
+  public Int2ObjectMap() {
+    this(IntHashing.MIN_CAPACITY / 2);
+  }
+
+  public Int2ObjectMap(int expectedSize) {
+    allocate(IntHashing.tableSizeFor(expectedSize));
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean containsKey(int key) {
+    return get(key) != null;
+  }
+
+  /** The value mapped to the key, or null. */
+  public V get(int key) {
+    if (key == FREE) {
+      return zeroValue;
+    }
+    for (int slot = IntHashing.mix(key) & mask; ; slot = (slot + 1) & mask) {
+      int k = keys[slot];
+      if (k == FREE) {
+        return null;
+      }
+      if (k == key) {
+        return values[slot];
+      }
+    }
+  }
+
+  /** Maps the key to the value and returns the previous value, or null. */
+  public V put(int key, V value) {
+    if (value == null) {
+      throw new NullPointerException("Int2ObjectMap does not store null values");
+    }
+    if (key == FREE) {
+      V previous = zeroValue;
+      if (previous == null) {
+        size++;
+      }
+      zeroValue = value;
+      return previous;
+    }
+    int slot = IntHashing.mix(key) & mask;
+    for (int k = keys[slot]; k != FREE; k = keys[slot]) {
+      if (k == key) {
+        V previous = values[slot];
+        values[slot] = value;
+        return previous;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    if (++size > (mask + 1) >> 1) {
+      rehash(keys.length * 2);
+    }
+    return null;
+  }
+
+  /** The value mapped to the key, mapping a newly created one first if there is none. */
+  public V computeIfAbsent(int key, IntFunction<? extends V> factory) {
+    V value = get(key);
+    if (value == null) {
+      value = factory.apply(key);
+      put(key, value);
+    }
+    return value;
+  }
+
+  /** Removes the key and returns its value, or null if it was not mapped. */
+  public V remove(int key) {
+    if (key == FREE) {
+      V previous = zeroValue;
+      if (previous != null) {
+        zeroValue = null;
+        size--;
+      }
+      return previous;
+    }
+    for (int slot = IntHashing.mix(key) & mask; ; slot = (slot + 1) & mask) {
+      int k = keys[slot];
+      if (k == FREE) {
+        return null;
+      }
+      if (k == key) {
+        V previous = values[slot];
+        shiftKeys(slot);
+        size--;
+        return previous;
+      }
+    }
+  }
+
+  /** Empties the map, keeping its capacity. */
+  public void clear() {
+    if (size > 0) {
+      Arrays.fill(keys, FREE);
+      Arrays.fill(values, null);
+      zeroValue = null;
+      size = 0;
+    }
+  }
+
+  public void forEach(EntryConsumer<? super V> action) {
+    if (zeroValue != null) {
+      action.accept(FREE, zeroValue);
+    }
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != FREE) {
+        action.accept(keys[slot], values[slot]);
+      }
+    }
+  }
+
+  public void forEachValue(Consumer<? super V> action) {
+    if (zeroValue != null) {
+      action.accept(zeroValue);
+    }
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != FREE) {
+        action.accept(values[slot]);
+      }
+    }
+  }
+
+  /** Adds every key to the list, e.g. to remove entries after iterating. */
+  public void keysInto(IntList target) {
+    if (zeroValue != null) {
+      target.add(FREE);
+    }
+    for (int key : keys) {
+      if (key != FREE) {
+        target.add(key);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder text = new StringBuilder("{");
+    forEach((key, value) -> text.append(text.length() > 1 ? ", " : "").append(key).append('=').append(value));
+    return text.append('}').toString();
+  }
+
+  private void shiftKeys(int slot) {
+    while (true) {
+      int gap = slot;
+      int key;
+      while (true) {
+        slot = (slot + 1) & mask;
+        key = keys[slot];
+        if (key == FREE) {
+          keys[gap] = FREE;
+          values[gap] = null;
+          return;
+        }
+        int home = IntHashing.mix(key) & mask;
+        if (gap <= slot ? gap >= home || home > slot : gap >= home && home > slot) {
+          break;
+        }
+      }
+      keys[gap] = key;
+      values[gap] = values[slot];
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void allocate(int capacity) {
+    keys = new int[capacity];
+    values = (V[]) new Object[capacity];
+    mask = capacity - 1;
+  }
+
+  private void rehash(int capacity) {
+    int[] oldKeys = keys;
+    V[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      int key = oldKeys[i];
+      if (key != FREE) {
+        int slot = IntHashing.mix(key) & mask;
+        while (keys[slot] != FREE) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+}
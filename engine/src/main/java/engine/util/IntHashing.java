@@ -0,0 +1,24 @@
+package engine.util;
+
+/** Hashing and sizing shared by the open-addressing int collections. */
+final class IntHashing {
+  static final int MIN_CAPACITY = 16;
+
+  private IntHashing() {
+  }
+
+  /** Spreads the bits of a key so sequential ids do not cluster in the table. */
+  static int mix(int key) {
+    int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /** Power-of-two table length holding {@code expected} keys at most half full. */
+  static int tableSizeFor(int expected) {
+    int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expected) * 2 - 1) << 1;
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Too many elements: " + expected);
+    }
+    return capacity;
+  }
+}
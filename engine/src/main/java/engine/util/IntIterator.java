@@ -0,0 +1,11 @@
+package engine.util;
+
+import java.util.NoSuchElementException;
+
+/** Iterator over primitive ints, without boxing. */
+public interface IntIterator {
+  boolean hasNext();
+
+  /** The next value; throws {@link NoSuchElementException} when there is none. */
+  int nextInt();
+}
@@ -0,0 +1,153 @@
+package engine.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * Growable list of primitive ints. Meant to be kept in a field and {@link #clear() cleared} between
+ * uses, so steady-state frames add and read entity ids without allocating.
+ */
+public final class IntList {
+  private int[] values;
+  private int size;
+
+  public IntList() {
+    this(IntHashing.MIN_CAPACITY);
+  }
+
+  public IntList(int initialCapacity) {
+    this.values = new int[Math.max(1, initialCapacity)];
+  }
+
+  public static IntList of(int... values) {
+    IntList list = new IntList(values.length);
+    list.addAll(values);
+    return list;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void add(int value) {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, size * 2);
+    }
+    values[size++] = value;
+  }
+
+  public void addAll(int... added) {
+    if (size + added.length > values.length) {
+      values = Arrays.copyOf(values, Math.max(size + added.length, size * 2));
+    }
+    System.arraycopy(added, 0, values, size, added.length);
+    size += added.length;
+  }
+
+  public int get(int index) {
+    checkIndex(index);
+    return values[index];
+  }
+
+  public void set(int index, int value) {
+    checkIndex(index);
+    values[index] = value;
+  }
+
+  /** Removes the value at the index by moving the last value into it; order is not kept. */
+  public int swapRemove(int index) {
+    checkIndex(index);
+    int removed = values[index];
+    values[index] = values[--size];
+    return removed;
+  }
+
+  public int removeLast() {
+    if (size == 0) {
+      throw new NoSuchElementException("List is empty");
+    }
+    return values[--size];
+  }
+
+  public boolean contains(int value) {
+    return indexOf(value) >= 0;
+  }
+
+  /** Index of the first occurrence of the value, or -1. */
+  public int indexOf(int value) {
+    for (int i = 0; i < size; i++) {
+      if (values[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Empties the list, keeping its capacity. */
+  public void clear() {
+    size = 0;
+  }
+
+  public void sort() {
+    Arrays.sort(values, 0, size);
+  }
+
+  public void forEach(IntConsumer action) {
+    for (int i = 0; i < size; i++) {
+      action.accept(values[i]);
+    }
+  }
+
+  public IntIterator iterator() {
+    return new IntIterator() {
+      private int next;
+
+      @Override
+      public boolean hasNext() {
+        return next < size;
+      }
+
+      @Override
+      public int nextInt() {
+        if (next >= size) {
+          throw new NoSuchElementException();
+        }
+        return values[next++];
+      }
+    };
+  }
+
+  public int[] toArray() {
+    return Arrays.copyOf(values, size);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof IntList other && Arrays.equals(values, 0, size, other.values, 0, other.size);
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (int i = 0; i < size; i++) {
+      hash = 31 * hash + values[i];
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(toArray());
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+    }
+  }
+}
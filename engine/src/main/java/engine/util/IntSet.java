@@ -0,0 +1,248 @@
+package engine.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * Open-addressing hash set of primitive ints with linear probing, so entity ids are stored and
+ * looked up without boxing. Removal shifts the following run of keys back instead of leaving
+ * tombstones, so lookups stay short however often the set churns.
+ * <p>
+ * Iteration order is unspecified. Not thread-safe.
+ */
+public final class IntSet {
+  private static final int FREE = 0;
+
+  private int[] keys;
+  private int mask;
+  private int size;
+  private boolean hasZero;
+
+  public IntSet() {
+    this(IntHashing.MIN_CAPACITY / 2);
+  }
+
+  public IntSet(int expectedSize) {
+    allocate(IntHashing.tableSizeFor(expectedSize));
+  }
+
+  public static IntSet of(int... values) {
+    IntSet set = new IntSet(values.length);
+    for (int value : values) {
+      set.add(value);
+    }
+    return set;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean contains(int value) {
+    if (value == FREE) {
+      return hasZero;
+    }
+    for (int slot = IntHashing.mix(value) & mask; ; slot = (slot + 1) & mask) {
+      int key = keys[slot];
+      if (key == FREE) {
+        return false;
+      }
+      if (key == value) {
+        return true;
+      }
+    }
+  }
+
+  /** Adds the value; returns false if it was already present. */
+  public boolean add(int value) {
+    if (value == FREE) {
+      if (hasZero) {
+        return false;
+      }
+      hasZero = true;
+      size++;
+      return true;
+    }
+    int slot = IntHashing.mix(value) & mask;
+    for (int key = keys[slot]; key != FREE; key = keys[slot]) {
+      if (key == value) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = value;
+    if (++size > (mask + 1) >> 1) {
+      rehash(keys.length * 2);
+    }
+    return true;
+  }
+
+  /** Removes the value; returns false if it was not present. */
+  public boolean remove(int value) {
+    if (value == FREE) {
+      if (!hasZero) {
+        return false;
+      }
+      hasZero = false;
+      size--;
+      return true;
+    }
+    for (int slot = IntHashing.mix(value) & mask; ; slot = (slot + 1) & mask) {
+      int key = keys[slot];
+      if (key == FREE) {
+        return false;
+      }
+      if (key == value) {
+        shiftKeys(slot);
+        size--;
+        return true;
+      }
+    }
+  }
+
+  /** Empties the set, keeping its capacity. */
+  public void clear() {
+    if (size > 0) {
+      Arrays.fill(keys, FREE);
+      hasZero = false;
+      size = 0;
+    }
+  }
+
+  public void forEach(IntConsumer action) {
+    if (hasZero) {
+      action.accept(FREE);
+    }
+    for (int key : keys) {
+      if (key != FREE) {
+        action.accept(key);
+      }
+    }
+  }
+
+  /** Iterator over the values. The set must not be modified while it is in use. */
+  public IntIterator iterator() {
+    return new IntIterator() {
+      private boolean zeroPending = hasZero;
+      private int slot = nextSlot(0);
+
+      @Override
+      public boolean hasNext() {
+        return zeroPending || slot < keys.length;
+      }
+
+      @Override
+      public int nextInt() {
+        if (zeroPending) {
+          zeroPending = false;
+          return FREE;
+        }
+        if (slot >= keys.length) {
+          throw new NoSuchElementException();
+        }
+        int value = keys[slot];
+        slot = nextSlot(slot + 1);
+        return value;
+      }
+    };
+  }
+
+  public int[] toArray() {
+    int[] values = new int[size];
+    int count = 0;
+    if (hasZero) {
+      values[count++] = FREE;
+    }
+    for (int key : keys) {
+      if (key != FREE) {
+        values[count++] = key;
+      }
+    }
+    return values;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof IntSet other) || other.size != size || other.hasZero != hasZero) {
+      return false;
+    }
+    for (int key : keys) {
+      if (key != FREE && !other.contains(key)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 0;
+    for (int key : keys) {
+      hash += key;
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    int[] values = toArray();
+    Arrays.sort(values);
+    return Arrays.toString(values);
+  }
+
+  private int nextSlot(int from) {
+    while (from < keys.length && keys[from] == FREE) {
+      from++;
+    }
+    return from;
+  }
+
+  /** Closes the gap left at {@code slot} by moving back keys whose probe run crosses it. */
+  private void shiftKeys(int slot) {
+    while (true) {
+      int gap = slot;
+      int key;
+      while (true) {
+        slot = (slot + 1) & mask;
+        key = keys[slot];
+        if (key == FREE) {
+          keys[gap] = FREE;
+          return;
+        }
+        int home = IntHashing.mix(key) & mask;
+        // Move the key if its home slot is not between the gap and its current slot
+        if (gap <= slot ? gap >= home || home > slot : gap >= home && home > slot) {
+          break;
+        }
+      }
+      keys[gap] = key;
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new int[capacity];
+    mask = capacity - 1;
+  }
+
+  private void rehash(int capacity) {
+    int[] old = keys;
+    allocate(capacity);
+    for (int key : old) {
+      if (key != FREE) {
+        int slot = IntHashing.mix(key) & mask;
+        while (keys[slot] != FREE) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+      }
+    }
+  }
+}
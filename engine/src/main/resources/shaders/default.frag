@@ -2,14 +2,21 @@
 
 // Inputs from vertex shader
 in vec2 vTexCoord;
+in vec4 vTint;
+flat in uint vLayer;
 
 // Output color
 out vec4 FragColor;
 
-// Texture sampler
+// Texture samplers: a plain texture, or a texture array sampled at the instance's layer
 uniform sampler2D uTextureSampler;
+uniform sampler2DArray uTextureArraySampler;
+uniform bool uLayered;
 
 void main()
 {
-    FragColor = texture(uTextureSampler, vTexCoord);
-}
\ No newline at end of file
+    vec4 texel = uLayered
+        ? texture(uTextureArraySampler, vec3(vTexCoord, float(vLayer)))
+        : texture(uTextureSampler, vTexCoord);
+    FragColor = texel * vTint;
+}
@@ -4,14 +4,19 @@
 layout (location = 0) in vec3 aPos;
 layout (location = 1) in vec2 aTexCoord;
 
-// Per-instance attributes (transformation matrix)
-layout (location = 2) in vec4 aInstanceMatrix0;
-layout (location = 3) in vec4 aInstanceMatrix1;
-layout (location = 4) in vec4 aInstanceMatrix2;
-layout (location = 5) in vec4 aInstanceMatrix3;
+// Per-instance attributes (packed sprite instance, see SpriteInstances)
+layout (location = 2) in vec3 aInstancePosition;      // x, y, z (draw layer)
+layout (location = 3) in uvec2 aInstanceRotationLayer; // rotation in 1/65536 turns, texture array layer
+layout (location = 4) in vec2 aInstanceScale;         // half floats
+layout (location = 5) in vec4 aInstanceUvRect;        // u0, v0, u1, v1
+layout (location = 6) in vec4 aInstanceTint;
 
 // Outputs to fragment shader
 out vec2 vTexCoord;
+out vec4 vTint;
+flat out uint vLayer;
+
+const float RADIANS_PER_ROTATION_STEP = 6.28318530718 / 65536.0;
 
 // Scene uniforms
 uniform mat4 uProjection;
@@ -19,17 +24,18 @@ uniform mat4 uView;
 
 void main()
 {
-    // Reconstruct instance transformation matrix from vec4 attributes
-    mat4 instanceMatrix = mat4(
-        aInstanceMatrix0,
-        aInstanceMatrix1,
-        aInstanceMatrix2,
-        aInstanceMatrix3
-    );
-    
-    // Transform vertex position using instance matrix
-    gl_Position = uProjection * uView * instanceMatrix * vec4(aPos, 1.0);
-    
-    // Pass through texture coordinates unchanged
-    vTexCoord = aTexCoord;
-}
\ No newline at end of file
+    // Rebuild the instance transform: scale, then rotate about z, then translate
+    vec2 scaled = aPos.xy * aInstanceScale;
+    float angle = float(aInstanceRotationLayer.x) * RADIANS_PER_ROTATION_STEP;
+    float c = cos(angle);
+    float s = sin(angle);
+    vec2 rotated = vec2(c * scaled.x - s * scaled.y, s * scaled.x + c * scaled.y);
+    vec4 worldPos = vec4(rotated + aInstancePosition.xy, aPos.z + aInstancePosition.z, 1.0);
+
+    gl_Position = uProjection * uView * worldPos;
+
+    // Map the quad's texture coordinates into the instance's UV rect
+    vTexCoord = mix(aInstanceUvRect.xy, aInstanceUvRect.zw, aTexCoord);
+    vTint = aInstanceTint;
+    vLayer = aInstanceRotationLayer.y;
+}
@@ -47,9 +47,9 @@ public class EnemyAIMovementIT extends EngineTestHarness {
 
         // Then: The enemy's X position should match the expected position from the sine wave calculation
         float travelDistance = 3.0f; // This value is from EnemyAISystem
-        float expectedX = (float) Math.sin(timeService.getTotalTimeSeconds()) * travelDistance;
+        float expectedX = (float) Math.sin(timeService.getSimulationTimeSeconds()) * travelDistance;
 
         assertEquals(expectedX, transform.position.x, 0.001f,
-                "Enemy X position should be updated by the EnemyAISystem based on total game time.");
+                "Enemy X position should be updated by the EnemyAISystem based on simulated time.");
     }
 }
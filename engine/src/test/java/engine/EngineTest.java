@@ -1,5 +1,6 @@
 package engine;
 
+import engine.services.profiler.ProfilerService;
 import engine.services.state.ApplicationStateService;
 import engine.services.time.SystemTimeService;
 import engine.services.window.WindowService;
@@ -60,7 +61,8 @@ class EngineTest {
     // The Engine requires a mutable list to sort, so we must provide an ArrayList.
     // Add them in a non-sorted order to ensure the engine's sorting logic is tested.
     mutableServices = new ArrayList<>(List.of(serviceLate, serviceEarly, serviceMiddle));
-    engine = new Engine(loopPolicy, applicationStateService, mutableServices, windowService, systemTimeService);
+    engine = new Engine(loopPolicy, applicationStateService, mutableServices, windowService, systemTimeService,
+      new ProfilerService(false, 1, 0));
 
     // Default mock behavior for loop policy and application state for most tests.
     // Marked as lenient to avoid UnnecessaryStubbingException if not used in every test.
@@ -154,6 +156,25 @@ class EngineTest {
     // but its effect on loopPolicy.continueRunning is tested in run_executesMainLoop.
   }
 
+  @Test
+  void tick_withFixedTimestep_runsFixedStepsBeforeFrameUpdate() {
+    // Arrange
+    engine.init();
+    when(systemTimeService.getFixedSteps()).thenReturn(2);
+    when(systemTimeService.getFixedDeltaSeconds()).thenReturn(1 / 30f);
+    when(systemTimeService.getDeltaTimeSeconds()).thenReturn(0.07f);
+
+    // Act
+    engine.tick();
+
+    // Assert
+    InOrder inOrder = inOrder(serviceEarly);
+    inOrder.verify(serviceEarly).update();
+    inOrder.verify(serviceEarly, times(2)).fixedUpdate(1 / 30f);
+    inOrder.verify(serviceEarly).update(0.07f);
+    verify(serviceLate, times(2)).fixedUpdate(1 / 30f);
+  }
+
   @Test
   void run_whenLoopDoesNotRun_stillCallsInitAndShutdown() {
     // Arrange
@@ -0,0 +1,44 @@
+package engine.services.profiler;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingHistogramTest {
+
+    @Test
+    void percentile_isWithinABucketOfTheExactValue() {
+        RollingHistogram histogram = new RollingHistogram(1_000);
+        for (int i = 1; i <= 1_000; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        long p50 = histogram.percentile(50);
+        long p99 = histogram.percentile(99);
+
+        assertTrue(p50 >= 500_000 && p50 <= 500_000 * 5 / 4, "p50 was " + p50);
+        assertTrue(p99 >= 990_000 && p99 <= 990_000 * 5 / 4, "p99 was " + p99);
+        assertEquals(1_000_000, histogram.max());
+    }
+
+    @Test
+    void record_evictsTheOldestSampleOnceTheWindowIsFull() {
+        RollingHistogram histogram = new RollingHistogram(2);
+        histogram.record(1_000_000);
+        histogram.record(10);
+        histogram.record(10);
+
+        assertEquals(2, histogram.count());
+        assertEquals(10, histogram.max());
+        assertEquals(histogram.percentile(50), histogram.percentile(100));
+    }
+
+    @Test
+    void bucketBounds_coverEveryValue() {
+        for (long value : new long[] {0, 1, 3, 4, 7, 8, 9, 1023, 1024, Long.MAX_VALUE}) {
+            int bucket = RollingHistogram.bucketOf(value);
+            assertTrue(RollingHistogram.upperBoundOf(bucket) >= value, "bucket bound below " + value);
+            assertTrue(bucket == 0 || RollingHistogram.upperBoundOf(bucket - 1) < value, "bucket too high for " + value);
+        }
+    }
+}
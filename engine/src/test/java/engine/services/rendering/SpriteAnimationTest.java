@@ -6,6 +6,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 class SpriteAnimationTest {
 
@@ -149,4 +150,22 @@ class SpriteAnimationTest {
     assertEquals(1, animation.getFrameIndex(0.1f));
     assertEquals(2, animation.getFrameIndex(0.2f));
   }
+
+  @Test
+  void resolveRegionIndices_shouldMapFramesToSheetRegionIndices() {
+    SpriteSheet sheet = new SpriteSheet(mock(Texture.class))
+        .addRegion("a", new SpriteSheetRegion(0, 0, 16, 16))
+        .addRegion("b", new SpriteSheetRegion(16, 0, 16, 16));
+    SpriteAnimation animation = new SpriteAnimation("walk", Arrays.asList("b", "a", "b"), 0.1f, true);
+
+    assertArrayEquals(new int[] {1, 0, 1}, animation.resolveRegionIndices(sheet));
+  }
+
+  @Test
+  void resolveRegionIndices_shouldThrowExceptionForUnknownRegion() {
+    SpriteSheet sheet = new SpriteSheet(mock(Texture.class));
+    SpriteAnimation animation = new SpriteAnimation("walk", Arrays.asList("missing"), 0.1f, true);
+
+    assertThrows(IllegalArgumentException.class, () -> animation.resolveRegionIndices(sheet));
+  }
 }
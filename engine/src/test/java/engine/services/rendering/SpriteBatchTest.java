@@ -1,6 +1,7 @@
 package engine.services.rendering;
 
 import org.joml.Matrix4f;
+import org.joml.Vector4f;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +21,9 @@ class SpriteBatchTest {
     @Mock
     private Texture texture2;
 
+    @Mock
+    private TextureArray textureArray;
+
     @BeforeEach
     void setUp() {
         spriteBatch = new SpriteBatch();
@@ -60,7 +64,7 @@ class SpriteBatchTest {
     }
 
     @Test
-    void testGetSpritesForTextureReturnsCorrectTransforms() {
+    void testGetSpritesForTextureReturnsPackedInstances() {
         // Given
         Matrix4f transform1 = new Matrix4f().identity();
         Matrix4f transform2 = new Matrix4f().translate(1, 0, 0);
@@ -68,12 +72,12 @@ class SpriteBatchTest {
         spriteBatch.addSprite(texture1, transform2);
 
         // When
-        var transforms = spriteBatch.getSpritesForTexture(texture1);
+        SpriteInstances instances = spriteBatch.getSpritesForTexture(texture1);
 
-        // Then
-        assertEquals(2, transforms.size());
-        assertTrue(transforms.contains(transform1));
-        assertTrue(transforms.contains(transform2));
+        // Then the sprites are packed in submission order
+        assertEquals(2, instances.size());
+        assertEquals(0f, instances.x(0));
+        assertEquals(1f, instances.x(1));
     }
 
     @Test
@@ -87,4 +91,95 @@ class SpriteBatchTest {
         // Then it is no longer empty
         assertFalse(spriteBatch.isEmpty());
     }
+
+    @Test
+    void testDrawCallCountSplitsOversizedBatches() {
+        // Given a batch limited to 2 instances per draw
+        SpriteBatch limited = new SpriteBatch(2);
+        for (int i = 0; i < 5; i++) {
+            limited.addSprite(texture1, new Matrix4f());
+        }
+        limited.addSprite(texture2, new Matrix4f());
+
+        // Then the 5 sprites of texture1 take 3 draws and texture2 one
+        assertTrue(limited.hasOversizedBatches());
+        assertEquals(2, limited.getBatchCount());
+        assertEquals(4, limited.getDrawCallCount());
+    }
+
+    @Test
+    void testTextureIdsStayStableAcrossFrames() {
+        // Given texture1 used in a first frame
+        int id1 = spriteBatch.textureId(texture1);
+        spriteBatch.addSprite(texture1, new Matrix4f());
+        spriteBatch.clear();
+
+        // When the next frame adds texture2 first
+        spriteBatch.addSprite(texture2, new Matrix4f());
+        spriteBatch.addSprite(texture1, new Matrix4f());
+
+        // Then texture1 keeps its id and batches follow the order of first use
+        assertEquals(id1, spriteBatch.textureId(texture1));
+        assertSame(texture2, spriteBatch.getTexture(spriteBatch.getBatchTextureId(0)));
+        assertSame(texture1, spriteBatch.getTexture(spriteBatch.getBatchTextureId(1)));
+    }
+
+    @Test
+    void testClearReusesInstanceLists() {
+        // Given a texture's instances from a previous frame
+        spriteBatch.addSprite(texture1, new Matrix4f());
+        SpriteInstances instances = spriteBatch.getSpritesForTexture(texture1);
+
+        // When the batch is cleared and refilled
+        spriteBatch.clear();
+        spriteBatch.addSprite(texture1, new Matrix4f());
+
+        // Then the same list is filled again
+        assertSame(instances, spriteBatch.getSpritesForTexture(texture1));
+        assertEquals(1, instances.size());
+    }
+
+    @Test
+    void testLayersOfOneTextureArrayShareABatch() {
+        // Given two images of the same array
+        TextureLayer first = new TextureLayer(textureArray, 0, 0f, 0f, 1f, 1f);
+        TextureLayer second = new TextureLayer(textureArray, 1, 0f, 0f, 0.5f, 0.5f);
+        Vector4f white = new Vector4f(1f, 1f, 1f, 1f);
+
+        // When
+        spriteBatch.addSprite(first, new Matrix4f(), white);
+        spriteBatch.addSprite(second, 1f, 0f, 0f, 0f, 1f, 1f, white);
+
+        // Then both are drawn by one batch, each instance keeping its layer
+        assertEquals(1, spriteBatch.getBatchCount());
+        assertSame(textureArray, spriteBatch.getTexture(spriteBatch.getBatchTextureId(0)));
+        SpriteInstances sprites = spriteBatch.getSpritesForTexture(textureArray);
+        assertEquals(2, sprites.size());
+        assertEquals(0, sprites.layer(0));
+        assertEquals(1, sprites.layer(1));
+    }
+
+    @Test
+    void testSpritesShowingPartOfATextureKeepTheirUvRect() {
+        // Given two frames of one sprite sheet texture
+        Vector4f white = new Vector4f(1f, 1f, 1f, 1f);
+
+        // When
+        spriteBatch.addSprite(texture1, new float[]{0f, 0f, 0.5f, 1f}, new Matrix4f(), white);
+        spriteBatch.addSprite(texture1, new float[]{0.5f, 0f, 1f, 1f}, 1f, 0f, 0f, 0f, 1f, 1f, white);
+
+        // Then they share the texture's batch, each with its own rect
+        assertEquals(1, spriteBatch.getBatchCount());
+        int[] data = spriteBatch.getSpritesForTexture(texture1).data();
+        assertEquals(0, data[5]);
+        assertEquals(0xFFFF_8000, data[6]);
+        assertEquals(0x0000_8000, data[SpriteInstances.WORDS + 5]);
+        assertEquals(0xFFFF_FFFF, data[SpriteInstances.WORDS + 6]);
+    }
+
+    @Test
+    void testUnknownTextureHasNoSprites() {
+        assertEquals(0, spriteBatch.getSpriteCount(texture1));
+        assertTrue(spriteBatch.getSpritesForTexture(texture1).isEmpty());
+    }
 }
@@ -0,0 +1,134 @@
+package engine.services.rendering;
+
+import org.joml.Matrix4f;
+import org.joml.Vector4f;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpriteInstancesTest {
+
+    private static final Vector4f WHITE = new Vector4f(1, 1, 1, 1);
+
+    @Test
+    void add_packsFieldsIntoEightWords() {
+        SpriteInstances instances = new SpriteInstances(1);
+
+        instances.add(1.5f, -2f, 3f, 0.25f, 2f, 0.5f, new Vector4f(1f, 0f, 0.5f, 1f));
+
+        assertEquals(1, instances.size());
+        assertEquals(1.5f, instances.x(0));
+        assertEquals(-2f, instances.y(0));
+        assertEquals(3f, instances.z(0));
+        // Rotations are stored in 1/65536 turns
+        assertEquals(0.25f, instances.rotation(0), 1e-4f);
+        assertEquals(0, instances.layer(0));
+        assertEquals(2f, instances.scaleX(0));
+        assertEquals(0.5f, instances.scaleY(0));
+        assertEquals(0xFF80_00FF, instances.tint(0));
+        // The UV rect covers the whole texture
+        assertEquals(0, instances.data()[5]);
+        assertEquals(0xFFFF_FFFF, instances.data()[6]);
+    }
+
+    @Test
+    void add_growsPastInitialCapacity() {
+        SpriteInstances instances = new SpriteInstances(1);
+
+        for (int i = 0; i < 5; i++) {
+            instances.add(i, 0f, 0f, 0f, 1f, 1f, WHITE);
+        }
+
+        assertEquals(5, instances.size());
+        assertEquals(4f, instances.x(4));
+        assertTrue(instances.data().length >= 5 * SpriteInstances.WORDS);
+    }
+
+    @Test
+    void add_decomposesTwoDimensionalMatrix() {
+        SpriteInstances instances = new SpriteInstances();
+        Matrix4f transform = new Matrix4f().translate(4f, 5f, 6f).rotateZ(0.75f).scale(3f, 2f, 1f);
+
+        instances.add(transform, WHITE);
+
+        assertEquals(4f, instances.x(0), 1e-5f);
+        assertEquals(5f, instances.y(0), 1e-5f);
+        assertEquals(6f, instances.z(0), 1e-5f);
+        assertEquals(0.75f, instances.rotation(0), 1e-4f);
+        assertEquals(3f, instances.scaleX(0), 1e-3f);
+        assertEquals(2f, instances.scaleY(0), 1e-3f);
+    }
+
+    @Test
+    void add_keepsMirroringAsNegativeScaleY() {
+        SpriteInstances instances = new SpriteInstances();
+
+        instances.add(new Matrix4f().scale(1f, -1f, 1f), WHITE);
+
+        assertEquals(0f, instances.rotation(0), 1e-5f);
+        assertEquals(1f, instances.scaleX(0));
+        assertEquals(-1f, instances.scaleY(0));
+    }
+
+    @Test
+    void add_wrapsNegativeRotationIntoOneTurn() {
+        SpriteInstances instances = new SpriteInstances();
+
+        instances.add(0f, 0f, 0f, (float) -Math.PI / 2f, 1f, 1f, WHITE);
+
+        assertEquals((float) (1.5 * Math.PI), instances.rotation(0), 1e-4f);
+    }
+
+    @Test
+    void add_packsTextureLayerAndItsUvRect() {
+        SpriteInstances instances = new SpriteInstances();
+        TextureLayer layer = new TextureLayer(null, 3, 0.25f, 0.125f, 0.5f, 0.25f);
+
+        instances.add(1f, 2f, 0f, 0.5f, 1f, 1f, layer, WHITE);
+        instances.add(new Matrix4f().translate(1f, 2f, 0f), layer, WHITE);
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(3, instances.layer(i));
+            // u0 = 0.25 and v0 = 0.125, then u1 = 0.5 and v1 = 0.25, as unsigned normalized shorts
+            assertEquals(0x2000_4000, instances.data()[i * SpriteInstances.WORDS + 5]);
+            assertEquals(0x4000_8000, instances.data()[i * SpriteInstances.WORDS + 6]);
+        }
+        assertEquals(0.5f, instances.rotation(0), 1e-4f);
+        assertEquals(1f, instances.x(1));
+    }
+
+    @Test
+    void add_packsTheGivenUvRect() {
+        SpriteInstances instances = new SpriteInstances();
+
+        instances.add(0f, 0f, 0f, 0f, 1f, 1f, 0.25f, 0.5f, 0.5f, 1f, WHITE);
+        instances.add(new Matrix4f(), 0.25f, 0.5f, 0.5f, 1f, WHITE);
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(0, instances.layer(i));
+            assertEquals(0x8000_4000, instances.data()[i * SpriteInstances.WORDS + 5]);
+            assertEquals(0xFFFF_8000, instances.data()[i * SpriteInstances.WORDS + 6]);
+        }
+    }
+
+    @Test
+    void add_clampsTintComponents() {
+        SpriteInstances instances = new SpriteInstances();
+
+        instances.add(0f, 0f, 0f, 0f, 1f, 1f, new Vector4f(2f, -1f, 0f, 1f));
+
+        assertEquals(0xFF00_00FF, instances.tint(0));
+    }
+
+    @Test
+    void clear_keepsCapacity() {
+        SpriteInstances instances = new SpriteInstances(1);
+        instances.add(0f, 0f, 0f, 0f, 1f, 1f, WHITE);
+        int[] data = instances.data();
+
+        instances.clear();
+
+        assertTrue(instances.isEmpty());
+        assertSame(data, instances.data());
+    }
+}
@@ -6,6 +6,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
 
 class SpriteSheetTest {
 
@@ -123,4 +124,33 @@ class SpriteSheetTest {
     assertTrue(sheet.hasRegion("r2"));
     assertTrue(sheet.hasRegion("r3"));
   }
+
+  @Test
+  void getRegionIndex_shouldNumberRegionsInInsertionOrder() {
+    SpriteSheet sheet = new SpriteSheet(mockTexture);
+    SpriteSheetRegion region1 = new SpriteSheetRegion(0, 0, 32, 32);
+    SpriteSheetRegion region2 = new SpriteSheetRegion(32, 0, 32, 32);
+    SpriteSheetRegion replacement = new SpriteSheetRegion(64, 0, 32, 32);
+
+    sheet.addRegion("r1", region1).addRegion("r2", region2).addRegion("r1", replacement);
+
+    assertEquals(2, sheet.getRegionCount());
+    assertEquals(0, sheet.getRegionIndex("r1"));
+    assertEquals(1, sheet.getRegionIndex("r2"));
+    assertEquals(-1, sheet.getRegionIndex("missing"));
+    assertEquals(replacement, sheet.getRegion(0));
+    assertEquals(region2, sheet.getRegion(1));
+  }
+
+  @Test
+  void getRegionUvRect_shouldFlipRegionsIntoTheBottomUpTexture() {
+    when(mockTexture.getWidth()).thenReturn(128);
+    when(mockTexture.getHeight()).thenReturn(64);
+    SpriteSheet sheet = new SpriteSheet(mockTexture);
+
+    sheet.addRegion("frame", new SpriteSheetRegion(32, 0, 32, 16));
+
+    // The top row of the image is the top of the texture, v = 1
+    assertArrayEquals(new float[]{0.25f, 0.75f, 0.5f, 1f}, sheet.getRegionUvRect(0));
+  }
 }
@@ -37,7 +37,7 @@ public class SceneServiceIT extends EngineTestHarness {
         assertEquals(1, entities.size(), "There should be exactly one entity created from the scene.");
 
         // And the entity's components should have the correct data
-        int entityId = entities.iterator().next();
+        int entityId = entities.iterator().nextInt();
         TransformComponent transform = worldService.getComponent(entityId, TransformComponent.class);
         SpriteComponent sprite = worldService.getComponent(entityId, SpriteComponent.class);
 
@@ -0,0 +1,61 @@
+package engine.services.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SystemTimeServiceTest {
+
+    private static final float STEP = 1 / 30f;
+
+    @Test
+    void accumulate_runsWholeStepsAndKeepsTheRemainderAsAlpha() {
+        SystemTimeService timeService = new SystemTimeService(30, 5);
+
+        // A frame of two and a half steps
+        timeService.accumulate(2.5 * STEP);
+        assertEquals(2, timeService.getFixedSteps());
+        assertEquals(0.5f, timeService.getInterpolationAlpha(), 1e-4f);
+
+        // The carried half step completes with the next one
+        timeService.accumulate(0.5 * STEP);
+        assertEquals(1, timeService.getFixedSteps());
+        assertEquals(0f, timeService.getInterpolationAlpha(), 1e-4f);
+    }
+
+    @Test
+    void accumulate_clampsStepsAndDropsTheBacklogAfterAStall() {
+        SystemTimeService timeService = new SystemTimeService(30, 5);
+
+        timeService.accumulate(20.25 * STEP);
+        assertEquals(5, timeService.getFixedSteps());
+
+        // Then: The dropped steps are not caught up on the next frame
+        timeService.accumulate(0.25 * STEP);
+        assertEquals(0, timeService.getFixedSteps());
+        assertEquals(0.5f, timeService.getInterpolationAlpha(), 1e-4f);
+    }
+
+    @Test
+    void accumulate_doesNothingWithoutAFixedRate() {
+        SystemTimeService timeService = new SystemTimeService(0, 5);
+
+        timeService.accumulate(1.0);
+
+        assertFalse(timeService.isFixedTimestep());
+        assertEquals(0, timeService.getFixedSteps());
+        assertEquals(1f, timeService.getInterpolationAlpha());
+    }
+
+    @Test
+    void fixedUpdate_advancesSimulationTimeByOneStepEach() {
+        SystemTimeService timeService = new SystemTimeService(30, 5);
+        timeService.accumulate(2.5 * STEP);
+
+        // Each step of the frame sees its own time, not the frame's
+        timeService.fixedUpdate(STEP);
+        assertEquals(STEP, timeService.getSimulationTimeSeconds(), 1e-6);
+        timeService.fixedUpdate(STEP);
+        assertEquals(2 * STEP, timeService.getSimulationTimeSeconds(), 1e-6);
+    }
+}
@@ -0,0 +1,89 @@
+package engine.services.world;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchetypeComponentManagerTest {
+
+    private record ComponentA(int value) implements IComponent {}
+    private record ComponentB(int value) implements IComponent {}
+
+    private World world;
+
+    @BeforeEach
+    void setUp() {
+        world = new World(WorldStorage.ARCHETYPE);
+    }
+
+    @Test
+    void addAndRemove_moveEntityBetweenArchetypesKeepingComponents() {
+        int entity = world.createEntity();
+        world.addComponent(entity, new ComponentA(1));
+        world.addComponent(entity, new ComponentB(2));
+
+        assertEquals(new ComponentA(1), world.getComponent(entity, ComponentA.class));
+        assertEquals(new ComponentB(2), world.getComponent(entity, ComponentB.class));
+
+        world.removeComponent(entity, ComponentB.class);
+
+        assertFalse(world.hasComponent(entity, ComponentB.class));
+        assertEquals(new ComponentA(1), world.getComponent(entity, ComponentA.class), "ComponentA should survive the move.");
+
+        world.removeComponent(entity, ComponentA.class);
+        assertNull(world.getComponent(entity, ComponentA.class));
+    }
+
+    @Test
+    void removingRow_keepsOtherEntitiesAddressable() {
+        int first = world.createEntity();
+        int second = world.createEntity();
+        int third = world.createEntity();
+        world.addComponent(first, new ComponentA(1));
+        world.addComponent(second, new ComponentA(2));
+        world.addComponent(third, new ComponentA(3));
+
+        world.destroyEntity(first);
+
+        assertNull(world.getComponent(first, ComponentA.class));
+        assertEquals(new ComponentA(2), world.getComponent(second, ComponentA.class));
+        assertEquals(new ComponentA(3), world.getComponent(third, ComponentA.class));
+    }
+
+    @Test
+    void forEachChunk_visitsOnlyMatchingArchetypesAcrossChunks() {
+        int count = Archetype.CHUNK_CAPACITY + 10;
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            int entity = world.createEntity();
+            world.addComponent(entity, new ComponentA(i));
+            if (i % 2 == 0) {
+                world.addComponent(entity, new ComponentB(i));
+                expected.add(entity);
+            }
+        }
+
+        Set<Integer> visited = new HashSet<>();
+        world.forEachChunk(world.query(ComponentA.class, ComponentB.class), chunk -> {
+            ComponentB[] bs = chunk.column(ComponentB.class);
+            for (int row = 0; row < chunk.size(); row++) {
+                int entity = chunk.entityAt(row);
+                assertEquals(world.getComponent(entity, ComponentB.class), bs[row]);
+                visited.add(entity);
+            }
+        });
+
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    void forEachChunk_requiresArchetypeStorage() {
+        World sparseWorld = new World();
+        Query query = sparseWorld.query(ComponentA.class);
+        assertThrows(IllegalStateException.class, () -> sparseWorld.forEachChunk(query, chunk -> { }));
+    }
+}
@@ -0,0 +1,98 @@
+package engine.services.world;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandBufferTest {
+
+    private record ComponentA(int value) implements IComponent {}
+    private record ComponentB() implements IComponent {}
+
+    private World world;
+    private CommandBuffer commands;
+
+    @BeforeEach
+    void setUp() {
+        world = new World();
+        commands = world.commands();
+    }
+
+    @Test
+    void playback_appliesRecordedChangesInOrder() {
+        // Given: An existing entity and a deferred one built through a placeholder handle
+        int existing = world.createEntity();
+        world.addComponent(existing, new ComponentA(1));
+        int placeholder = commands.createEntity();
+        commands.addComponent(placeholder, new ComponentA(2));
+        commands.addComponent(placeholder, new ComponentB());
+        commands.removeComponent(existing, ComponentA.class);
+
+        // Then: Nothing changes before playback
+        assertTrue(placeholder < 0, "Placeholder handles must not collide with real entities.");
+        assertTrue(world.hasComponent(existing, ComponentA.class));
+        assertTrue(world.query(ComponentA.class, ComponentB.class).isEmpty());
+
+        // When
+        world.playbackCommands();
+
+        // Then
+        assertTrue(commands.isEmpty());
+        assertFalse(world.hasComponent(existing, ComponentA.class));
+        Query created = world.query(ComponentA.class, ComponentB.class);
+        assertEquals(1, created.size());
+        assertEquals(new ComponentA(2), world.getComponent(created.entityAt(0), ComponentA.class));
+    }
+
+    @Test
+    void placeholder_isRejectedAfterItsBatchWasPlayedBack() {
+        // Given: A placeholder kept past the playback that created its entity
+        int stale = commands.createEntity();
+        world.playbackCommands();
+
+        // And: A new batch reserving the same number of entities
+        int fresh = commands.createEntity();
+        commands.addComponent(fresh, new ComponentB());
+
+        // Then: The stale handle does not silently resolve to the new entity
+        assertThrows(IllegalArgumentException.class, () -> commands.addComponent(stale, new ComponentA(1)));
+        world.playbackCommands();
+        assertEquals(1, world.query(ComponentB.class).size());
+        assertTrue(world.query(ComponentA.class).isEmpty());
+    }
+
+    @Test
+    void destroyEntity_isDeferredUntilPlayback() {
+        int entity = world.createEntity();
+        world.addComponent(entity, new ComponentB());
+
+        commands.destroyEntity(entity);
+        assertTrue(world.isAlive(entity));
+        world.playbackCommands();
+
+        assertFalse(world.isAlive(entity));
+        assertTrue(world.query(ComponentB.class).isEmpty());
+    }
+
+    @Test
+    void recording_isSafeFromWorkerThreads() {
+        // When: Many threads record entity creation concurrently
+        IntStream.range(0, 1000).parallel().forEach(i -> {
+            int placeholder = commands.createEntity();
+            commands.addComponent(placeholder, new ComponentA(i));
+        });
+        world.playbackCommands();
+
+        // Then: Every recorded entity exists with its own component
+        Query created = world.query(ComponentA.class);
+        assertEquals(1000, created.size());
+        boolean[] seen = new boolean[1000];
+        created.forEach(entity -> seen[world.getComponent(entity, ComponentA.class).value()] = true);
+        for (int i = 0; i < seen.length; i++) {
+            assertTrue(seen[i], "Missing entity for value " + i);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package engine.services.world;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComponentPoolTest {
+
+    private record Marker(int value) implements IComponent {}
+
+    private ComponentPool<Marker> pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ComponentPool<>(Marker.class);
+    }
+
+    @Test
+    void put_storesComponentsDenselyAndReplacesExisting() {
+        pool.put(5, new Marker(1));
+        pool.put(100, new Marker(2));
+        pool.put(5, new Marker(3));
+
+        assertEquals(2, pool.size(), "Replacing a component should not grow the pool.");
+        assertEquals(new Marker(3), pool.get(5));
+        assertEquals(new Marker(2), pool.get(100));
+        assertEquals(5, pool.entityAt(0));
+        assertEquals(100, pool.entityAt(1));
+    }
+
+    @Test
+    void remove_swapsLastComponentIntoFreedSlot() {
+        pool.put(1, new Marker(1));
+        pool.put(2, new Marker(2));
+        pool.put(3, new Marker(3));
+
+        assertTrue(pool.remove(1));
+        assertFalse(pool.remove(1), "Removing twice should report nothing removed.");
+
+        assertEquals(2, pool.size());
+        assertFalse(pool.has(1));
+        assertNull(pool.get(1));
+        assertEquals(3, pool.entityAt(0), "The last entity should fill the freed slot.");
+        assertEquals(new Marker(3), pool.componentAt(0));
+        assertEquals(new Marker(2), pool.get(2));
+    }
+
+    @Test
+    void lookupsOutsideSparseRange_reportAbsent() {
+        assertFalse(pool.has(-1));
+        assertFalse(pool.has(1_000_000));
+        assertNull(pool.get(1_000_000));
+        assertThrows(IndexOutOfBoundsException.class, () -> pool.entityAt(0));
+    }
+}
@@ -0,0 +1,61 @@
+package engine.services.world;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntitySignaturesTest {
+
+    private EntitySignatures signatures;
+
+    @BeforeEach
+    void setUp() {
+        signatures = new EntitySignatures();
+    }
+
+    @Test
+    void set_widensStrideForLargeTypeIdsWithoutLosingBits() {
+        signatures.set(3, 1);
+        signatures.set(40, 5);
+
+        // When: A type id beyond the first word is set
+        signatures.set(3, 130);
+
+        // Then: Existing bits of every slot survive the widening
+        assertTrue(signatures.has(3, 1));
+        assertTrue(signatures.has(3, 130));
+        assertTrue(signatures.has(40, 5));
+        assertFalse(signatures.has(40, 130));
+    }
+
+    @Test
+    void containsAll_comparesWholeMask() {
+        signatures.set(7, 2);
+        signatures.set(7, 70);
+
+        long[] both = new long[2];
+        both[0] = 1L << 2;
+        both[1] = 1L << (70 - 64);
+        long[] withMissing = both.clone();
+        withMissing[0] |= 1L << 3;
+
+        assertTrue(signatures.containsAll(7, both));
+        assertFalse(signatures.containsAll(7, withMissing));
+
+        signatures.clear(7, 70);
+        assertFalse(signatures.containsAll(7, both));
+    }
+
+    @Test
+    void staleHandle_hasNoComponents() {
+        int stale = 9;
+        int recycled = Entity.handle(Entity.index(stale), 1);
+        signatures.set(stale, 4);
+        signatures.clearAll(stale);
+        signatures.set(recycled, 4);
+
+        assertTrue(signatures.has(recycled, 4));
+        assertFalse(signatures.has(stale, 4), "A stale handle must not see the recycled slot's signature.");
+    }
+}
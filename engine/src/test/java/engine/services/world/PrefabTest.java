@@ -0,0 +1,93 @@
+package engine.services.world;
+
+import engine.services.world.components.MovementStatsComponent;
+import engine.services.world.components.TransformComponent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefabTest {
+
+    private static final class Marker { }
+
+    private World world;
+
+    @BeforeEach
+    void setUp() {
+        world = new World();
+    }
+
+    @Test
+    void instantiate_givesEveryEntityItsOwnCopyOfMutableComponents() {
+        // Given
+        TransformComponent prototype = new TransformComponent();
+        prototype.position.set(1, 2, 3);
+        Prefab prefab = new Prefab("enemy")
+            .with(prototype)
+            .with(new MovementStatsComponent(4f));
+
+        // When
+        int[] entities = world.instantiate(prefab, 3);
+
+        // Then
+        assertEquals(3, entities.length);
+        TransformComponent first = world.getComponent(entities[0], TransformComponent.class);
+        TransformComponent second = world.getComponent(entities[1], TransformComponent.class);
+        assertNotSame(prototype, first);
+        assertNotSame(first, second);
+        assertEquals(prototype.position, second.position);
+
+        first.position.x = 10;
+        assertEquals(1f, second.position.x, "Instances must not share mutable state.");
+        assertEquals(1f, prototype.position.x, "Instances must not write through to the prototype.");
+
+        // Deeply immutable records are shared rather than copied
+        assertSame(world.getComponent(entities[0], MovementStatsComponent.class),
+            world.getComponent(entities[2], MovementStatsComponent.class));
+    }
+
+    @Test
+    void instantiate_updatesQueriesAndChangeTicksLikeAddingComponents() {
+        // Given: Queries registered before and a listener for additions
+        Query transforms = world.query(TransformComponent.class);
+        Query both = world.query(TransformComponent.class, MovementStatsComponent.class);
+        Query markers = world.query(Marker.class);
+        List<Integer> added = new ArrayList<>();
+        world.observe(ComponentEvent.ADDED, TransformComponent.class, added::add);
+        int lastRun = world.advanceChangeTick();
+        Prefab prefab = new Prefab("mover")
+            .with(new TransformComponent())
+            .with(new MovementStatsComponent(1f));
+
+        // When
+        int[] entities = world.instantiate(prefab, 100);
+        world.playbackCommands();
+
+        // Then
+        assertEquals(100, transforms.size());
+        assertEquals(100, both.size());
+        assertEquals(0, markers.size());
+        assertEquals(100, world.query(MovementStatsComponent.class).size(), "Queries registered later see them too.");
+        assertTrue(world.isAddedSince(entities[99], TransformComponent.class, lastRun));
+        assertEquals(100, added.size());
+    }
+
+    @Test
+    void with_replacesPrototypesOfTheSameTypeAndRequiresACopier() {
+        Prefab prefab = new Prefab("marker")
+            .with(new MovementStatsComponent(1f))
+            .with(new MovementStatsComponent(2f))
+            .with(new Marker(), marker -> new Marker());
+
+        int entity = world.instantiate(prefab);
+
+        assertEquals(2, prefab.size());
+        assertEquals(2f, world.getComponent(entity, MovementStatsComponent.class).speed());
+        assertTrue(world.hasComponent(entity, Marker.class));
+        assertThrows(IllegalArgumentException.class, () -> new Prefab("bad").with(new Marker()));
+    }
+}
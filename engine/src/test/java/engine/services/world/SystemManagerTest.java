@@ -0,0 +1,350 @@
+package engine.services.world;
+
+import engine.services.profiler.ProfileStats;
+import engine.services.profiler.ProfilerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SystemManagerTest {
+
+    private static final class Position { }
+    private static final class Velocity { }
+    private static final class Health { }
+
+    private SystemManager systemManager;
+    private List<String> calls;
+
+    @BeforeEach
+    void setUp() {
+        systemManager = new SystemManager(new World());
+        calls = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @Test
+    void stages_groupNonConflictingSystemsAndOrderConflictingOnes() {
+        ISystem move = system("move", 0, SystemAccess.of(Set.of(Velocity.class), Set.of(Position.class)));
+        ISystem heal = system("heal", 0, SystemAccess.of(Set.of(), Set.of(Health.class)));
+        ISystem render = system("render", 1, SystemAccess.reading(Position.class));
+        systemManager.addSystem(render);
+        systemManager.addSystem(heal);
+        systemManager.addSystem(move);
+
+        List<List<ISystem>> stages = systemManager.stages();
+
+        // Then: move and heal touch disjoint types; render reads what move writes
+        assertEquals(2, stages.size());
+        assertEquals(Set.of(move, heal), Set.copyOf(stages.get(0)));
+        assertEquals(List.of(render), stages.get(1));
+    }
+
+    @Test
+    void stages_isolateSystemsWithoutAccessDeclaration() {
+        ISystem first = system("first", 0, SystemAccess.reading(Position.class));
+        ISystem legacy = new ISystem() { };
+        ISystem last = system("last", 2, SystemAccess.reading(Health.class));
+        systemManager.addSystem(first);
+        systemManager.addSystem(legacy);
+        systemManager.addSystem(last);
+
+        List<List<ISystem>> stages = systemManager.stages();
+
+        assertEquals(List.of(List.of(first), List.of(legacy), List.of(last)), stages);
+    }
+
+    @Test
+    void stages_keepMainThreadSystemsInPriorityOrder() {
+        ISystem world = system("world", 0, SystemAccess.reading(Position.class).onMainThread());
+        ISystem overlay = system("overlay", 10, SystemAccess.reading(Health.class).onMainThread());
+        systemManager.addSystem(overlay);
+        systemManager.addSystem(world);
+
+        assertEquals(List.of(List.of(world), List.of(overlay)), systemManager.stages());
+    }
+
+    @Test
+    void update_runsStageMembersConcurrently() throws InterruptedException {
+        // Arrange: two workers that only finish once both have started
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        List<Boolean> overlapped = Collections.synchronizedList(new ArrayList<>());
+        for (Class<?> type : List.of(Position.class, Health.class)) {
+            systemManager.addSystem(new ISystem() {
+                @Override
+                public void update(World world, float deltaTime) {
+                    bothStarted.countDown();
+                    try {
+                        overlapped.add(bothStarted.await(5, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                @Override
+                public SystemAccess access() {
+                    return SystemAccess.of(Set.of(), Set.of(type));
+                }
+            });
+        }
+        systemManager.setParallel(true);
+
+        systemManager.update(0.016f);
+
+        assertEquals(List.of(true, true), overlapped);
+    }
+
+    @Test
+    void update_runsSeriallyInPriorityOrderWhenParallelIsDisabled() {
+        systemManager.addSystem(system("late", 5, SystemAccess.reading(Position.class)));
+        systemManager.addSystem(system("early", 0, SystemAccess.reading(Health.class)));
+
+        systemManager.update(0.016f);
+
+        assertEquals(List.of("early", "late"), calls);
+    }
+
+    @Test
+    void removeSystem_rebuildsSchedule() {
+        ISystem move = system("move", 0, SystemAccess.of(Set.of(), Set.of(Position.class)));
+        ISystem render = system("render", 1, SystemAccess.reading(Position.class));
+        systemManager.addSystem(move);
+        systemManager.addSystem(render);
+        assertEquals(2, systemManager.stages().size());
+
+        systemManager.removeSystem(move);
+
+        assertEquals(List.of(List.of(render)), systemManager.stages());
+    }
+
+    @Test
+    void attachedSystems_receiveObservedEventsBeforeTheirUpdate() {
+        World world = new World();
+        systemManager = new SystemManager(world);
+        ISystem tracker = new ISystem() {
+            private final IntConsumer added = entity -> calls.add("added " + entity);
+
+            @Override
+            public void onAttach(World world) {
+                world.observe(ComponentEvent.ADDED, Position.class, added);
+            }
+
+            @Override
+            public void onDetach(World world) {
+                world.unobserve(ComponentEvent.ADDED, Position.class, added);
+            }
+
+            @Override
+            public void update(World world, float deltaTime) {
+                calls.add("update");
+            }
+        };
+        systemManager.addSystem(tracker);
+
+        // A component added between frames is delivered at the sync point before the first system
+        int entity = world.createEntity();
+        world.addComponent(entity, new Position());
+        systemManager.update(0.1f);
+        assertEquals(List.of("added " + entity, "update"), calls);
+
+        // Detached systems stop observing
+        calls.clear();
+        systemManager.clear();
+        world.addComponent(world.createEntity(), new Position());
+        systemManager.update(0.1f);
+        assertTrue(calls.isEmpty());
+    }
+
+    @Test
+    void update_runsPacedSystemsAtTheirRateWithTheAccumulatedDelta() {
+        List<Float> deltas = new ArrayList<>();
+        systemManager.addSystem(new ISystem() {
+            @Override
+            public float updateRate() {
+                return 10f;
+            }
+
+            @Override
+            public void update(World world, float deltaTime) {
+                deltas.add(deltaTime);
+            }
+        });
+
+        // 60 frames of 1/60 s are one second: ten runs of about 0.1 s each
+        for (int frame = 0; frame < 60; frame++) {
+            systemManager.update(1f / 60f);
+        }
+
+        assertEquals(10, deltas.size(), deltas.toString());
+        for (int run = 1; run < deltas.size(); run++) {
+            assertEquals(0.1f, deltas.get(run), 0.001f);
+        }
+    }
+
+    @Test
+    void update_staggersPacedSystemsWithTheSameRate() {
+        List<List<String>> frames = new ArrayList<>();
+        for (String name : List.of("a", "b", "c")) {
+            systemManager.addSystem(new ISystem() {
+                @Override
+                public float updateRate() {
+                    return 10f;
+                }
+
+                @Override
+                public void update(World world, float deltaTime) {
+                    calls.add(name);
+                }
+            });
+        }
+
+        for (int frame = 0; frame < 60; frame++) {
+            calls.clear();
+            systemManager.update(1f / 60f);
+            frames.add(List.copyOf(calls));
+        }
+
+        assertEquals(30, frames.stream().mapToInt(List::size).sum(), "Each system still runs ten times.");
+        assertTrue(frames.stream().allMatch(called -> called.size() <= 1), "Systems were not spread over frames: " + frames);
+    }
+
+    @Test
+    void update_skipsSystemsWhoseRunConditionIsFalse() {
+        boolean[] enabled = {false};
+        systemManager.addSystem(new ISystem() {
+            @Override
+            public boolean shouldRun(World world) {
+                return enabled[0];
+            }
+
+            @Override
+            public void update(World world, float deltaTime) {
+                calls.add("conditional");
+            }
+        });
+
+        systemManager.update(0.1f);
+        enabled[0] = true;
+        systemManager.update(0.1f);
+
+        assertEquals(List.of("conditional"), calls);
+    }
+
+    @Test
+    void update_playsBackCommandsBeforeTheNextStage() {
+        World world = new World();
+        systemManager = new SystemManager(world);
+        List<Boolean> seenByReader = new ArrayList<>();
+        systemManager.addSystem(new ISystem() {
+            @Override
+            public void update(World world, float deltaTime) {
+                world.commands().addComponent(world.commands().createEntity(), new Position());
+            }
+        });
+        systemManager.addSystem(new ISystem() {
+            @Override
+            public void update(World world, float deltaTime) {
+                seenByReader.add(!world.query(Position.class).isEmpty());
+            }
+
+            @Override
+            public int priority() {
+                return 1;
+            }
+        });
+
+        systemManager.update(0.016f);
+
+        assertEquals(List.of(true), seenByReader);
+    }
+
+    @Test
+    void fixedUpdate_runsOnlyFixedStepSystemsWhenFixedTimestepIsEnabled() {
+        systemManager.addSystem(fixedStepSystem("simulate"));
+        systemManager.addSystem(system("render", 1, SystemAccess.reading(Position.class)));
+        systemManager.setFixedTimestep(true);
+
+        systemManager.fixedUpdate(1 / 30f);
+        systemManager.fixedUpdate(1 / 30f);
+        systemManager.update(0.016f);
+
+        assertEquals(List.of("simulate", "simulate", "render"), calls);
+    }
+
+    @Test
+    void update_runsFixedStepSystemsOncePerFrameWhenFixedTimestepIsDisabled() {
+        systemManager.addSystem(fixedStepSystem("simulate"));
+        systemManager.addSystem(system("render", 1, SystemAccess.reading(Position.class)));
+
+        systemManager.fixedUpdate(1 / 30f);
+        systemManager.update(0.016f);
+
+        assertEquals(List.of("simulate", "render"), calls);
+    }
+
+    @Test
+    void update_recordsEachSystemInTheAttachedProfiler() {
+        ProfilerService profiler = new ProfilerService(true, 16, 0);
+        systemManager.setProfiler(profiler);
+        systemManager.addSystem(new MovementLikeSystem());
+
+        systemManager.update(0.016f);
+        systemManager.update(0.016f);
+
+        ProfileStats stats = profiler.stats("MovementLikeSystem").orElseThrow();
+        assertEquals(2, stats.samples());
+        assertTrue(stats.maxNanos() > 0);
+    }
+
+    private static final class MovementLikeSystem implements ISystem {
+        @Override
+        public void update(World world, float deltaTime) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private ISystem fixedStepSystem(String name) {
+        return new ISystem() {
+            @Override
+            public void update(World world, float deltaTime) {
+                calls.add(name);
+            }
+
+            @Override
+            public boolean fixedStep() {
+                return true;
+            }
+        };
+    }
+
+    private ISystem system(String name, int priority, SystemAccess access) {
+        return new ISystem() {
+            @Override
+            public void update(World world, float deltaTime) {
+                calls.add(name);
+            }
+
+            @Override
+            public int priority() {
+                return priority;
+            }
+
+            @Override
+            public SystemAccess access() {
+                return access;
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+}
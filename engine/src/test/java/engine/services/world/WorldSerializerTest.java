@@ -0,0 +1,120 @@
+package engine.services.world;
+
+import engine.services.world.components.TransformComponent;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldSerializerTest {
+
+    private record Label(String text) { }
+
+    private static final ComponentCodec<Label> LABEL = new ComponentCodec<>() {
+        @Override
+        public void write(Label label, ByteBuffer out) {
+            ComponentCodec.putString(out, label.text());
+        }
+
+        @Override
+        public Label read(ByteBuffer in) {
+            return new Label(ComponentCodec.getString(in));
+        }
+    };
+
+    private World world;
+    private WorldSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        world = new World();
+        serializer = new WorldSerializer()
+            .register(TransformComponent.class, ComponentCodecs.TRANSFORM)
+            .register(Label.class, LABEL);
+    }
+
+    @Test
+    void restore_reproducesEntitiesHandlesAndComponents() {
+        // Given: A recycled-handle history and a mix of components
+        int player = addTransform(1, 2, 3);
+        int destroyed = addTransform(4, 5, 6);
+        int labelled = world.createEntity();
+        world.addComponent(labelled, new Label("sign"));
+        world.destroyEntity(destroyed);
+
+        ByteBuffer snapshot = serializer.capture(world);
+        World restored = new World();
+        restored.addComponent(restored.createEntity(), new Label("overwritten"));
+        serializer.restore(restored, snapshot);
+
+        // Then
+        assertTrue(restored.isAlive(player));
+        assertTrue(restored.isAlive(labelled));
+        assertFalse(restored.isAlive(destroyed));
+        assertEquals(new Vector3f(1, 2, 3), restored.getComponent(player, TransformComponent.class).position);
+        assertEquals(new Label("sign"), restored.getComponent(labelled, Label.class));
+        assertEquals(1, restored.query(Label.class).size());
+        assertEquals(world.createEntity(), restored.createEntity(), "Restored worlds issue the same handles next.");
+    }
+
+    @Test
+    void restoreDelta_appliesChangesAdditionsAndRemovalsSinceTheBase() {
+        int moved = addTransform(0, 0, 0);
+        int still = addTransform(5, 5, 5);
+        int doomed = addTransform(9, 9, 9);
+        world.addComponent(still, new Label("still"));
+        ByteBuffer base = serializer.capture(world);
+        int baseTick = world.advanceChangeTick();
+
+        // When: The world moves on after the base capture
+        world.getComponent(moved, TransformComponent.class).position.set(1, 0, 0);
+        world.markChanged(moved, TransformComponent.class);
+        world.removeComponent(still, Label.class);
+        world.destroyEntity(doomed);
+        int spawned = addTransform(7, 7, 7);
+        ByteBuffer delta = serializer.captureDelta(world, baseTick);
+
+        World replay = new World();
+        serializer.restore(replay, base);
+        serializer.restore(replay, delta);
+
+        // Then
+        assertEquals(new Vector3f(1, 0, 0), replay.getComponent(moved, TransformComponent.class).position);
+        assertEquals(new Vector3f(5, 5, 5), replay.getComponent(still, TransformComponent.class).position);
+        assertFalse(replay.hasComponent(still, Label.class));
+        assertFalse(replay.isAlive(doomed));
+        assertTrue(replay.isAlive(spawned));
+        assertEquals(new Vector3f(7, 7, 7), replay.getComponent(spawned, TransformComponent.class).position);
+        assertTrue(delta.remaining() < base.remaining(), "Unchanged components are not encoded.");
+    }
+
+    @Test
+    void capture_growsPastTheInitialBuffer() {
+        for (int i = 0; i < 5_000; i++) {
+            addTransform(i, 0, 0);
+        }
+
+        World restored = new World();
+        serializer.restore(restored, serializer.capture(world));
+
+        assertEquals(5_000, restored.query(TransformComponent.class).size());
+    }
+
+    @Test
+    void restore_rejectsBuffersThatAreNotSnapshots() {
+        ByteBuffer garbage = ByteBuffer.allocate(16);
+
+        assertThrows(IllegalArgumentException.class, () -> serializer.restore(world, garbage));
+    }
+
+    private int addTransform(float x, float y, float z) {
+        int entity = world.createEntity();
+        TransformComponent transform = new TransformComponent();
+        transform.position.set(x, y, z);
+        world.addComponent(entity, transform);
+        return entity;
+    }
+}
@@ -3,6 +3,11 @@ package engine.services.world;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class WorldTest {
@@ -101,4 +106,243 @@ class WorldTest {
         assertFalse(world.hasComponent(entity, ComponentB.class), "ComponentB should be gone after entity destruction.");
         assertTrue(world.getEntitiesWith(ComponentA.class, ComponentB.class).isEmpty(), "No entities should match signature after destruction.");
     }
+
+    @Test
+    void query_isKeptUpToDateAsComponentsChange() {
+        // Given: A registered query before any entity matches it
+        Query query = world.query(ComponentA.class, ComponentB.class);
+        assertTrue(query.isEmpty());
+
+        int entity = world.createEntity();
+        world.addComponent(entity, new ComponentA());
+        assertFalse(query.contains(entity), "Entity with only ComponentA should not match.");
+
+        // When: The entity gains the second component
+        world.addComponent(entity, new ComponentB());
+
+        // Then: It joins the query without re-querying
+        assertEquals(1, query.size());
+        assertEquals(entity, query.entityAt(0));
+
+        // When: A component is removed, then the entity is destroyed
+        world.removeComponent(entity, ComponentB.class);
+        assertFalse(query.contains(entity), "Entity should leave the query when a component is removed.");
+        world.addComponent(entity, new ComponentB());
+        world.destroyEntity(entity);
+
+        // Then
+        assertTrue(query.isEmpty(), "Destroyed entities should leave every query.");
+        assertSame(query, world.query(ComponentA.class, ComponentB.class), "Queries should be cached per signature.");
+    }
+
+    @Test
+    void destroyEntity_recyclesSlotWithNewGenerationOnceReserveIsExceeded() {
+        // Given: More destroyed entities than the free-slot reserve holds
+        int first = world.createEntity();
+        world.addComponent(first, new ComponentA());
+        world.destroyEntity(first);
+        for (int i = 0; i < EntityManager.MINIMUM_FREE_INDICES; i++) {
+            world.destroyEntity(world.createEntity());
+        }
+
+        // When: A new entity is created
+        int recycled = world.createEntity();
+
+        // Then: It reuses the first slot under a new generation
+        assertEquals(Entity.index(first), Entity.index(recycled), "Oldest freed slot should be reused first.");
+        assertEquals(Entity.generation(first) + 1, Entity.generation(recycled));
+        assertNotEquals(first, recycled);
+
+        // And: The stale handle does not alias the new entity
+        world.addComponent(recycled, new ComponentA());
+        assertFalse(world.isAlive(first));
+        assertTrue(world.isAlive(recycled));
+        assertFalse(world.hasComponent(first, ComponentA.class), "Stale handle should not see the new entity's components.");
+        assertTrue(world.hasComponent(recycled, ComponentA.class));
+
+        // And: Operations through the stale handle leave the new entity untouched
+        world.destroyEntity(first);
+        world.addComponent(first, new ComponentB());
+        assertTrue(world.isAlive(recycled));
+        assertFalse(world.hasComponent(recycled, ComponentB.class));
+    }
+
+    @Test
+    void parallelForEach_visitsEveryMatchExactlyOnce() {
+        // Given: More matches than a single chunk holds
+        for (int i = 0; i < 1000; i++) {
+            int entity = world.createEntity();
+            world.addComponent(entity, new ComponentA());
+            if (i % 2 == 0) {
+                world.addComponent(entity, new ComponentB());
+            }
+        }
+        Query query = world.query(ComponentA.class, ComponentB.class);
+        AtomicIntegerArray visits = new AtomicIntegerArray(1000);
+
+        // When
+        world.parallelForEach(query, 16, entity -> visits.incrementAndGet(Entity.index(entity)));
+
+        // Then
+        for (int slot = 0; slot < 1000; slot++) {
+            assertEquals(slot % 2 == 0 ? 1 : 0, visits.get(slot), "Unexpected visit count for slot " + slot);
+        }
+        assertThrows(IllegalArgumentException.class, () -> world.parallelForEach(query, 0, entity -> { }));
+    }
+
+    @Test
+    void changeTicks_reportOnlyChangesMadeAfterTheLastRun() {
+        // Given: Two entities added before a system's first run
+        int moved = world.createEntity();
+        int idle = world.createEntity();
+        world.addComponent(moved, new ComponentA());
+        world.addComponent(idle, new ComponentA());
+        Query query = world.query(ComponentA.class);
+        assertTrue(world.isAddedSince(idle, ComponentA.class, 0), "Components added before the first run count as added.");
+
+        int lastRun = world.advanceChangeTick();
+
+        // When: Only one entity is marked changed after the run
+        world.markChanged(moved, ComponentA.class);
+
+        // Then
+        List<Integer> changed = new ArrayList<>();
+        world.forEachChangedSince(query, ComponentA.class, lastRun, changed::add);
+        assertEquals(List.of(moved), changed);
+        assertFalse(world.isChangedSince(idle, ComponentA.class, lastRun));
+        assertFalse(world.isAddedSince(moved, ComponentA.class, lastRun));
+
+        // And: A component added later is both added and changed
+        int late = world.createEntity();
+        world.getMutableComponent(late, ComponentA.class);
+        assertFalse(world.isChangedSince(late, ComponentA.class, lastRun), "Absent components never report changes.");
+        world.addComponent(late, new ComponentA());
+        List<Integer> added = new ArrayList<>();
+        world.forEachAddedSince(query, ComponentA.class, lastRun, added::add);
+        assertEquals(List.of(late), added);
+        assertTrue(world.isChangedSince(late, ComponentA.class, lastRun));
+
+        // And: Replacing a component is a change, not an addition
+        world.addComponent(idle, new ComponentA());
+        world.addComponents(new int[] {moved}, ComponentA.class, i -> new ComponentA());
+        assertTrue(world.isChangedSince(idle, ComponentA.class, lastRun));
+        assertFalse(world.isAddedSince(idle, ComponentA.class, lastRun));
+        assertFalse(world.isAddedSince(moved, ComponentA.class, lastRun));
+    }
+
+    @Test
+    void observers_receiveEventsInOrderAtTheNextSyncPoint() {
+        // Given: Listeners for every event on ComponentA
+        List<String> events = new ArrayList<>();
+        world.observe(ComponentEvent.ADDED, ComponentA.class, entity -> events.add("added " + entity));
+        world.observe(ComponentEvent.REMOVED, ComponentA.class, entity -> events.add("removed " + entity));
+        world.observe(ComponentEvent.DESTROYED, ComponentA.class, entity -> events.add("destroyed " + entity));
+        int kept = world.createEntity();
+        int destroyed = world.createEntity();
+
+        // When: Components come and go between sync points
+        world.addComponent(kept, new ComponentA());
+        world.addComponent(kept, new ComponentA()); // Replacing is not an addition
+        world.addComponent(destroyed, new ComponentA());
+        world.addComponent(destroyed, new ComponentB());
+        world.removeComponent(kept, ComponentA.class);
+        world.removeComponent(kept, ComponentA.class); // Nothing left to remove
+        world.destroyEntity(destroyed);
+
+        // Then: Nothing is delivered before the sync point, then everything in order
+        assertTrue(events.isEmpty(), "Events must be batched until the sync point.");
+        world.playbackCommands();
+        assertEquals(List.of("added " + kept, "added " + destroyed, "removed " + kept, "destroyed " + destroyed), events);
+
+        // And: Unobserved types and unregistered listeners raise nothing
+        events.clear();
+        world.destroyEntity(kept);
+        world.playbackCommands();
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void observers_deliverEventsRaisedByListenersAndCommandsInTheSameSync() {
+        // Given: A listener that defers a structural change through the command buffer
+        List<Integer> added = new ArrayList<>();
+        IntConsumer addB = entity -> world.commands().addComponent(entity, new ComponentB());
+        world.observe(ComponentEvent.ADDED, ComponentA.class, addB);
+        world.observe(ComponentEvent.ADDED, ComponentB.class, added::add);
+        int entity = world.createEntity();
+
+        // When
+        world.commands().addComponent(entity, new ComponentA());
+        world.playbackCommands();
+
+        // Then: The command recorded by the first listener was applied and its event delivered
+        assertTrue(world.hasComponent(entity, ComponentB.class));
+        assertEquals(List.of(entity), added);
+
+        // And: An unregistered listener no longer runs
+        world.unobserve(ComponentEvent.ADDED, ComponentA.class, addB);
+        int other = world.createEntity();
+        world.addComponent(other, new ComponentA());
+        world.playbackCommands();
+        assertFalse(world.hasComponent(other, ComponentB.class));
+    }
+
+    @Test
+    void batchOperations_createAddAndDestroyManyEntities() {
+        // Given
+        Query both = world.query(ComponentA.class, ComponentB.class);
+        int[] entities = world.createEntities(4);
+
+        // When
+        world.addComponents(entities, ComponentA.class, i -> new ComponentA());
+        world.addComponents(new int[] {entities[1], entities[3]}, ComponentB.class, i -> new ComponentB());
+
+        // Then
+        assertEquals(4, world.query(ComponentA.class).size());
+        assertEquals(2, both.size());
+
+        // When: Destroying a batch that includes an already stale handle
+        world.destroyEntity(entities[0]);
+        world.destroyEntities(new int[] {entities[0], entities[1], entities[2]});
+
+        // Then
+        assertEquals(List.of(entities[3]), List.of(world.query(ComponentA.class).entityAt(0)));
+        assertEquals(1, both.size());
+        assertFalse(world.isAlive(entities[1]));
+        assertTrue(world.isAlive(entities[3]));
+    }
+
+    @Test
+    void clear_emptiesTheWorldInPlaceForBothStorages() {
+        for (WorldStorage storage : WorldStorage.values()) {
+            // Given
+            World world = new World(storage);
+            Query query = world.query(ComponentA.class);
+            List<Integer> destroyed = new ArrayList<>();
+            world.observe(ComponentEvent.DESTROYED, ComponentA.class, destroyed::add);
+            int[] entities = world.createEntities(3);
+            world.addComponents(entities, ComponentA.class, i -> new ComponentA());
+
+            // When
+            world.clear();
+            world.playbackCommands();
+
+            // Then: Old handles are stale and nothing is left in stores or queries
+            assertEquals(0, query.size(), storage.name());
+            assertTrue(world.getEntitiesWith().isEmpty(), storage.name());
+            for (int entity : entities) {
+                assertFalse(world.isAlive(entity), storage.name());
+                assertFalse(world.hasComponent(entity, ComponentA.class), storage.name());
+                assertNull(world.getComponent(entity, ComponentA.class), storage.name());
+            }
+            assertEquals(3, destroyed.size(), storage.name());
+
+            // And: The world is usable afterwards
+            int entity = world.createEntity();
+            world.addComponent(entity, new ComponentB());
+            assertFalse(world.hasComponent(entity, ComponentA.class), storage.name());
+            world.addComponent(entity, new ComponentA());
+            assertEquals(List.of(entity), List.of(query.entityAt(0)), storage.name());
+            assertEquals(1, query.size(), storage.name());
+        }
+    }
 }
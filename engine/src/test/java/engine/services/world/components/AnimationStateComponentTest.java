@@ -0,0 +1,85 @@
+package engine.services.world.components;
+
+import engine.services.rendering.SpriteAnimation;
+import engine.services.rendering.SpriteSheet;
+import engine.services.rendering.SpriteSheetRegion;
+import engine.services.rendering.Texture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class AnimationStateComponentTest {
+
+  private SpriteSheet sheet;
+
+  @BeforeEach
+  void setUp() {
+    sheet = new SpriteSheet(mock(Texture.class))
+        .addRegion("idle", new SpriteSheetRegion(0, 0, 16, 16))
+        .addRegion("walk_0", new SpriteSheetRegion(16, 0, 16, 16))
+        .addRegion("walk_1", new SpriteSheetRegion(32, 0, 16, 16));
+  }
+
+  @Test
+  void constructor_shouldStartPlayingOnTheFirstFrame() {
+    AnimationStateComponent state = new AnimationStateComponent(sheet, walk(true));
+
+    assertTrue(state.playing);
+    assertEquals(0.0f, state.animationTime);
+    assertEquals(0, state.frameIndex);
+    assertEquals(1, state.regionIndex);
+  }
+
+  @Test
+  void advance_shouldUpdateFrameAndRegionInPlace() {
+    AnimationStateComponent state = new AnimationStateComponent(sheet, walk(true));
+
+    assertFalse(state.advance(0.05f), "Still on the first frame");
+    assertTrue(state.advance(0.06f));
+
+    assertEquals(1, state.frameIndex);
+    assertEquals(2, state.regionIndex);
+  }
+
+  @Test
+  void advance_shouldWrapTimeOfLoopingAnimations() {
+    AnimationStateComponent state = new AnimationStateComponent(sheet, walk(true));
+
+    state.advance(0.25f);
+
+    assertTrue(state.playing);
+    assertEquals(0.05f, state.animationTime, 0.0001f);
+    assertEquals(0, state.frameIndex);
+  }
+
+  @Test
+  void advance_shouldStopNonLoopingAnimationsOnTheLastFrame() {
+    AnimationStateComponent state = new AnimationStateComponent(sheet, walk(false));
+
+    state.advance(1.0f);
+
+    assertFalse(state.playing);
+    assertEquals(1, state.frameIndex);
+    assertFalse(state.advance(1.0f), "Stopped animations do not advance");
+  }
+
+  @Test
+  void play_shouldSwitchAnimationAndRestart() {
+    AnimationStateComponent state = new AnimationStateComponent(sheet, walk(true));
+    state.advance(0.15f);
+
+    state.play(sheet, new SpriteAnimation("idle", List.of("idle"), 0.5f, true));
+
+    assertEquals("idle", state.animation.getName());
+    assertEquals(0.0f, state.animationTime);
+    assertEquals(0, state.regionIndex);
+  }
+
+  private static SpriteAnimation walk(boolean loop) {
+    return new SpriteAnimation("walk", List.of("walk_0", "walk_1"), 0.1f, loop);
+  }
+}
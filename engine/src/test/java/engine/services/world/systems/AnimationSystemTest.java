@@ -0,0 +1,111 @@
+package engine.services.world.systems;
+
+import engine.services.rendering.Direction;
+import engine.services.rendering.SpriteAnimation;
+import engine.services.rendering.SpriteSheet;
+import engine.services.rendering.SpriteSheetRegion;
+import engine.services.rendering.Texture;
+import engine.services.resources.AssetCacheService;
+import engine.services.world.World;
+import engine.services.world.components.AnimatedSpriteComponent;
+import engine.services.world.components.AnimationStateComponent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class AnimationSystemTest {
+
+    private World world;
+    private AnimationSystem system;
+
+    @BeforeEach
+    void setUp() {
+        SpriteSheet sheet = new SpriteSheet(mock(Texture.class))
+            .addRegion("idle", new SpriteSheetRegion(0, 0, 16, 16))
+            .addRegion("walk_0", new SpriteSheetRegion(16, 0, 16, 16))
+            .addRegion("walk_1", new SpriteSheetRegion(32, 0, 16, 16));
+        AssetCacheService assets = new AssetCacheService();
+        assets.addSpriteSheet("hero", sheet, Map.of(
+            "idle", new SpriteAnimation("idle", List.of("idle"), 0.5f, true),
+            "walk", new SpriteAnimation("walk", List.of("walk_0", "walk_1"), 0.1f, true),
+            // Registered under a key that differs from the clip's own name
+            "attack", new SpriteAnimation("attack_down", List.of("walk_0", "walk_1"), 0.1f, false)));
+
+        world = new World();
+        system = new AnimationSystem(assets);
+        system.onAttach(world);
+    }
+
+    @Test
+    void update_advancesTheStateCreatedForAnAnimatedSpriteInPlace() {
+        int entity = world.createEntity();
+        world.addComponent(entity, new AnimatedSpriteComponent("hero", "walk"));
+        world.playbackCommands();
+
+        AnimationStateComponent state = world.getComponent(entity, AnimationStateComponent.class);
+        assertNotNull(state, "The state is created at the sync point after the component was added");
+        assertEquals(1, state.regionIndex);
+
+        system.update(world, 0.15f);
+
+        assertSame(state, world.getComponent(entity, AnimationStateComponent.class));
+        assertEquals(1, state.frameIndex);
+        assertEquals(2, state.regionIndex);
+    }
+
+    @Test
+    void update_appliesAReplacedSourceToTheExistingState() {
+        int entity = world.createEntity();
+        world.addComponent(entity, new AnimatedSpriteComponent("hero", "walk"));
+        world.playbackCommands();
+        system.update(world, 0.15f);
+
+        AnimatedSpriteComponent source = world.getComponent(entity, AnimatedSpriteComponent.class);
+        world.addComponent(entity, source.withAnimation("idle").withPlaying(false));
+        system.update(world, 0.15f);
+
+        AnimationStateComponent state = world.getComponent(entity, AnimationStateComponent.class);
+        assertEquals("idle", state.animation.getName());
+        assertFalse(state.playing);
+        assertEquals(0.0f, state.animationTime);
+        assertEquals(0, state.regionIndex);
+    }
+
+    @Test
+    void update_doesNotRestartAFinishedAnimationWhenTheClipIsUnchanged() {
+        int entity = world.createEntity();
+        world.addComponent(entity, new AnimatedSpriteComponent("hero", "attack"));
+        world.playbackCommands();
+        AnimationStateComponent state = world.getComponent(entity, AnimationStateComponent.class);
+        state.advance(0.5f);
+        system.update(world, 0.0f);
+
+        assertFalse(state.playing, "The first sync keeps a finished animation stopped");
+        assertEquals(1, state.frameIndex);
+
+        AnimatedSpriteComponent source = world.getComponent(entity, AnimatedSpriteComponent.class);
+        world.addComponent(entity, source.withDirection(Direction.LEFT));
+        system.update(world, 0.05f);
+
+        assertFalse(state.playing, "Replacing the source with the same clip keeps it finished");
+        assertEquals(1, state.frameIndex);
+        assertEquals(2, state.regionIndex);
+    }
+
+    @Test
+    void removingTheSource_removesTheState() {
+        int entity = world.createEntity();
+        world.addComponent(entity, new AnimatedSpriteComponent("hero", "walk"));
+        world.playbackCommands();
+
+        world.removeComponent(entity, AnimatedSpriteComponent.class);
+        world.playbackCommands();
+
+        assertNull(world.getComponent(entity, AnimationStateComponent.class));
+    }
+}
@@ -7,13 +7,13 @@ import engine.services.world.World;
 import engine.services.world.WorldService;
 import engine.services.world.components.MusicComponent;
 import engine.services.world.components.SoundEffectComponent;
+import engine.util.Int2ObjectMap;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -68,7 +68,7 @@ public class AudioSystemIT extends EngineTestHarness {
         tick(); // Tick once to create and play the internal AudioSource
 
         // And: We can see the internal source was created
-        Map<Integer, AudioSource> musicSourceMap = getInternalMusicSourceMap();
+        Int2ObjectMap<AudioSource> musicSourceMap = getInternalMusicSourceMap();
         assertFalse(musicSourceMap.isEmpty(), "Internal music source should be created.");
         AudioSource source = musicSourceMap.get(entity);
         assertNotNull(source, "AudioSource should exist in the system's map.");
@@ -90,7 +90,7 @@ public class AudioSystemIT extends EngineTestHarness {
         worldService.addComponent(entity, new MusicComponent("test-music"));
         tick(); // Start playback
 
-        Map<Integer, AudioSource> musicSourceMap = getInternalMusicSourceMap();
+        Int2ObjectMap<AudioSource> musicSourceMap = getInternalMusicSourceMap();
         AudioSource source = musicSourceMap.get(entity);
         assertTrue(source.isPlaying(), "Source should be playing initially.");
 
@@ -147,7 +147,7 @@ public class AudioSystemIT extends EngineTestHarness {
         assertFalse(music.fadingOut, "Fade-out should complete.");
         assertEquals(0.0f, music.currentVolume, 0.1f, "Volume should be ~0 after fade-out.");
         // The system should stop playback after fade-out completes
-        Map<Integer, AudioSource> musicSourceMap = getInternalMusicSourceMap();
+        Int2ObjectMap<AudioSource> musicSourceMap = getInternalMusicSourceMap();
         AudioSource source = musicSourceMap.get(entity);
         assertTrue(source.isStopped() || !music.isPlaying, "Source should be stopped or flag cleared after fade-out.");
     }
@@ -169,7 +169,7 @@ public class AudioSystemIT extends EngineTestHarness {
         tick();
 
         // Access internal map, stop the source manually to simulate playback end
-        Map<Integer, AudioSource> effectMap = getInternalEffectSourceMap();
+        Int2ObjectMap<AudioSource> effectMap = getInternalEffectSourceMap();
         AudioSource s = effectMap.get(entity);
         assertNotNull(s, "Effect AudioSource should be created");
 
@@ -189,17 +189,17 @@ public class AudioSystemIT extends EngineTestHarness {
      * This is an acceptable testing practice for verifying internal state management.
      */
     @SuppressWarnings("unchecked")
-    private Map<Integer, AudioSource> getInternalMusicSourceMap() throws NoSuchFieldException, IllegalAccessException {
+    private Int2ObjectMap<AudioSource> getInternalMusicSourceMap() throws NoSuchFieldException, IllegalAccessException {
         Field field = AudioSystem.class.getDeclaredField("musicSourceMap");
         field.setAccessible(true);
-        return (Map<Integer, AudioSource>) field.get(audioSystem);
+        return (Int2ObjectMap<AudioSource>) field.get(audioSystem);
     }
 
     @SuppressWarnings("unchecked")
-    private Map<Integer, AudioSource> getInternalEffectSourceMap() throws NoSuchFieldException, IllegalAccessException {
+    private Int2ObjectMap<AudioSource> getInternalEffectSourceMap() throws NoSuchFieldException, IllegalAccessException {
         Field field = AudioSystem.class.getDeclaredField("soundEffectSourceMap");
         field.setAccessible(true);
-        return (Map<Integer, AudioSource>) field.get(audioSystem);
+        return (Int2ObjectMap<AudioSource>) field.get(audioSystem);
     }
 
     private World getInternalWorld() throws NoSuchFieldException, IllegalAccessException {
@@ -0,0 +1,76 @@
+package engine.services.world.systems;
+
+import engine.services.audio.AudioService;
+import engine.services.audio.AudioSource;
+import engine.services.resources.AssetCacheService;
+import engine.services.world.World;
+import engine.services.world.components.AudioSourceComponent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AudioSystemTest {
+
+    @Mock
+    private AudioService audioService;
+
+    @Mock
+    private AssetCacheService resourceManager;
+
+    @Mock
+    private AudioSource audioSource;
+
+    private World world;
+    private AudioSystem audioSystem;
+    private int entity;
+
+    @BeforeEach
+    void setUp() {
+        world = new World();
+        audioSystem = new AudioSystem(audioService, resourceManager);
+        audioSystem.onAttach(world);
+        when(audioService.createSource()).thenReturn(audioSource);
+
+        // An audio source whose OpenAL source is created at the next sync point and updated once
+        entity = world.createEntity();
+        world.addComponent(entity, new AudioSourceComponent("test_sound"));
+        world.playbackCommands();
+        audioSystem.update(world, 0.016f);
+        clearInvocations(audioSource);
+    }
+
+    @Test
+    void update_doesNotPushPropertiesOfAnUnchangedSource() {
+        // When: The system runs again without the component being marked changed
+        audioSystem.update(world, 0.016f);
+
+        // Then: Volume, pitch and looping are not sent to the source again
+        verify(audioSource, never()).setVolume(anyFloat());
+        verify(audioSource, never()).setPitch(anyFloat());
+        verify(audioSource, never()).setLooping(anyBoolean());
+    }
+
+    @Test
+    void update_pushesPropertiesEditedThroughTheMutableComponent() {
+        // Given: The volume is edited through a mutable access
+        world.getMutableComponent(entity, AudioSourceComponent.class).volume = 0.5f;
+
+        // When
+        audioSystem.update(world, 0.016f);
+
+        // Then: The new volume reaches the source
+        verify(audioSource).setVolume(0.5f);
+        verify(audioSource).setPitch(1.0f);
+        verify(audioSource).setLooping(false);
+    }
+}
@@ -4,24 +4,19 @@ import engine.game.GameColliderType;
 import engine.services.world.World;
 import engine.services.world.components.ColliderComponent;
 import engine.services.world.components.TransformComponent;
+import org.joml.Vector3f;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
-import static org.mockito.Mockito.*;
-
-@ExtendWith(MockitoExtension.class)
 class CollisionSystemTest {
 
-    @Mock
+    // A sentinel "last frame" position so a revert is observable even when positions coincide
+    private static final Vector3f PREVIOUS_POSITION = new Vector3f(-3.0f, -3.0f, 0.0f);
+
     private World world;
 
-    @InjectMocks
     private CollisionSystem collisionSystem;
 
     private TransformComponent playerTransform;
@@ -29,26 +24,27 @@ class CollisionSystemTest {
     private ColliderComponent playerCollider;
     private ColliderComponent wallCollider;
 
-    private final int playerEntity = 1;
-    private final int wallEntity = 2;
+    @BeforeEach
+    void setUp() {
+        world = new World();
+        collisionSystem = new CollisionSystem();
+    }
 
     private void setupTwoEntityCollisionScenario() {
-        // Use spy for transforms to track method calls on real objects
-        playerTransform = spy(new TransformComponent());
+        playerTransform = new TransformComponent();
+        playerTransform.previousPosition.set(PREVIOUS_POSITION);
         playerCollider = new ColliderComponent(GameColliderType.PLAYER, 1, 1, 0, 0);
 
         wallTransform = new TransformComponent();
         wallCollider = new ColliderComponent(GameColliderType.WALL, 1, 1, 0, 0);
 
-        // Configure mock world to return our two entities
-        when(world.getEntitiesWith(TransformComponent.class, ColliderComponent.class))
-                .thenReturn(Set.of(playerEntity, wallEntity));
-
-        when(world.getComponent(playerEntity, TransformComponent.class)).thenReturn(playerTransform);
-        when(world.getComponent(playerEntity, ColliderComponent.class)).thenReturn(playerCollider);
+        int playerEntity = world.createEntity();
+        world.addComponent(playerEntity, playerTransform);
+        world.addComponent(playerEntity, playerCollider);
 
-        when(world.getComponent(wallEntity, TransformComponent.class)).thenReturn(wallTransform);
-        when(world.getComponent(wallEntity, ColliderComponent.class)).thenReturn(wallCollider);
+        int wallEntity = world.createEntity();
+        world.addComponent(wallEntity, wallTransform);
+        world.addComponent(wallEntity, wallCollider);
     }
 
     @Test
@@ -63,8 +59,8 @@ class CollisionSystemTest {
         // When: The collision system updates
         collisionSystem.update(world, 0.1f);
 
-        // Then: The player's revertPosition method should have been called
-        verify(playerTransform, times(1)).revertPosition();
+        // Then: The player's position should have been reverted
+        assertEquals(PREVIOUS_POSITION, playerTransform.position);
     }
 
     @Test
@@ -79,15 +75,13 @@ class CollisionSystemTest {
         // When: The collision system updates
         collisionSystem.update(world, 0.1f);
 
-        // Then: The player's revertPosition method should NOT have been called
-        verify(playerTransform, never()).revertPosition();
+        // Then: The player's position should NOT have been reverted
+        assertEquals(new Vector3f(-5.0f, 0, 0), playerTransform.position);
     }
 
     @Test
     void testCollision_handlesNoEntities() {
         // Given: No entities have the required components
-        when(world.getEntitiesWith(TransformComponent.class, ColliderComponent.class))
-                .thenReturn(Set.of());
 
         // When: The collision system updates
         // Then: No exception should be thrown
@@ -97,13 +91,13 @@ class CollisionSystemTest {
     @Test
     void testCollision_handlesSingleEntity() {
         // Given: Only one entity exists
-        playerTransform = spy(new TransformComponent());
+        playerTransform = new TransformComponent();
+        playerTransform.previousPosition.set(PREVIOUS_POSITION);
         playerCollider = new ColliderComponent(GameColliderType.PLAYER, 1, 1, 0, 0);
 
-        when(world.getEntitiesWith(TransformComponent.class, ColliderComponent.class))
-                .thenReturn(Set.of(playerEntity));
-        lenient().when(world.getComponent(playerEntity, TransformComponent.class)).thenReturn(playerTransform);
-        lenient().when(world.getComponent(playerEntity, ColliderComponent.class)).thenReturn(playerCollider);
+        int playerEntity = world.createEntity();
+        world.addComponent(playerEntity, playerTransform);
+        world.addComponent(playerEntity, playerCollider);
 
         playerTransform.position.set(0, 0, 0);
 
@@ -111,7 +105,7 @@ class CollisionSystemTest {
         collisionSystem.update(world, 0.1f);
 
         // Then: No collision should occur (can't collide with self)
-        verify(playerTransform, never()).revertPosition();
+        assertEquals(new Vector3f(0, 0, 0), playerTransform.position);
     }
 
     @Test
@@ -143,7 +137,7 @@ class CollisionSystemTest {
         collisionSystem.update(world, 0.1f);
 
         // Then: Collision should be detected
-        verify(playerTransform, times(1)).revertPosition();
+        assertEquals(PREVIOUS_POSITION, playerTransform.position);
     }
 
     @Test
@@ -159,6 +153,6 @@ class CollisionSystemTest {
         collisionSystem.update(world, 0.1f);
 
         // Then: Collision should be detected
-        verify(playerTransform, times(1)).revertPosition();
+        assertEquals(PREVIOUS_POSITION, playerTransform.position);
     }
 }
@@ -7,32 +7,31 @@ import engine.services.world.components.TransformComponent;
 import org.joml.Vector3f;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
-
-import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.when;
 
-@ExtendWith(MockitoExtension.class)
 class MovementSystemTest {
 
-    @Mock
     private World world;
 
     private MovementSystem movementSystem;
 
     @BeforeEach
     void setUp() {
+        world = new World();
         movementSystem = new MovementSystem();
     }
 
+    private void addMovableEntity(ControllableComponent control, TransformComponent transform, MovementStatsComponent stats) {
+        int entityId = world.createEntity();
+        world.addComponent(entityId, control);
+        world.addComponent(entityId, transform);
+        world.addComponent(entityId, stats);
+    }
+
     @Test
     void testMovementSystem_updatesPositionCorrectly() {
         // Given: An entity with all required movement components
-        int entityId = 1;
         ControllableComponent control = new ControllableComponent();
         TransformComponent transform = new TransformComponent();
         MovementStatsComponent stats = new MovementStatsComponent(100.0f); // speed = 100
@@ -41,12 +40,8 @@ class MovementSystemTest {
         control.wantsToMoveUp = true;
         control.wantsToMoveRight = true;
 
-        // And: The mock world is configured to return this entity
-        when(world.getEntitiesWith(ControllableComponent.class, TransformComponent.class, MovementStatsComponent.class))
-                .thenReturn(Set.of(entityId));
-        when(world.getComponent(entityId, ControllableComponent.class)).thenReturn(control);
-        when(world.getComponent(entityId, TransformComponent.class)).thenReturn(transform);
-        when(world.getComponent(entityId, MovementStatsComponent.class)).thenReturn(stats);
+        // And: The entity exists in the world
+        addMovableEntity(control, transform, stats);
 
         // When: The movement system updates for 0.1 seconds
         float deltaTime = 0.1f;
@@ -64,16 +59,11 @@ class MovementSystemTest {
     @Test
     void testMovementSystem_noMovementWhenNotControlled() {
         // Given: An entity that does not want to move
-        int entityId = 1;
         ControllableComponent control = new ControllableComponent(); // All flags false
         TransformComponent transform = new TransformComponent();
         MovementStatsComponent stats = new MovementStatsComponent(100.0f);
 
-        when(world.getEntitiesWith(ControllableComponent.class, TransformComponent.class, MovementStatsComponent.class))
-                .thenReturn(Set.of(entityId));
-        when(world.getComponent(entityId, ControllableComponent.class)).thenReturn(control);
-        when(world.getComponent(entityId, TransformComponent.class)).thenReturn(transform);
-        when(world.getComponent(entityId, MovementStatsComponent.class)).thenReturn(stats);
+        addMovableEntity(control, transform, stats);
 
         // When: The movement system updates
         movementSystem.update(world, 0.1f);
@@ -85,18 +75,13 @@ class MovementSystemTest {
     @Test
     void testMovementSystem_handlesHorizontalMovement() {
         // Given: An entity moving only horizontally
-        int entityId = 1;
         ControllableComponent control = new ControllableComponent();
         TransformComponent transform = new TransformComponent();
         MovementStatsComponent stats = new MovementStatsComponent(50.0f);
 
         control.wantsToMoveRight = true;
 
-        when(world.getEntitiesWith(ControllableComponent.class, TransformComponent.class, MovementStatsComponent.class))
-                .thenReturn(Set.of(entityId));
-        when(world.getComponent(entityId, ControllableComponent.class)).thenReturn(control);
-        when(world.getComponent(entityId, TransformComponent.class)).thenReturn(transform);
-        when(world.getComponent(entityId, MovementStatsComponent.class)).thenReturn(stats);
+        addMovableEntity(control, transform, stats);
 
         // When: The movement system updates for 0.2 seconds
         movementSystem.update(world, 0.2f);
@@ -110,18 +95,13 @@ class MovementSystemTest {
     @Test
     void testMovementSystem_handlesVerticalMovement() {
         // Given: An entity moving only vertically
-        int entityId = 1;
         ControllableComponent control = new ControllableComponent();
         TransformComponent transform = new TransformComponent();
         MovementStatsComponent stats = new MovementStatsComponent(200.0f);
 
         control.wantsToMoveUp = true;
 
-        when(world.getEntitiesWith(ControllableComponent.class, TransformComponent.class, MovementStatsComponent.class))
-                .thenReturn(Set.of(entityId));
-        when(world.getComponent(entityId, ControllableComponent.class)).thenReturn(control);
-        when(world.getComponent(entityId, TransformComponent.class)).thenReturn(transform);
-        when(world.getComponent(entityId, MovementStatsComponent.class)).thenReturn(stats);
+        addMovableEntity(control, transform, stats);
 
         // When: The movement system updates for 0.05 seconds
         movementSystem.update(world, 0.05f);
@@ -135,8 +115,6 @@ class MovementSystemTest {
     @Test
     void testMovementSystem_handlesNoEntities() {
         // Given: No entities have the required components
-        when(world.getEntitiesWith(ControllableComponent.class, TransformComponent.class, MovementStatsComponent.class))
-                .thenReturn(Set.of());
 
         // When: The movement system updates
         // Then: No exception should be thrown
@@ -146,18 +124,13 @@ class MovementSystemTest {
     @Test
     void testMovementSystem_handlesZeroDeltaTime() {
         // Given: An entity trying to move
-        int entityId = 1;
         ControllableComponent control = new ControllableComponent();
         TransformComponent transform = new TransformComponent();
         MovementStatsComponent stats = new MovementStatsComponent(100.0f);
 
         control.wantsToMoveUp = true;
 
-        when(world.getEntitiesWith(ControllableComponent.class, TransformComponent.class, MovementStatsComponent.class))
-                .thenReturn(Set.of(entityId));
-        when(world.getComponent(entityId, ControllableComponent.class)).thenReturn(control);
-        when(world.getComponent(entityId, TransformComponent.class)).thenReturn(transform);
-        when(world.getComponent(entityId, MovementStatsComponent.class)).thenReturn(stats);
+        addMovableEntity(control, transform, stats);
 
         // When: The movement system updates with zero delta time
         movementSystem.update(world, 0.0f);
@@ -169,7 +142,6 @@ class MovementSystemTest {
     @Test
     void testMovementSystem_handlesOpposingInputs() {
         // Given: An entity with opposing directional inputs
-        int entityId = 1;
         ControllableComponent control = new ControllableComponent();
         TransformComponent transform = new TransformComponent();
         MovementStatsComponent stats = new MovementStatsComponent(100.0f);
@@ -179,11 +151,7 @@ class MovementSystemTest {
         control.wantsToMoveLeft = true;
         control.wantsToMoveRight = true;
 
-        when(world.getEntitiesWith(ControllableComponent.class, TransformComponent.class, MovementStatsComponent.class))
-                .thenReturn(Set.of(entityId));
-        when(world.getComponent(entityId, ControllableComponent.class)).thenReturn(control);
-        when(world.getComponent(entityId, TransformComponent.class)).thenReturn(transform);
-        when(world.getComponent(entityId, MovementStatsComponent.class)).thenReturn(stats);
+        addMovableEntity(control, transform, stats);
 
         // When: The movement system updates
         movementSystem.update(world, 0.1f);
@@ -191,4 +159,25 @@ class MovementSystemTest {
         // Then: Opposing inputs should cancel out, no movement
         assertEquals(new Vector3f(0, 0, 0), transform.position);
     }
+
+    @Test
+    void testMovementSystem_leavesThePreviousPositionToTheSnapshotSystem() {
+        // Given: A moving entity whose previous position differs from its current one
+        ControllableComponent control = new ControllableComponent();
+        TransformComponent transform = new TransformComponent();
+        MovementStatsComponent stats = new MovementStatsComponent(100.0f);
+        transform.previousPosition.set(1, 1, 0);
+        transform.position.set(5, 5, 0);
+
+        control.wantsToMoveRight = true;
+
+        addMovableEntity(control, transform, stats);
+
+        // When: The movement system updates
+        movementSystem.update(world, 0.1f);
+
+        // Then: Only the position moves; TransformSnapshotSystem owns the previous position
+        assertEquals(new Vector3f(1, 1, 0), transform.previousPosition);
+        assertEquals(15.0f, transform.position.x, 0.001f);
+    }
 }
@@ -7,12 +7,9 @@ import engine.services.world.components.ControllableComponent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Set;
-
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.lenient;
@@ -24,24 +21,24 @@ class PlayerInputSystemTest {
     @Mock
     private DeviceMappingService mappingService;
 
-    @Mock
     private World world;
-
-    @InjectMocks
     private PlayerInputSystem playerInputSystem;
 
     private ControllableComponent control;
-    private final int entityId = 1;
+    private int entityId;
+    private int lastRunTick;
     private final int playerId = 0;
 
     @BeforeEach
     void setUp() {
+        world = new World();
+        playerInputSystem = new PlayerInputSystem(mappingService);
+
         control = new ControllableComponent();
         control.playerId = playerId;
-
-        // Configure the mock world to return our test entity
-        lenient().when(world.getEntitiesWith(ControllableComponent.class)).thenReturn(Set.of(entityId));
-        lenient().when(world.getComponent(entityId, ControllableComponent.class)).thenReturn(control);
+        entityId = world.createEntity();
+        world.addComponent(entityId, control);
+        lastRunTick = world.advanceChangeTick();
 
         // Default: no actions active for any player/action
         lenient().when(mappingService.isActionActive(anyInt(), any(GameAction.class))).thenReturn(false);
@@ -63,6 +60,8 @@ class PlayerInputSystemTest {
         assertFalse(control.wantsToMoveDown, "wantsToMoveDown should remain false.");
         assertFalse(control.wantsToMoveLeft, "wantsToMoveLeft should remain false.");
         assertFalse(control.wantsToMoveRight, "wantsToMoveRight should remain false.");
+        // And the new input state is stamped for change-filtered consumers
+        assertTrue(world.isChangedSince(entityId, ControllableComponent.class, lastRunTick));
     }
 
     @Test
@@ -79,6 +78,8 @@ class PlayerInputSystemTest {
         assertFalse(control.wantsToMoveLeft);
         assertFalse(control.wantsToMoveRight);
         assertFalse(control.wantsToAttack);
+        // Nothing flipped, so nothing is stamped as changed
+        assertFalse(world.isChangedSince(entityId, ControllableComponent.class, lastRunTick));
     }
 
     @Test
@@ -102,7 +103,7 @@ class PlayerInputSystemTest {
     @Test
     void testSystem_handlesNoEntities() {
         // Given: No entities have ControllableComponent
-        when(world.getEntitiesWith(ControllableComponent.class)).thenReturn(Set.of());
+        world.destroyEntity(entityId);
 
         // When: The system updates
         // Then: No exception should be thrown
@@ -112,13 +113,10 @@ class PlayerInputSystemTest {
     @Test
     void testSystem_handlesMultipleEntities() {
         // Given: Multiple entities with different player IDs
-        int entityId2 = 2;
         int playerId2 = 1;
         ControllableComponent control2 = new ControllableComponent();
         control2.playerId = playerId2;
-
-        when(world.getEntitiesWith(ControllableComponent.class)).thenReturn(Set.of(entityId, entityId2));
-        when(world.getComponent(entityId2, ControllableComponent.class)).thenReturn(control2);
+        world.addComponent(world.createEntity(), control2);
 
         // Set different actions for different players
         when(mappingService.isActionActive(playerId, GameAction.MOVE_UP)).thenReturn(true);
@@ -1,21 +1,29 @@
 package engine.services.world.systems;
 
 import engine.services.rendering.CameraService;
-import engine.services.rendering.Mesh;
 import engine.services.rendering.RenderingService;
+import engine.services.rendering.SpriteAnimation;
+import engine.services.rendering.SpriteSheet;
+import engine.services.rendering.SpriteSheetRegion;
 import engine.services.rendering.Texture;
+import engine.services.rendering.TextureArray;
+import engine.services.rendering.TextureLayer;
 import engine.services.resources.AssetCacheService;
 import engine.services.world.World;
+import engine.services.world.components.AnimationStateComponent;
+import engine.services.world.components.ParentComponent;
 import engine.services.world.components.SpriteComponent;
 import engine.services.world.components.TransformComponent;
+import org.joml.Vector4f;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Set;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,16 +35,15 @@ class RenderSystemTest {
     private AssetCacheService resourceManager;
     @Mock
     private CameraService cameraService;
-    @Mock
-    private World world;
+
+    private final World world = new World();
 
     @InjectMocks
     private RenderSystem renderSystem;
 
     @Test
     void update_shouldBeginSceneAndEndScene() {
-        // Arrange
-        when(world.getEntitiesWith(TransformComponent.class, SpriteComponent.class)).thenReturn(Set.of());
+        // Arrange: an empty world
 
         // Act
         renderSystem.update(world, 0.1f);
@@ -49,22 +56,117 @@ class RenderSystemTest {
     @Test
     void update_shouldSubmitRenderablesToService() {
         // Arrange
-        int entityId = 1;
         var transform = new TransformComponent();
         var sprite = new SpriteComponent("test_texture");
-        var mesh = mock(Mesh.class);
         var texture = mock(Texture.class);
 
-        when(world.getEntitiesWith(TransformComponent.class, SpriteComponent.class)).thenReturn(Set.of(entityId));
-        when(world.getComponent(entityId, TransformComponent.class)).thenReturn(transform);
-        when(world.getComponent(entityId, SpriteComponent.class)).thenReturn(sprite);
-        when(resourceManager.resolveMeshHandle("quad")).thenReturn(mesh);
+        int entityId = world.createEntity();
+        world.addComponent(entityId, transform);
+        world.addComponent(entityId, sprite);
         when(resourceManager.resolveTextureHandle("test_texture")).thenReturn(texture);
 
+        transform.position.set(1, 2, 0);
+
         // Act
+        new TransformHierarchySystem().update(world, 0.1f);
+        renderSystem.update(world, 0.1f);
+
+        // Assert: a root sprite is submitted from its transform's fields
+        verify(renderingService).submit(texture, transform, 1f, sprite.color());
+    }
+
+    @Test
+    void update_shouldSubmitChildrenWithTheirWorldMatrix() {
+        // Arrange
+        var parentTransform = new TransformComponent();
+        var childTransform = new TransformComponent();
+        var sprite = new SpriteComponent("test_texture");
+        var texture = mock(Texture.class);
+
+        int parentId = world.createEntity();
+        world.addComponent(parentId, parentTransform);
+        int childId = world.createEntity();
+        world.addComponent(childId, childTransform);
+        world.addComponent(childId, sprite);
+        world.addComponent(childId, new ParentComponent(parentId));
+        when(resourceManager.resolveTextureHandle("test_texture")).thenReturn(texture);
+
+        parentTransform.position.set(1, 2, 0);
+        childTransform.position.set(3, 0, 0);
+
+        // Act
+        new TransformHierarchySystem().update(world, 0.1f);
         renderSystem.update(world, 0.1f);
 
         // Assert
-        verify(renderingService).submit(mesh, texture, transform.getTransformMatrix());
+        verify(renderingService).submit(texture, childTransform.getWorldMatrix(), sprite.color());
+        assertEquals(4f, childTransform.getWorldMatrix().m30());
+    }
+
+    @Test
+    void update_shouldSubmitTextureArrayLayers() {
+        // Arrange
+        var transform = new TransformComponent();
+        var sprite = new SpriteComponent("layered_texture");
+        var layer = new TextureLayer(mock(TextureArray.class), 1, 0f, 0f, 1f, 1f);
+
+        int entityId = world.createEntity();
+        world.addComponent(entityId, transform);
+        world.addComponent(entityId, sprite);
+        when(resourceManager.findTextureLayer("layered_texture")).thenReturn(layer);
+
+        // Act
+        new TransformHierarchySystem().update(world, 0.1f);
+        renderSystem.update(world, 0.1f);
+
+        // Assert: the layer is drawn instead of a plain texture
+        verify(renderingService).submit(layer, transform, 1f, sprite.color());
+        verify(resourceManager, never()).resolveTextureHandle(any());
+    }
+
+    @Test
+    void update_shouldSubmitTheCurrentAnimationFrame() {
+        // Arrange: an animation showing its second region
+        var transform = new TransformComponent();
+        var sheet = new SpriteSheet(mock(Texture.class))
+            .addRegion("walk_0", new SpriteSheetRegion(0, 0, 16, 16))
+            .addRegion("walk_1", new SpriteSheetRegion(16, 0, 16, 16));
+        var state = new AnimationStateComponent(sheet,
+            new SpriteAnimation("walk", List.of("walk_0", "walk_1"), 0.1f, true));
+        state.advance(0.15f);
+
+        int entityId = world.createEntity();
+        world.addComponent(entityId, transform);
+        world.addComponent(entityId, state);
+
+        // Act
+        renderSystem.update(world, 0.1f);
+
+        // Assert: the sheet is drawn with the frame's region
+        verify(renderingService).submit(eq(sheet), eq(1), eq(transform), eq(1f), any());
+    }
+
+    @Test
+    void update_shouldDrawAnimatedSpritesOnceWithTheirFrameAndTint() {
+        // Arrange: a sprite that also plays an animation
+        var transform = new TransformComponent();
+        var sprite = new SpriteComponent("test_texture", new Vector4f(1f, 0f, 0f, 1f));
+        var sheet = new SpriteSheet(mock(Texture.class))
+            .addRegion("walk_0", new SpriteSheetRegion(0, 0, 16, 16));
+        var state = new AnimationStateComponent(sheet,
+            new SpriteAnimation("walk", List.of("walk_0"), 0.1f, true));
+
+        int entityId = world.createEntity();
+        world.addComponent(entityId, transform);
+        world.addComponent(entityId, sprite);
+        world.addComponent(entityId, state);
+
+        // Act
+        renderSystem.update(world, 0.1f);
+
+        // Assert: only the frame is drawn, with the sprite's tint
+        verify(renderingService).submit(sheet, 0, transform, 1f, sprite.color());
+        verify(renderingService, never()).submit(any(Texture.class), any(TransformComponent.class), anyFloat(), any());
+        verify(resourceManager, never()).resolveTextureHandle(any());
     }
 }
@@ -153,12 +153,13 @@ class SequenceSystemTest {
     var component = world.getComponent(entityId, ActiveSequenceComponent.class);
     assertThat(component.getCurrentIndex()).isEqualTo(1);
 
-    // When we update again
+    // When we update again and the deferred commands are played back
     sequenceSystem.update(world, 0.01f);
+    world.playbackCommands();
 
     // Then the entity should be destroyed (sequence complete)
     var entities = world.getEntitiesWith(ActiveSequenceComponent.class);
-    assertThat(entities).isEmpty();
+    assertThat(entities.isEmpty()).isTrue();
   }
 
   @Test
@@ -203,7 +204,7 @@ class SequenceSystemTest {
 
     // Then the entity should still exist (nothing happened)
     var entities = world.getEntitiesWith(ActiveSequenceComponent.class);
-    assertThat(entities).hasSize(1);
+    assertThat(entities.size()).isEqualTo(1);
   }
 
   @Test
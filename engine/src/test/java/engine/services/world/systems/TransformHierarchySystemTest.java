@@ -0,0 +1,113 @@
+package engine.services.world.systems;
+
+import engine.services.world.World;
+import engine.services.world.components.ParentComponent;
+import engine.services.world.components.TransformComponent;
+import org.joml.Matrix4f;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransformHierarchySystemTest {
+
+    private World world;
+    private TransformHierarchySystem system;
+
+    @BeforeEach
+    void setUp() {
+        world = new World();
+        system = new TransformHierarchySystem();
+    }
+
+    @Test
+    void update_composesChildWorldMatricesWithTheirAncestors() {
+        // Given: A grandchild added before its ancestors
+        int grandchild = addTransform(0, 0, 1);
+        int child = addTransform(0, 2, 0);
+        int root = addTransform(3, 0, 0);
+        world.addComponent(grandchild, new ParentComponent(child));
+        world.addComponent(child, new ParentComponent(root));
+
+        system.update(world, 0.016f);
+
+        // Then
+        assertTranslation(3, 0, 0, root);
+        assertTranslation(3, 2, 0, child);
+        assertTranslation(3, 2, 1, grandchild);
+    }
+
+    @Test
+    void update_propagatesAMovedParentToItsChildren() {
+        int root = addTransform(0, 0, 0);
+        int child = addTransform(1, 0, 0);
+        world.addComponent(child, new ParentComponent(root));
+        system.update(world, 0.016f);
+
+        // When: Only the parent moves, and it marks the write
+        world.getComponent(root, TransformComponent.class).position.set(5, 0, 0);
+        world.markChanged(root, TransformComponent.class);
+        system.update(world, 0.016f);
+
+        assertTranslation(6, 0, 0, child);
+    }
+
+    @Test
+    void update_skipsTransformsThatDidNotChange() {
+        int entity = addTransform(1, 1, 1);
+        system.update(world, 0.016f);
+
+        // When: An unmarked write happens between runs
+        world.getComponent(entity, TransformComponent.class).position.set(9, 9, 9);
+        system.update(world, 0.016f);
+
+        assertTranslation(1, 1, 1, entity);
+    }
+
+    @Test
+    void update_treatsChildrenOfDestroyedParentsAsRoots() {
+        int root = addTransform(5, 0, 0);
+        int child = addTransform(1, 0, 0);
+        world.addComponent(child, new ParentComponent(root));
+        system.update(world, 0.016f);
+
+        world.destroyEntity(root);
+        system.update(world, 0.016f);
+
+        assertTranslation(1, 0, 0, child);
+    }
+
+    @Test
+    void update_rebuildsUnparentedChildrenAsRoots() {
+        int parent = addTransform(5, 0, 0);
+        int child = addTransform(1, 0, 0);
+        world.addComponent(child, new ParentComponent(parent));
+        system.update(world, 0.016f);
+        assertTranslation(6, 0, 0, child);
+
+        // When: The link is removed and the old parent moves on
+        world.removeComponent(child, ParentComponent.class);
+        world.getComponent(parent, TransformComponent.class).position.set(20, 0, 0);
+        world.markChanged(parent, TransformComponent.class);
+        system.update(world, 0.016f);
+        system.update(world, 0.016f);
+
+        // Then: The child is placed by its own transform alone
+        assertTranslation(1, 0, 0, child);
+    }
+
+    private void assertTranslation(float x, float y, float z, int entity) {
+        Matrix4f world = this.world.getComponent(entity, TransformComponent.class).getWorldMatrix();
+        assertEquals(x, world.m30(), 1e-5f);
+        assertEquals(y, world.m31(), 1e-5f);
+        assertEquals(z, world.m32(), 1e-5f);
+    }
+
+    private int addTransform(float x, float y, float z) {
+        int entity = world.createEntity();
+        TransformComponent transform = new TransformComponent();
+        transform.position.set(x, y, z);
+        world.addComponent(entity, transform);
+        return entity;
+    }
+}
@@ -75,10 +75,18 @@ class TriggerSystemTest {
 
     // Initially, not fired (before delay)
     triggerSystem.update(world, 0.01f);
-    assertThat(world.getEntitiesWith(ActiveSequenceComponent.class)).isEmpty();
+    assertThat(world.getEntitiesWith(ActiveSequenceComponent.class).isEmpty()).isTrue();
 
-    // After reaching delay, it should fire
+    // After reaching delay, it should fire once its deferred commands are played back
     triggerSystem.update(world, 0.05f);
-    assertThat(world.getEntitiesWith(ActiveSequenceComponent.class)).hasSize(1);
+    assertThat(world.getEntitiesWith(ActiveSequenceComponent.class).isEmpty()).isTrue();
+    world.playbackCommands();
+    assertThat(world.getEntitiesWith(ActiveSequenceComponent.class).size()).isEqualTo(1);
+  }
+
+  @Test
+  void access_pinsTriggerStateToTheMainThread() {
+    // The zone listener resets the fired triggers on the main thread, so updates must not move off it
+    assertThat(triggerSystem.access().mainThread()).isTrue();
   }
 }
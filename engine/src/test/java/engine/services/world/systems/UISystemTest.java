@@ -5,7 +5,6 @@ import engine.services.input.InputService;
 import engine.services.rendering.UIRendererService;
 import engine.services.window.WindowService;
 import engine.services.world.World;
-import engine.services.world.components.UIButtonComponent;
 import engine.services.world.components.UIImageComponent;
 import engine.services.world.components.UITransformComponent;
 import org.junit.jupiter.api.Test;
@@ -14,8 +13,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Set;
-
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,16 +26,15 @@ class UISystemTest {
     private EventPublisherService eventPublisher;
     @Mock
     private UIRendererService uiRendererService;
-    @Mock
-    private World world;
+
+    private final World world = new World();
 
     @InjectMocks
     private UISystem uiSystem;
 
     @Test
     void update_shouldCallBeginAndEndOnRenderer() {
-        // Arrange
-        when(world.getEntitiesWith(UITransformComponent.class)).thenReturn(Set.of());
+        // Arrange: an empty world
 
         // Act
         uiSystem.update(world, 0.1f);
@@ -51,18 +47,13 @@ class UISystemTest {
     @Test
     void update_shouldSubmitUIImageToRenderer() {
         // Arrange
-        int entityId = 1;
         var transform = new UITransformComponent();
         var image = new UIImageComponent("test_image");
 
-        when(world.getEntitiesWith(UITransformComponent.class)).thenReturn(Set.of(entityId));
-        when(world.getComponent(entityId, UITransformComponent.class)).thenReturn(transform);
-
-        // Specify behavior for each component check to test the correct path
-        when(world.hasComponent(entityId, UIButtonComponent.class)).thenReturn(false);
-        when(world.hasComponent(entityId, UIImageComponent.class)).thenReturn(true);
-
-        when(world.getComponent(entityId, UIImageComponent.class)).thenReturn(image);
+        // An image entity without a button, so the image path is taken
+        int entityId = world.createEntity();
+        world.addComponent(entityId, transform);
+        world.addComponent(entityId, image);
 
         // Act
         uiSystem.update(world, 0.1f);
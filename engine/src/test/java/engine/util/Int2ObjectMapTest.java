@@ -0,0 +1,73 @@
+package engine.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Int2ObjectMapTest {
+
+    @Test
+    void putGetAndRemove_includingKeyZero() {
+        Int2ObjectMap<String> map = new Int2ObjectMap<>();
+
+        assertNull(map.put(0, "zero"));
+        assertNull(map.put(17, "seventeen"));
+        assertEquals("zero", map.put(0, "nil"));
+
+        assertEquals(2, map.size());
+        assertEquals("nil", map.get(0));
+        assertTrue(map.containsKey(17));
+        assertNull(map.get(3));
+
+        assertEquals("seventeen", map.remove(17));
+        assertNull(map.remove(17));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void matchesHashMapUnderRandomChurn() {
+        Random random = new Random(11);
+        Int2ObjectMap<Integer> map = new Int2ObjectMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(3_000);
+            if (random.nextInt(3) > 0) {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 3_000; key++) {
+            assertEquals(expected.get(key), map.get(key), "key " + key);
+        }
+    }
+
+    @Test
+    void iterationAndClear() {
+        Int2ObjectMap<String> map = new Int2ObjectMap<>();
+        map.put(1, "a");
+        map.put(2, "b");
+        map.computeIfAbsent(3, key -> "c");
+        map.computeIfAbsent(1, key -> fail("Existing values are kept."));
+
+        Map<Integer, String> visited = new HashMap<>();
+        map.forEach(visited::put);
+        IntList keys = new IntList();
+        map.keysInto(keys);
+        keys.sort();
+
+        assertEquals(Map.of(1, "a", 2, "b", 3, "c"), visited);
+        assertEquals(IntList.of(1, 2, 3), keys);
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(2));
+        assertThrows(NullPointerException.class, () -> map.put(4, null));
+    }
+}
@@ -0,0 +1,37 @@
+package engine.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntListTest {
+
+    @Test
+    void growsAndKeepsInsertionOrder() {
+        IntList list = new IntList(2);
+        for (int i = 0; i < 100; i++) {
+            list.add(i * 2);
+        }
+
+        assertEquals(100, list.size());
+        assertEquals(0, list.get(0));
+        assertEquals(198, list.get(99));
+        assertEquals(10, list.indexOf(20));
+        assertFalse(list.contains(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(100));
+    }
+
+    @Test
+    void swapRemoveAndClear() {
+        IntList list = IntList.of(1, 2, 3, 4);
+
+        assertEquals(2, list.swapRemove(1));
+        assertEquals(IntList.of(1, 4, 3), list);
+        assertEquals(3, list.removeLast());
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        list.add(9);
+        assertArrayEquals(new int[] {9}, list.toArray());
+    }
+}
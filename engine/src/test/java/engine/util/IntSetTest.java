@@ -0,0 +1,82 @@
+package engine.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntSetTest {
+
+    @Test
+    void addContainsAndRemove_includingZeroAndNegativeValues() {
+        IntSet set = IntSet.of(0, -1, 42);
+
+        assertEquals(3, set.size());
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(-1));
+        assertFalse(set.add(42), "Duplicates are not added.");
+        assertFalse(set.contains(7));
+
+        assertTrue(set.remove(0));
+        assertFalse(set.remove(0));
+        assertFalse(set.contains(0));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    void matchesHashSetUnderRandomChurn() {
+        // Removal shifts keys back instead of leaving tombstones; random churn exercises wrap-around runs
+        Random random = new Random(7);
+        IntSet set = new IntSet();
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            int value = random.nextInt(2_000) - 100;
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), set.add(value));
+            } else {
+                assertEquals(expected.remove(value), set.remove(value));
+            }
+        }
+
+        assertEquals(expected.size(), set.size());
+        for (int value = -100; value < 1_900; value++) {
+            assertEquals(expected.contains(value), set.contains(value), "value " + value);
+        }
+    }
+
+    @Test
+    void iteratorForEachAndToArray_visitEveryValueOnce() {
+        IntSet set = IntSet.of(3, 0, 1 << 20, 5);
+
+        Set<Integer> iterated = new HashSet<>();
+        IntIterator iterator = set.iterator();
+        while (iterator.hasNext()) {
+            assertTrue(iterated.add(iterator.nextInt()));
+        }
+        Set<Integer> visited = new HashSet<>();
+        set.forEach(value -> assertTrue(visited.add(value)));
+
+        assertEquals(Set.of(0, 3, 5, 1 << 20), iterated);
+        assertEquals(iterated, visited);
+        assertEquals(4, set.toArray().length);
+        assertEquals(IntSet.of(5, 3, 1 << 20, 0), set);
+    }
+
+    @Test
+    void clear_keepsTheSetUsable() {
+        IntSet set = new IntSet();
+        for (int i = 0; i < 1_000; i++) {
+            set.add(i);
+        }
+
+        set.clear();
+        set.add(12);
+
+        assertEquals(1, set.size());
+        assertTrue(set.contains(12));
+        assertFalse(set.contains(0));
+    }
+}